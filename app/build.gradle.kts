@@ -10,9 +10,21 @@ repositories {
     mavenCentral()
 }
 
+// JMH 벤치마크 (src/jmh/java). 실행: ./gradlew jmh [-Pjmh.args="BookmarkRepository -p size=1000"]
+sourceSets {
+    create("jmh") {
+        compileClasspath += sourceSets.main.get().output
+        runtimeClasspath += sourceSets.main.get().output
+    }
+}
+
+configurations["jmhImplementation"].extendsFrom(configurations.implementation.get())
+configurations["jmhRuntimeOnly"].extendsFrom(configurations.runtimeOnly.get())
+
 dependencies {
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
     implementation("com.fasterxml.jackson.core:jackson-databind:2.19.2")
     implementation("one.microstream:microstream-storage-embedded:08.01.02-MS-GA")
     implementation("net.java.dev.jna:jna:5.14.0")
@@ -24,8 +36,45 @@ dependencies {
     implementation("com.formdev:flatlaf:3.6.2")              // Java 8+ 지원
     implementation("com.formdev:flatlaf-extras:3.6.2")
     implementation("com.miglayout:miglayout-swing:11.4.2")
+
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 tasks.test {
     useJUnitPlatform()
 }
+
+// 결과는 릴리스 간 비교용 JSON 으로 남긴다
+tasks.register<JavaExec>("jmh") {
+    group = "benchmark"
+    description = "JMH 벤치마크 실행 (결과: build/reports/jmh/results.json)"
+    val results = layout.buildDirectory.file("reports/jmh/results.json")
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("org.openjdk.jmh.Main")
+    args("-rf", "json", "-rff", results.get().asFile.absolutePath)
+    providers.gradleProperty("jmh.args").orNull?.let { args(it.split(" ").filter(String::isNotBlank)) }
+    doFirst { results.get().asFile.parentFile.mkdirs() }
+}
+
+// 합성 저장소 생성 / 부하 테스트 (src/jmh/java/loadtest). 인자는 -Pargs="..." 로, 사용법은 각 클래스 주석 참고
+tasks.register<JavaExec>("generateStore") {
+    group = "benchmark"
+    description = "합성 대용량 저장소 생성"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("loadtest.StoreGenerator")
+    providers.gradleProperty("args").orNull?.let { args(it.split(" ").filter(String::isNotBlank)) }
+}
+
+tasks.register<JavaExec>("loadTest") {
+    group = "benchmark"
+    description = "저장소에 읽기/순서 변경/이동/삭제 부하를 걸고 처리량과 지연 보고"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass.set("loadtest.LoadDriver")
+    providers.gradleProperty("args").orNull?.let { args(it.split(" ").filter(String::isNotBlank)) }
+}
+
+// 벤치마크 코드가 main 변경에 맞춰 계속 컴파일되도록
+tasks.named("check") {
+    dependsOn("jmhClasses")
+}
@@ -0,0 +1,138 @@
+package benchmark;
+
+import config.AppConfig;
+import config.AppServices;
+import config.MicroStreamConfig;
+import infra.OperationMetrics;
+import model.Bookmark;
+import model.BookmarkGroup;
+import model.BookmarkType;
+import persistence.BookmarkMicroStreamRepository;
+import service.IdGenerator;
+import service.bookmark.BookmarkChanges;
+import service.bookmark.BookmarkRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크용 임시 저장소. 임시 폴더에 {@link MicroStreamConfig#start} 로 저장소를 만들고
+ * groupCount 개 그룹에 합성 북마크 bookmarkCount 개를 고르게 채운다 (경로 검증 없이 리포지토리로 한 번에 저장).
+ * {@link #close()} 는 저장소를 닫고 폴더를 지운다.
+ */
+public final class BenchmarkStore implements AutoCloseable {
+
+    private static final int CHUNK = 10_000;
+
+    private final Path dir;
+    private final AppServices services;
+    private final BookmarkRepository bookmarkRepository;
+    private final IdGenerator idGenerator;
+    private final long[] groupIds;
+    private final long[] bookmarkIds;
+
+    private BenchmarkStore(Path dir, AppServices services, int groupCount, int bookmarkCount) {
+        this.dir = dir;
+        this.services = services;
+        // 서비스와 같은 색인/writer/id 발급기를 공유하므로 서비스 경유와 같은 상태를 보고 id 가 겹치지 않는다
+        this.bookmarkRepository = new BookmarkMicroStreamRepository(services.root(), services.rootIndex(), services.writer());
+        this.idGenerator = services.idGenerator();
+        this.groupIds = new long[groupCount];
+        this.bookmarkIds = new long[bookmarkCount];
+    }
+
+    public static BenchmarkStore create(int bookmarkCount, int groupCount, long flushIntervalMs) {
+        return create(bookmarkCount, groupCount, flushIntervalMs, AppConfig.ID_BLOCK_SIZE);
+    }
+
+    public static BenchmarkStore create(int bookmarkCount, int groupCount, long flushIntervalMs, int idBlockSize) {
+        Path dir;
+        try {
+            dir = Files.createTempDirectory("fpb-bench-");
+        } catch (IOException e) {
+            throw new RuntimeException("임시 폴더를 만들지 못했습니다.", e);
+        }
+        AppServices services = AppServices.open(MicroStreamConfig.start(dir, true), flushIntervalMs, new OperationMetrics(),
+                idBlockSize);
+        BenchmarkStore store = new BenchmarkStore(dir, services, groupCount, bookmarkCount);
+        store.populate();
+        return store;
+    }
+
+    private void populate() {
+        for (int g = 0; g < groupIds.length; g++) {
+            groupIds[g] = services.bookmarkGroupService().createBookmarkGroup("group-" + g).getId();
+        }
+        List<Bookmark> chunk = new ArrayList<>(CHUNK);
+        for (int i = 0; i < bookmarkIds.length; i++) {
+            long groupId = groupIds[i % groupIds.length];
+            Bookmark bookmark = newBookmark(groupId, i);
+            bookmarkIds[i] = bookmark.getId();
+            chunk.add(bookmark);
+            if (chunk.size() == CHUNK || i == bookmarkIds.length - 1) {
+                bookmarkRepository.saveChanges(new BookmarkChanges(chunk, List.of(), List.of(), List.of()));
+                chunk = new ArrayList<>(CHUNK);
+            }
+        }
+        services.writer().flush();
+    }
+
+    /** 합성 북마크 (아직 저장하지 않음) */
+    public Bookmark newBookmark(long groupId, int seq) {
+        String name = "file-" + seq + ".txt";
+        String path = "/synthetic/g" + groupId + "/dir" + (seq % 100) + "/" + name;
+        return new Bookmark(idGenerator.nextBookmarkId(), groupId, name, path, BookmarkType.FILE);
+    }
+
+    /** 접근 순서가 캐시/분기 예측에 유리하지 않도록 섞은 id 목록 */
+    public long[] shuffledBookmarkIds(long seed) {
+        long[] ids = bookmarkIds.clone();
+        Random random = new Random(seed);
+        for (int i = ids.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long t = ids[i];
+            ids[i] = ids[j];
+            ids[j] = t;
+        }
+        return ids;
+    }
+
+    public BookmarkGroup group(int index) {
+        return services.bookmarkGroupService().getBookmarkGroup(groupIds[index]);
+    }
+
+    public long groupId(int index) {
+        return groupIds[index];
+    }
+
+    public AppServices services() {
+        return services;
+    }
+
+    public BookmarkRepository bookmarkRepository() {
+        return bookmarkRepository;
+    }
+
+    public IdGenerator idGenerator() {
+        return idGenerator;
+    }
+
+    public Path dir() {
+        return dir;
+    }
+
+    @Override
+    public void close() {
+        services.close();
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException ignored) {
+        }
+    }
+}
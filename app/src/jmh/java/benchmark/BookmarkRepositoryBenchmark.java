@@ -0,0 +1,126 @@
+package benchmark;
+
+import model.Bookmark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.bookmark.BookmarkRepository;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link persistence.BookmarkMicroStreamRepository} 의 조회/추가/삭제.
+ * flushIntervalMs=0 은 호출 스레드에서 바로 커밋(저장 비용 포함), 200 은 앱 기본값인 write-behind(메모리 반영 + 큐 적재만).
+ * save/delete 는 호출마다 준비/정리를 하면 JMH 의 호출 단위 Setup 비용과 타이머 오차가 측정값을 덮으므로,
+ * 반복마다 정확히 {@link #BATCH} 번 호출하고(SingleShotTime) 준비/정리는 반복 단위로 한다.
+ * 점수는 BATCH 건 전체 시간이며, 반복이 끝나면 반대 연산으로 되돌려 저장소 크기를 size 로 유지한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookmarkRepositoryBenchmark {
+
+    private static final int GROUPS = 10;
+    static final int BATCH = 100;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"0", "200"})
+    public long flushIntervalMs;
+
+    private BenchmarkStore store;
+    private BookmarkRepository repository;
+    private long[] ids;
+    private int cursor;
+    private int seq;
+
+    @Setup(Level.Trial)
+    public void open() {
+        store = BenchmarkStore.create(size, GROUPS, flushIntervalMs);
+        repository = store.bookmarkRepository();
+        ids = store.shuffledBookmarkIds(42);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        store.close();
+    }
+
+    Bookmark nextNew() {
+        return store.newBookmark(store.groupId(seq % GROUPS), size + seq++);
+    }
+
+    /** 반복마다 save 할 북마크 BATCH 개를 만들고, 반복이 끝나면 저장된 것을 지운다 */
+    @State(Scope.Thread)
+    public static class Created {
+        final Bookmark[] bookmarks = new Bookmark[BATCH];
+        int next;
+
+        @Setup(Level.Iteration)
+        public void prepare(BookmarkRepositoryBenchmark b) {
+            for (int i = 0; i < BATCH; i++) bookmarks[i] = b.nextNew();
+            next = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void remove(BookmarkRepositoryBenchmark b) {
+            for (int i = 0; i < next; i++) b.repository.deleteById(bookmarks[i].getId());
+        }
+    }
+
+    /** 반복마다 delete 할 북마크 BATCH 개를 저장해 두고, 반복이 끝나면 남은 것을 지운다 */
+    @State(Scope.Thread)
+    public static class Victims {
+        final long[] ids = new long[BATCH];
+        int next;
+
+        @Setup(Level.Iteration)
+        public void create(BookmarkRepositoryBenchmark b) {
+            for (int i = 0; i < BATCH; i++) ids[i] = b.repository.save(b.nextNew()).getId();
+            next = 0;
+        }
+
+        @TearDown(Level.Iteration)
+        public void remove(BookmarkRepositoryBenchmark b) {
+            while (next < BATCH) b.repository.deleteById(ids[next++]);
+        }
+    }
+
+    @Benchmark
+    public Optional<Bookmark> findById() {
+        long id = ids[cursor];
+        cursor = cursor + 1 == ids.length ? 0 : cursor + 1;
+        return repository.findById(id);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = BATCH)
+    @Measurement(iterations = 20, batchSize = BATCH)
+    public Bookmark save(Created created) {
+        return repository.save(created.bookmarks[created.next++]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 10, batchSize = BATCH)
+    @Measurement(iterations = 20, batchSize = BATCH)
+    public void delete(Victims victims) {
+        repository.deleteById(victims.ids[victims.next++]);
+    }
+}
@@ -0,0 +1,79 @@
+package benchmark;
+
+import model.Bookmark;
+import model.BookmarkGroup;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.bookmark.BookmarkService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BookmarkService} 의 그룹 내 순서 변경과 그룹 간 이동 (size / 10 개씩 든 그룹 10개).
+ * 두 연산 모두 저장소 크기를 바꾸지 않으므로 되돌리기 없이 반복한다.
+ * 변경 이벤트 리스너(검색 색인, 화면)는 등록하지 않으므로 서비스 + 리포지토리 + 저장 비용만 잰다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookmarkServiceBenchmark {
+
+    private static final int GROUPS = 10;
+
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"0", "200"})
+    public long flushIntervalMs;
+
+    private BenchmarkStore store;
+    private BookmarkService bookmarkService;
+    private BookmarkGroup first;
+    private BookmarkGroup second;
+    private boolean forward = true;
+
+    @Setup(Level.Trial)
+    public void open() {
+        store = BenchmarkStore.create(size, GROUPS, flushIntervalMs);
+        bookmarkService = store.services().bookmarkService();
+        first = store.group(0);
+        second = store.group(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        store.close();
+    }
+
+    /** 맨 앞 북마크를 맨 뒤로 (매번 리스트 전체가 한 칸씩 밀림) */
+    @Benchmark
+    public void reorder() {
+        List<Bookmark> bookmarks = first.getBookmarks();
+        bookmarkService.reorderBookmark(first.getId(), bookmarks.get(0).getId(), bookmarks.size() - 1);
+    }
+
+    /** 두 그룹 사이를 오가며 맨 뒤 북마크를 상대 그룹 맨 앞으로 */
+    @Benchmark
+    public void move() {
+        BookmarkGroup from = forward ? first : second;
+        BookmarkGroup to = forward ? second : first;
+        forward = !forward;
+        List<Bookmark> bookmarks = from.getBookmarks();
+        bookmarkService.moveBookmark(bookmarks.get(bookmarks.size() - 1).getId(), to.getId(), 0);
+    }
+}
@@ -0,0 +1,55 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import service.IdGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link IdGenerator} 발급 비용. blockSize=1 은 발급마다 상한을 저장하는 경우와 같아 블록 예약의 효과를 비교할 수 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    @Param({"1", "256"})
+    public int blockSize;
+
+    @Param({"0", "200"})
+    public long flushIntervalMs;
+
+    private BenchmarkStore store;
+    private IdGenerator idGenerator;
+
+    @Setup(Level.Trial)
+    public void open() {
+        store = BenchmarkStore.create(1_000, 1, flushIntervalMs, blockSize);
+        idGenerator = store.idGenerator();
+    }
+
+    @TearDown(Level.Trial)
+    public void close() {
+        store.close();
+    }
+
+    @Benchmark
+    public long nextBookmarkId() {
+        return idGenerator.nextBookmarkId();
+    }
+}
@@ -0,0 +1,326 @@
+package loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import config.AppConfig;
+import config.AppServices;
+import config.MicroStreamConfig;
+import infra.LatencyHistogram;
+import model.Bookmark;
+import model.BookmarkGroup;
+import service.bookmark.BookmarkService;
+import service.bookmark_group.BookmarkGroupService;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * UI 없이 서비스 계층에 읽기/순서 변경/이동/삭제/전체 훑기를 섞어 일정한 속도로 보내고
+ * 처리량, 연산별 p50/p99 지연, 저장소 크기를 보고한다.
+ * 지연은 예정된 시작 시각부터 재므로 밀린 요청의 대기 시간도 포함한다(coordinated omission 보정).
+ * 여러 스레드로 돌리면 동시성 스트레스 검사도 된다: scan 은 훑는 동안 목록이 깨져 보이면(중복, null) 오류로 세고,
+ * 끝난 뒤 메모리 상태의 불변식(북마크는 한 그룹에만, groupId 일치, 개수 일치, id 로 찾기)과
+ * 저장소를 다시 열었을 때 같은 상태인지 확인한다. 위반이 있으면 종료 코드 1.
+ * <pre>
+ * --store DIR          {@link StoreGenerator} 로 만든 저장소 (바뀐 채로 남음)
+ * --threads N          작업 스레드 수 (기본 4)
+ * --rate N             전체 목표 연산/초 (기본 1000, 0 이면 최대 속도)
+ * --duration N         실행 시간(초) (기본 30)
+ * --mix SPEC           비율, 예: read=70,reorder=10,move=10,delete=10 (기본값), scan 은 모든 목록 훑기
+ * --flush-ms N         write-behind 주기 (기본 앱 설정, 0 이면 연산마다 커밋)
+ * --seed N             난수 시드
+ * --json FILE          결과를 JSON 으로도 저장
+ * </pre>
+ * 예: {@code ./gradlew loadTest -Pargs="--store /tmp/fpb/store --threads 8 --rate 5000 --duration 60"}
+ */
+public final class LoadDriver {
+
+    private static final Set<String> OPTIONS = Set.of("store", "threads", "rate", "duration", "mix", "flush-ms", "seed", "json");
+
+    enum Op { READ, REORDER, MOVE, DELETE, SCAN }
+
+    /** 연산별 결과 */
+    record OpResult(long count, long errors, double p50Micros, double p99Micros, double maxMicros, String firstError) {}
+
+    /** 전체 결과 (JSON 으로 그대로 저장) */
+    record Report(int threads, long targetRate, long durationSeconds, String mix, long flushIntervalMs,
+                  long totalOps, double throughput, long storeBytesBefore, long storeBytesAfter,
+                  Map<String, OpResult> ops, List<String> violations) {}
+
+    private final BookmarkService bookmarkService;
+    private final BookmarkGroupService bookmarkGroupService;
+    private final long[] groupIds;
+    private final IdPool ids;
+    private final Op[] table; // 비율만큼 같은 연산을 채운 표
+
+    private LoadDriver(AppServices services, Op[] table) {
+        this.bookmarkService = services.bookmarkService();
+        this.bookmarkGroupService = services.bookmarkGroupService();
+        List<BookmarkGroup> groups = bookmarkGroupService.getBookmarkGroups();
+        this.groupIds = groups.stream().mapToLong(BookmarkGroup::getId).toArray();
+        List<Long> all = new ArrayList<>();
+        for (BookmarkGroup group : groups) {
+            for (Bookmark bookmark : group.getBookmarks()) all.add(bookmark.getId());
+        }
+        this.ids = new IdPool(all);
+        this.table = table;
+    }
+
+    public static void main(String[] argv) throws Exception {
+        Options options;
+        Op[] table;
+        try {
+            options = Options.parse(argv, OPTIONS);
+            table = parseMix(options.string("mix", "read=70,reorder=10,move=10,delete=10"));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        Path store = options.path("store");
+        if (!Files.isDirectory(store)) {
+            System.err.println("저장소가 없습니다: " + store);
+            System.exit(2);
+            return;
+        }
+        int threads = options.integer("threads", 4);
+        long rate = options.number("rate", 1_000);
+        long duration = options.number("duration", 30);
+        long flushMs = options.number("flush-ms", AppConfig.STORE_FLUSH_INTERVAL_MS);
+        long seed = options.number("seed", 1L);
+
+        long sizeBefore = StoreSize.of(store);
+        AppServices services = AppServices.open(MicroStreamConfig.start(store, false), flushMs);
+        Map<Op, LatencyHistogram> latencies = new EnumMap<>(Op.class);
+        Map<Op, AtomicLong> errors = new EnumMap<>(Op.class);
+        Map<Op, String> firstErrors = new EnumMap<>(Op.class);
+        long elapsed;
+        List<String> violations = new ArrayList<>();
+        String state;
+        try {
+            LoadDriver driver = new LoadDriver(services, table);
+            System.out.printf("북마크 %d개, 그룹 %d개 / 스레드 %d, 목표 %s, %d초%n", driver.ids.size(), driver.groupIds.length,
+                    threads, rate > 0 ? rate + " ops/s" : "최대 속도", duration);
+            for (Op op : Op.values()) {
+                latencies.put(op, new LatencyHistogram());
+                errors.put(op, new AtomicLong());
+            }
+            elapsed = driver.run(threads, rate, duration * 1_000_000_000L, seed, latencies, errors, firstErrors);
+            violations.addAll(driver.verify());
+            state = dump(services.bookmarkGroupService().getBookmarkGroups());
+        } finally {
+            services.close();
+        }
+        AppServices reopened = AppServices.open(MicroStreamConfig.start(store, false), flushMs);
+        try {
+            if (!state.equals(dump(reopened.bookmarkGroupService().getBookmarkGroups()))) {
+                violations.add("다시 연 저장소의 상태가 종료 직전 메모리 상태와 다릅니다.");
+            }
+        } finally {
+            reopened.close();
+        }
+
+        long total = 0;
+        Map<String, OpResult> results = new LinkedHashMap<>();
+        for (Op op : Op.values()) {
+            // IPC METRICS 와 같은 히스토그램이라 두 보고의 p50/p99 를 그대로 비교할 수 있다
+            LatencyHistogram.Snapshot l = latencies.get(op).snapshot();
+            if (l.count() == 0 && errors.get(op).get() == 0) continue;
+            total += l.count();
+            results.put(op.name().toLowerCase(Locale.ROOT), new OpResult(l.count(), errors.get(op).get(),
+                    l.percentileNanos(50) / 1e3, l.percentileNanos(99) / 1e3, l.maxNanos() / 1e3, firstErrors.get(op)));
+        }
+        Report report = new Report(threads, rate, duration, options.string("mix", "read=70,reorder=10,move=10,delete=10"),
+                flushMs, total, total / (elapsed / 1e9), sizeBefore, StoreSize.of(store), results, violations);
+        print(report);
+        if (options.has("json")) {
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(options.path("json").toFile(), report);
+        }
+        if (!violations.isEmpty()) System.exit(1);
+    }
+
+    /** 스레드마다 rate / threads 간격으로 연산을 예약해 실행. 걸린 시간(ns) */
+    private long run(int threads, long rate, long durationNanos, long seed, Map<Op, LatencyHistogram> latencies,
+                     Map<Op, AtomicLong> errors, Map<Op, String> firstErrors) throws InterruptedException {
+        long interval = rate > 0 ? threads * 1_000_000_000L / rate : 0;
+        long start = System.nanoTime() + 100_000_000L; // 스레드가 모두 뜰 시간
+        long end = start + durationNanos;
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Random random = new Random(seed * 31 + t);
+            long offset = interval * t / threads;
+            Thread worker = new Thread(() -> {
+                long intended = start + offset;
+                while (true) {
+                    long now = System.nanoTime();
+                    if (interval > 0) {
+                        if (intended >= end) break;
+                        if (intended > now) LockSupport.parkNanos(intended - now);
+                    } else {
+                        if (now >= end) break;
+                        intended = now;
+                    }
+                    Op op = table[random.nextInt(table.length)];
+                    try {
+                        execute(op, random);
+                        latencies.get(op).record(System.nanoTime() - intended);
+                    } catch (RuntimeException e) {
+                        errors.get(op).incrementAndGet();
+                        synchronized (firstErrors) {
+                            firstErrors.putIfAbsent(op, e.toString());
+                        }
+                    }
+                    intended += interval;
+                }
+            }, "Load-" + t);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) worker.join();
+        return System.nanoTime() - start;
+    }
+
+    private void execute(Op op, Random random) {
+        switch (op) {
+            case READ -> bookmarkService.findBookmark(ids.random(random));
+            case REORDER -> bookmarkService.findBookmark(ids.random(random)).ifPresent(b -> {
+                int size = bookmarkGroupService.getBookmarkGroup(b.getGroupId()).getBookmarkCount();
+                bookmarkService.reorderBookmark(b.getGroupId(), b.getId(), random.nextInt(Math.max(1, size)));
+            });
+            case MOVE -> bookmarkService.moveBookmark(ids.random(random), groupIds[random.nextInt(groupIds.length)], 0);
+            case DELETE -> {
+                long id = ids.take(random);
+                if (id >= 0) bookmarkService.remove(id);
+            }
+            case SCAN -> scan();
+        }
+    }
+
+    /** UI 가 아코디언을 다시 그릴 때처럼 모든 그룹 목록을 훑는다. 한 목록 안에 중복이나 null 이 보이면 깨진 상태 */
+    private void scan() {
+        for (BookmarkGroup group : bookmarkGroupService.getBookmarkGroups()) {
+            List<Bookmark> bookmarks = group.getBookmarks();
+            Set<Long> seen = new HashSet<>(bookmarks.size() * 2);
+            for (Bookmark bookmark : bookmarks) {
+                if (bookmark == null || !seen.add(bookmark.getId())) {
+                    throw new IllegalStateException("그룹 " + group.getId() + " 목록이 깨져 보임");
+                }
+            }
+        }
+    }
+
+    /** 부하가 끝난 뒤(쓰기가 없을 때) 메모리 상태의 불변식. 위반 설명 목록 */
+    private List<String> verify() {
+        List<String> violations = new ArrayList<>();
+        Map<Long, Long> owners = new HashMap<>();
+        for (BookmarkGroup group : bookmarkGroupService.getBookmarkGroups()) {
+            List<Bookmark> bookmarks = group.getBookmarks();
+            if (group.getBookmarkCount() != bookmarks.size()) {
+                violations.add("그룹 " + group.getId() + " 북마크 수 " + group.getBookmarkCount() + " ≠ 목록 " + bookmarks.size());
+            }
+            for (Bookmark bookmark : bookmarks) {
+                Long previous = owners.put(bookmark.getId(), group.getId());
+                if (previous != null) {
+                    violations.add("북마크 " + bookmark.getId() + " 가 그룹 " + previous + ", " + group.getId() + " 에 모두 있음");
+                }
+                if (bookmark.getGroupId() != group.getId()) {
+                    violations.add("북마크 " + bookmark.getId() + " groupId " + bookmark.getGroupId() + " ≠ 그룹 " + group.getId());
+                }
+                if (bookmarkService.findBookmark(bookmark.getId()).orElse(null) != bookmark) {
+                    violations.add("북마크 " + bookmark.getId() + " 를 id 로 찾지 못함");
+                }
+            }
+        }
+        return violations.size() > 20 ? new ArrayList<>(violations.subList(0, 20)) : violations;
+    }
+
+    /** 그룹 순서, 이름, 북마크 순서와 내용을 한 문자열로 (저장 전후 비교용) */
+    private static String dump(List<BookmarkGroup> groups) {
+        StringBuilder out = new StringBuilder();
+        for (BookmarkGroup group : groups) {
+            out.append(group.getId()).append('\t').append(group.getName()).append('\t').append(group.getBookmarkCount()).append('\n');
+            for (Bookmark bookmark : group.getBookmarks()) {
+                out.append(bookmark.getId()).append('\t').append(bookmark.getGroupId()).append('\t')
+                        .append(bookmark.getDisplayName()).append('\t').append(bookmark.getPath()).append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    /** "read=70,move=30" → 비율만큼 채운 표 */
+    private static Op[] parseMix(String spec) {
+        List<Op> table = new ArrayList<>();
+        for (String part : spec.split(",")) {
+            String[] kv = part.strip().split("=");
+            if (kv.length != 2) throw new IllegalArgumentException("--mix 형식: read=70,reorder=10,... (" + part + ")");
+            Op op;
+            int weight;
+            try {
+                op = Op.valueOf(kv[0].strip().toUpperCase(Locale.ROOT));
+                weight = Integer.parseInt(kv[1].strip());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("--mix 항목이 잘못되었습니다: " + part);
+            }
+            for (int i = 0; i < weight; i++) table.add(op);
+        }
+        if (table.isEmpty()) throw new IllegalArgumentException("--mix 비율 합이 0 입니다.");
+        return table.toArray(Op[]::new);
+    }
+
+    private static void print(Report report) {
+        System.out.printf(Locale.ROOT, "%n처리량 %.0f ops/s (총 %d건), 저장소 %s → %s%n", report.throughput(), report.totalOps(),
+                StoreSize.format(report.storeBytesBefore()), StoreSize.format(report.storeBytesAfter()));
+        System.out.printf("%-8s %10s %8s %12s %12s %12s%n", "op", "count", "errors", "p50(us)", "p99(us)", "max(us)");
+        report.ops().forEach((op, r) -> System.out.printf(Locale.ROOT, "%-8s %10d %8d %12.1f %12.1f %12.1f%n",
+                op, r.count(), r.errors(), r.p50Micros(), r.p99Micros(), r.maxMicros()));
+        report.ops().forEach((op, r) -> {
+            if (r.firstError() != null) System.out.println(op + " 첫 오류: " + r.firstError());
+        });
+        if (report.violations().isEmpty()) {
+            System.out.println("일관성 검사: 통과");
+        } else {
+            System.out.println("일관성 검사: 위반 " + report.violations().size() + "건");
+            report.violations().forEach(v -> System.out.println("  " + v));
+        }
+    }
+
+    /** 살아 있는 북마크 id. 삭제는 꺼내 가고 나머지는 무작위로 본다 */
+    private static final class IdPool {
+        private final long[] ids;
+        private int size;
+
+        IdPool(List<Long> all) {
+            ids = all.stream().mapToLong(Long::longValue).toArray();
+            size = ids.length;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long random(Random random) {
+            return size == 0 ? -1 : ids[random.nextInt(size)];
+        }
+
+        /** 꺼낸 id 는 다시 나오지 않음. 비었으면 -1 */
+        synchronized long take(Random random) {
+            if (size == 0) return -1;
+            int i = random.nextInt(size);
+            long id = ids[i];
+            ids[i] = ids[--size];
+            return id;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * 합성 북마크 이름.
+ * zipf: 단어 사전에서 Zipf 분포(s=1.1)로 1~3 단어를 골라 이어 붙임. 검색 색인의 trigram 목록 길이가 실제처럼 치우친다.
+ * uniform: 길이 4~24 의 무작위 영숫자. 모든 trigram 이 고르게 퍼지는 최선의 경우.
+ */
+abstract class NameGenerator {
+
+    private static final String[] WORDS = {
+            "보고서", "report", "final", "계약서", "invoice", "draft", "회의록", "meeting", "scan", "사진",
+            "photo", "presentation", "발표", "budget", "예산", "견적서", "quote", "resume", "이력서", "notes",
+            "project", "프로젝트", "design", "설계", "spec", "명세", "backup", "백업", "data", "데이터",
+            "summary", "요약", "manual", "매뉴얼", "receipt", "영수증", "plan", "계획", "review", "검토",
+            "contract", "tax", "세금", "statement", "명세서", "export", "import", "log", "archive", "보관",
+            "screenshot", "스크린샷", "template", "양식", "diagram", "도면", "minutes", "agenda", "안건", "list",
+    };
+    private static final String[] EXTENSIONS = {".pdf", ".docx", ".xlsx", ".png", ".jpg", ".hwp", ".txt", ".zip", ".pptx", ".csv"};
+
+    final Random random;
+
+    NameGenerator(Random random) {
+        this.random = random;
+    }
+
+    abstract String next();
+
+    static NameGenerator of(String kind, Random random) {
+        return switch (kind) {
+            case "zipf" -> new Zipf(random);
+            case "uniform" -> new Uniform(random);
+            default -> throw new IllegalArgumentException("알 수 없는 이름 분포: " + kind + " (zipf|uniform)");
+        };
+    }
+
+    String extension() {
+        return EXTENSIONS[random.nextInt(EXTENSIONS.length)];
+    }
+
+    private static final class Zipf extends NameGenerator {
+        private static final double S = 1.1;
+        private final double[] cumulative = new double[WORDS.length];
+
+        Zipf(Random random) {
+            super(random);
+            double sum = 0;
+            for (int rank = 0; rank < WORDS.length; rank++) {
+                sum += 1 / Math.pow(rank + 1, S);
+                cumulative[rank] = sum;
+            }
+            for (int rank = 0; rank < WORDS.length; rank++) cumulative[rank] /= sum;
+        }
+
+        @Override
+        String next() {
+            int words = 1 + random.nextInt(3);
+            StringBuilder name = new StringBuilder();
+            for (int i = 0; i < words; i++) {
+                if (i > 0) name.append('_');
+                name.append(word());
+            }
+            if (random.nextBoolean()) name.append('_').append(2015 + random.nextInt(11));
+            return name.append(extension()).toString();
+        }
+
+        private String word() {
+            int i = Arrays.binarySearch(cumulative, random.nextDouble());
+            return WORDS[Math.min(i < 0 ? -i - 1 : i, WORDS.length - 1)];
+        }
+    }
+
+    private static final class Uniform extends NameGenerator {
+        private static final String ALPHABET = "abcdefghijklmnopqrstuvwxyz0123456789";
+
+        Uniform(Random random) {
+            super(random);
+        }
+
+        @Override
+        String next() {
+            int length = 4 + random.nextInt(21);
+            StringBuilder name = new StringBuilder(length + 5);
+            for (int i = 0; i < length; i++) name.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            return name.append(extension()).toString();
+        }
+    }
+}
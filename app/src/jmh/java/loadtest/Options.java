@@ -0,0 +1,71 @@
+package loadtest;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/** {@code --key value} 형식 인자와 값 없는 {@code --flag}. 모르는 키나 값이 없는 키는 IllegalArgumentException */
+final class Options {
+
+    private final Map<String, String> values = new HashMap<>();
+    private final Set<String> flags = new HashSet<>();
+
+    private Options() {
+    }
+
+    static Options parse(String[] argv, Set<String> known) {
+        return parse(argv, known, Set.of());
+    }
+
+    static Options parse(String[] argv, Set<String> known, Set<String> knownFlags) {
+        Options options = new Options();
+        for (int i = 0; i < argv.length; i++) {
+            String arg = argv[i];
+            String key = arg.startsWith("--") ? arg.substring(2) : null;
+            if (key != null && knownFlags.contains(key)) {
+                options.flags.add(key);
+                continue;
+            }
+            if (key == null || !known.contains(key)) {
+                throw new IllegalArgumentException("알 수 없는 인자: " + arg);
+            }
+            if (i + 1 >= argv.length) throw new IllegalArgumentException(arg + " 값이 없습니다.");
+            options.values.put(key, argv[++i]);
+        }
+        return options;
+    }
+
+    boolean flag(String key) {
+        return flags.contains(key);
+    }
+
+    String string(String key, String defaultValue) {
+        return values.getOrDefault(key, defaultValue);
+    }
+
+    Path path(String key) {
+        String value = values.get(key);
+        if (value == null) throw new IllegalArgumentException("--" + key + " 가 필요합니다.");
+        return Path.of(value);
+    }
+
+    int integer(String key, int defaultValue) {
+        return (int) number(key, defaultValue);
+    }
+
+    long number(String key, long defaultValue) {
+        String value = values.get(key);
+        if (value == null) return defaultValue;
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("--" + key + " 는 숫자여야 합니다: " + value);
+        }
+    }
+
+    boolean has(String key) {
+        return values.containsKey(key);
+    }
+}
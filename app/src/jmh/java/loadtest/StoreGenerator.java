@@ -0,0 +1,132 @@
+package loadtest;
+
+import config.AppServices;
+import config.MicroStreamConfig;
+import model.BookmarkGroup;
+import service.bookmark.BookmarkBatch;
+import service.bookmark.BookmarkBatchResult;
+import service.bookmark_group.BookmarkGroupService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 운영 규모의 합성 저장소를 만든다. 북마크는 {@link service.bookmark.BookmarkService#applyBatch} 로 넣으므로
+ * 경로 검증을 통과하도록 files 아래에 실제(빈) 파일 트리를 함께 만든다.
+ * <pre>
+ * --store DIR            MicroStream 저장소 폴더 (비어 있지 않으면 --force 없이는 거부)
+ * --force                --store 폴더가 비어 있지 않아도 지우고 새로 만듦
+ * --files DIR            북마크 대상 파일 트리 (기본: store 옆 files)
+ * --groups N             그룹 수 (기본 10)
+ * --per-group N          그룹당 북마크 수 (기본 1000)
+ * --depth N              그룹 폴더 아래 폴더 깊이 (기본 3, 단계마다 폴더 10개)
+ * --names zipf|uniform   이름 분포 (기본 zipf: 자주 쓰는 단어가 반복되는 실제 이름에 가깝게)
+ * --seed N               난수 시드 (같은 시드면 같은 저장소)
+ * </pre>
+ * 예: {@code ./gradlew generateStore -Pargs="--store /tmp/fpb/store --groups 50 --per-group 2000"}
+ */
+public final class StoreGenerator {
+
+    private static final Set<String> OPTIONS = Set.of("store", "files", "groups", "per-group", "depth", "names", "seed");
+    private static final Set<String> FLAGS = Set.of("force");
+    private static final int BATCH = 1_000;
+    private static final int FANOUT = 10;
+    private static final double DIRECTORY_RATIO = 0.1; // 파일 대신 폴더를 가리키는 북마크 비율
+
+    private final NameGenerator names;
+    private final Path files;
+    private final int depth;
+    private final Random random;
+
+    private StoreGenerator(NameGenerator names, Path files, int depth, Random random) {
+        this.names = names;
+        this.files = files;
+        this.depth = depth;
+        this.random = random;
+    }
+
+    public static void main(String[] argv) throws IOException {
+        Options options;
+        try {
+            options = Options.parse(argv, OPTIONS, FLAGS);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.exit(2);
+            return;
+        }
+        Path store = options.path("store");
+        // 저장소를 새로 만들면서 폴더를 통째로 지우므로 잘못 가리킨 폴더를 날리지 않게
+        if (!options.flag("force") && !isEmptyOrMissing(store)) {
+            System.err.println("--store 폴더가 비어 있지 않습니다 (지우고 새로 만들려면 --force): " + store);
+            System.exit(2);
+            return;
+        }
+        Path files = options.has("files") ? options.path("files") : store.resolveSibling("files");
+        int groups = options.integer("groups", 10);
+        int perGroup = options.integer("per-group", 1_000);
+        Random random = new Random(options.number("seed", 1L));
+        NameGenerator names = NameGenerator.of(options.string("names", "zipf"), random);
+
+        long started = System.nanoTime();
+        AppServices services = AppServices.open(MicroStreamConfig.start(store, true), 0);
+        try {
+            new StoreGenerator(names, files, options.integer("depth", 3), random).fill(services, groups, perGroup);
+        } finally {
+            services.close();
+        }
+        System.out.printf(Locale.ROOT, "%d개 그룹, %d개 북마크 생성: %.1fs, 저장소 %s%n", groups, (long) groups * perGroup,
+                (System.nanoTime() - started) / 1e9, StoreSize.format(StoreSize.of(store)));
+    }
+
+    private static boolean isEmptyOrMissing(Path dir) throws IOException {
+        if (Files.notExists(dir)) return true;
+        if (!Files.isDirectory(dir)) return false;
+        try (Stream<Path> entries = Files.list(dir)) {
+            return entries.findAny().isEmpty();
+        }
+    }
+
+    private void fill(AppServices services, int groups, int perGroup) throws IOException {
+        BookmarkGroupService groupService = services.bookmarkGroupService();
+        // 새 저장소에 자동으로 생기는 기본 그룹은 첫 그룹으로 쓴다
+        List<BookmarkGroup> existing = groupService.getBookmarkGroups();
+        for (int g = 0; g < groups; g++) {
+            long groupId = g < existing.size() ? existing.get(g).getId() : groupService.createBookmarkGroup("그룹 " + g).getId();
+            BookmarkBatch batch = new BookmarkBatch();
+            for (int i = 0; i < perGroup; i++) {
+                String name = names.next();
+                Path target = createTarget(g, i, name);
+                batch.create(groupId, name, target.toString());
+                if (batch.size() == BATCH || i == perGroup - 1) {
+                    BookmarkBatchResult result = services.bookmarkService().applyBatch(batch);
+                    if (!result.failures().isEmpty()) {
+                        throw new RuntimeException("생성 실패 " + result.failures().size() + "건: " + result.failures().get(0));
+                    }
+                    batch = new BookmarkBatch();
+                }
+            }
+            System.out.printf("그룹 %d/%d%n", g + 1, groups);
+        }
+    }
+
+    /** files/g{그룹}/d{..}/.../이름. 일부는 파일 대신 그 폴더를 가리킨다 */
+    private Path createTarget(int group, int index, String name) throws IOException {
+        Path dir = files.resolve("g" + group);
+        int n = index;
+        for (int level = 0; level < depth; level++) {
+            dir = dir.resolve("d" + (n % FANOUT));
+            n /= FANOUT;
+        }
+        Files.createDirectories(dir);
+        if (random.nextDouble() < DIRECTORY_RATIO) return dir;
+        Path file = dir.resolve(index + "_" + name);
+        if (Files.notExists(file)) Files.createFile(file);
+        return file;
+    }
+}
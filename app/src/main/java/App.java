@@ -1,168 +1,237 @@
-import com.fasterxml.jackson.databind.ObjectMapper;
+import cli.BookmarkCli;
 import com.formdev.flatlaf.FlatLightLaf;
 import config.AppConfig;
-
-import config.MicroStreamConfig;
+import config.AppServices;
+import infra.MetricsReporter;
+import infra.OperationMetrics;
+import infra.PopupTrace;
+import infra.PopupTraceLog;
+import infra.StartupTimer;
+
+import ipc.InstanceLock;
+import ipc.IpcClient;
+import ipc.IpcCommandHandler;
+import ipc.IpcEndpoint;
+import ipc.IpcResponse;
+import ipc.IpcServer;
+import messaging.BookmarkQueryHandler;
+import messaging.NativeMessage;
+import messaging.NativeMessagingHost;
+import messaging.OutboundMessage;
 import one.microstream.storage.embedded.types.EmbeddedStorageManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import persistence.BookmarkGroupMicroStreamRepository;
-import persistence.BookmarkMicroStreamRepository;
+import persistence.BookmarkListUnloader;
 import persistence.RootData;
-import service.IdGenerator;
-import service.bookmark.BookmarkRepository;
+import service.ChangeEventBus;
 import service.bookmark.BookmarkService;
-import service.bookmark_group.BookmarkGroupRepository;
 import service.bookmark_group.BookmarkGroupService;
+import service.bookmark_health.BookmarkHealthScanner;
+import service.bookmark_search.BookmarkSearchIndex;
+import service.bookmark_usage.BookmarkUsageTracker;
+import service.bookmark_watch.BookmarkWatcher;
 import ui.DevFrame;
 import ui.MainFrame;
 import ui.MainFrameV2;
 import ui.MainFrameV3;
+import ui.ShowDelayTuner;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
+import java.awt.event.WindowEvent;
+import java.awt.event.WindowFocusListener;
 import java.awt.image.BufferedImage;
-import java.io.*;
-import java.net.ServerSocket;
-import java.net.Socket;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
-import java.util.Map;
-import java.util.Timer;
+import java.io.IOException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class App {
 
-    private static final int LOCK_PORT = 9876; // 임의의 포트
-    private static ServerSocket lockSocket;
+    private static final IpcEndpoint IPC_ENDPOINT = new IpcEndpoint(AppConfig.IPC_SOCKET_PATH, AppConfig.IPC_TCP_PORT);
+    private static InstanceLock instanceLock; // 프로세스가 끝날 때까지 쥐고 있어야 함
+    private static final OperationMetrics metrics = new OperationMetrics();
+    private static final PopupTraceLog popupTraces = new PopupTraceLog(AppConfig.POPUP_TRACE_CAPACITY);
+    private static final ShowDelayTuner showDelay = new ShowDelayTuner(AppConfig.SHOW_DELAY_PATH, AppConfig.SHOW_DELAY_MS,
+            AppConfig.SHOW_DELAY_MIN_MS, AppConfig.SHOW_DELAY_MAX_MS, AppConfig.SHOW_DELAY_STEP_MS, AppConfig.ADAPTIVE_SHOW_DELAY);
 
     private static MainFrameV3 frame;
+    private static Supplier<MainFrameV3> frameFactory;
+    private static boolean lookAndFeelReady;
     private static TrayIcon trayIcon;
     private static final int TOP_RIGHT_MARGIN = 16; // 모서리에서 띄울 여백(px)
-    private static final int SHOW_DELAY_MS = 280;   // 파일 다이얼로그와 z-order 경합 완화 지연
 
     private static Logger logger = LoggerFactory.getLogger(App.class);
 
+    /**
+     * 창 표시 요청. source 는 native / ipc / tray, 확장에서 온 시각은 epoch ms(없으면 0),
+     * requestedAt 은 앱이 요청을 받은 nanoTime (native 는 프레임을 다 읽은 시점이라 dispatch 대기도 ui.show 에 들어간다).
+     */
+    private record ShowRequest(String source, long clickEpochMs, long postedEpochMs, long receivedEpochMs,
+                               long requestedAt, boolean refreshSuggestions) {
+        static ShowRequest local(String source) {
+            return new ShowRequest(source, 0, 0, System.currentTimeMillis(), System.nanoTime(), false);
+        }
+    }
+
     public static void main(String[] args) throws Exception{
 
-        if (!acquireLock()) {
+        // 명령줄 모드: Swing/FlatLaf 없이 실행하고 끝냄
+        if (BookmarkCli.isCommand(args)) {
+            System.exit(BookmarkCli.run(args));
+            return;
+        }
+
+        // stdout 은 네이티브 메시징 프레임 전용: 로그 등 다른 출력이 섞이기 전에 가장 먼저 잡아 둠
+        NativeMessagingHost nativeHost = NativeMessagingHost.stdio(metrics, AppConfig.NATIVE_DISPATCH_THREADS);
+        StartupTimer startup = new StartupTimer();
+
+        instanceLock = InstanceLock.tryAcquire(AppConfig.IPC_LOCK_PATH);
+        if (instanceLock == null) {
             // 이미 실행 중이면 기존 인스턴스에 메시지만 보내고 종료
             sendToRunningInstance();
             System.exit(0);
             return;
         }
+        startup.mark("lock");
 
-        // 초기화 작업
-        EmbeddedStorageManager storage = new AppConfig().getStorage();
-        RootData root = (RootData) storage.root();
-        BookmarkGroupRepository bookmarkGroupRepository = new BookmarkGroupMicroStreamRepository(root, storage);
-        BookmarkRepository bookmarkRepository = new BookmarkMicroStreamRepository(root, storage);
-        IdGenerator idGenerator = IdGenerator.fromExisting(
-                root.groups(),
-                root.groups().stream().flatMap(bookmarkGroup-> bookmarkGroup.getBookmarks().stream())
-                        .toList()
-        );
-        BookmarkGroupService bookmarkGroupService = new BookmarkGroupService(bookmarkGroupRepository, idGenerator);
-        BookmarkService bookmarkService = new BookmarkService(bookmarkRepository, bookmarkGroupService,idGenerator);
-
-
+        // 잠금을 얻자마자 주소를 연다: 저장소를 여는 동안 실행된 두 번째 인스턴스도 연결되며,
+        // 요청은 명령 등록이 끝나는(ready) 2단계까지 기다렸다가 처리된다
+        IpcServer ipcServer = new IpcServer(IPC_ENDPOINT, AppConfig.IPC_IDLE_TIMEOUT_MS);
+        try {
+            ipcServer.start();
+        } catch (IOException e) {
+            logger.error("IPC 서버를 열지 못함 ({})", IPC_ENDPOINT, e);
+        }
 
-        MicroStreamConfig.createDefaultGroup(root,bookmarkGroupService);
+        // === 1단계: 질의에 답하는 데 필요한 것만 (저장소, 검색 색인, 사용 기록) ===
+        AppServices services;
+        try {
+            services = AppServices.open(metrics);
+        } catch (RuntimeException e) {
+            ipcServer.close(); // 데몬이 아닌 서버 스레드가 프로세스를 붙잡지 않도록
+            throw e;
+        }
+        EmbeddedStorageManager storage = services.storage();
+        ChangeEventBus eventBus = services.eventBus();
+        BookmarkGroupService bookmarkGroupService = services.bookmarkGroupService();
+        BookmarkService bookmarkService = services.bookmarkService();
+        startup.mark("storage");
+
+        // 검색 색인은 UI 리스너보다 먼저 등록해야 화면 갱신 시점에 이미 반영되어 있음
+        // 색인 자체는 3단계에서 백그라운드로 채운다 (그룹 목록을 하나씩 읽고 다시 내리며, 그 전의 검색은 기다리지 않고 채운 만큼에서 찾음)
+        BookmarkSearchIndex searchIndex = new BookmarkSearchIndex(bookmarkGroupService);
+        eventBus.addListener(searchIndex::onChanges);
+        BookmarkUsageTracker usageTracker = new BookmarkUsageTracker(AppConfig.USAGE_LOG_PATH,
+                AppConfig.USAGE_HALF_LIFE_MS, AppConfig.USAGE_FLUSH_MS, AppConfig.USAGE_COMPACT_LINES,
+                AppConfig.SITE_CONTEXT_MS, AppConfig.SITE_MAX, AppConfig.SITE_MAX_BOOKMARKS);
+        usageTracker.load();
+        eventBus.addListener(usageTracker::onChanges);
+        BookmarkHealthScanner healthScanner = new BookmarkHealthScanner(bookmarkGroupService,
+                AppConfig.HEALTH_CONCURRENCY, AppConfig.HEALTH_SLICE_SIZE, AppConfig.HEALTH_TICK_MS,
+                AppConfig.HEALTH_SWEEP_INTERVAL_MS, AppConfig.PATH_CHECK_TIMEOUT_MS);
+        BookmarkWatcher bookmarkWatcher = new BookmarkWatcher(bookmarkService, bookmarkGroupService, healthScanner,
+                AppConfig.WATCH_MAX_KEYS, AppConfig.WATCH_DEBOUNCE_MS, AppConfig.WATCH_MAX_WAIT_MS,
+                AppConfig.WATCH_REFRESH_MS, AppConfig.WATCH_REGISTER_THREADS, AppConfig.PATH_CHECK_TIMEOUT_MS);
+        // 시작 전에 등록해야 첫 전체 읽기와 그 뒤의 변경 사이에 빠지는 이벤트가 없음
+        eventBus.addListener(bookmarkWatcher::onChanges);
         boolean dev = false;
+        // 창은 처음 보여 줄 때(또는 아래 미리 만들기에서) EDT 에서 만든다
+        frameFactory = () -> new MainFrameV3(bookmarkService, bookmarkGroupService, healthScanner, eventBus, searchIndex, usageTracker);
+        startup.mark("index");
+
+        new IpcCommandHandler(bookmarkGroupService, bookmarkService, searchIndex, metrics, services.writer().metrics(),
+                popupTraces, () -> {
+                    ShowRequest request = ShowRequest.local("ipc");
+                    SwingUtilities.invokeLater(() -> showWindowTopRight(request));
+                },
+                () -> SwingUtilities.invokeLater(App::hideWindow),
+                () -> System.exit(0)).register(ipcServer::on);
+
+        // 트레이 종료(System.exit)에서도 큐가 비워지도록 서비스를 띄우기 전에 등록
+        BookmarkListUnloader listUnloader = new BookmarkListUnloader(services.root(), services.rootIndex(),
+                services.writer(), AppConfig.LAZY_IDLE_MS, AppConfig.LAZY_CHECK_INTERVAL_MS);
+        MetricsReporter metricsReporter = new MetricsReporter(metrics, AppConfig.METRICS_LOG_INTERVAL_MS);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            ipcServer.close();
+            metricsReporter.shutdown();
+            showDelay.save();
+            listUnloader.shutdown();
+            usageTracker.close();
+            services.close();
+        }));
 
-        UIManager.put("Component.arc", 14);
-        UIManager.put("Button.arc", 16);
-        UIManager.put("TextComponent.arc", 14);
-        UIManager.put("Component.focusWidth", 1);
-        UIManager.put("Component.innerFocusWidth", 0);
-
-        FlatLightLaf.setup(); // 다크모드는 FlatDarkLaf.setup()
-
-        Thread.sleep(100);
+        // === 2단계: 메시지 수신 시작 ===
+        showDelay.load();
+        nativeHost.onReceived(NativeMessage.FileDialogOpening.class, (message, receivedAt) -> {
+            long receivedEpochMs = System.currentTimeMillis() - (System.nanoTime() - receivedAt) / 1_000_000;
+            ShowRequest request = new ShowRequest("native", message.clickTs(), message.ts(),
+                    receivedEpochMs, receivedAt, true);
+            // 사이트 문맥은 메모리에서 바로 바꾸고, 창이 뜨기 전에 제안 목록을 갱신
+            usageTracker.enterSite(message.url());
+            SwingUtilities.invokeLater(() -> showWindowTopRight(request));
+        });
+        new BookmarkQueryHandler(nativeHost, bookmarkGroupService, searchIndex, usageTracker).register();
+        nativeHost.start();
+        // stdin 이 닫힐 때까지 읽는 스레드 (데몬이 아니므로 브라우저와 연결된 동안 프로세스 유지)
+        new Thread(nativeHost::run, "NativeMsg-Reader").start();
+        // 핸들러 등록과 수신 시작이 끝났으니 확장 프로그램에 알림 (이후 질의는 바로 처리된다)
+        nativeHost.send(OutboundMessage.AppReady.now());
+        ipcServer.ready();
+        startup.mark("listen");
+        logger.info("startup - JVM 시작부터 main 진입까지 {}ms", startup.jvmMillis());
+
+        // === 3단계: 백그라운드 서비스와 UI (메시지 처리와 겹쳐서 진행) ===
+        searchIndex.rebuildInBackground();
+        listUnloader.start();
+        metricsReporter.start();
+        healthScanner.start();
+        bookmarkWatcher.start();
+        usageTracker.start();
         SwingUtilities.invokeLater(() -> {
-            frame = new MainFrameV3(bookmarkService,bookmarkGroupService);
-            frame.setAlwaysOnTop(true);
-            frame.setVisible(false);
+            setupLookAndFeel();
             setupSystemTray();
+            startup.mark("ui");
+            if (AppConfig.PREWARM_WINDOW) {
+                frame();
+                startup.mark("window");
+            }
             if(dev){
                 new DevFrame((RootData) storage.root(),storage).setVisible(true);
             }
         });
-
-        // === 네이티브 메시징 stdin 루프(안정화) ===
-        startIPCServer();
-        //sendReadySignalToExtension();
-        // Native Messaging stdin 루프
-        listenToNativeMessages();
-        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
-            storage.shutdown();
-        }));
-    }
-    private static boolean acquireLock() {
-        try {
-            lockSocket = new ServerSocket(LOCK_PORT);
-            return true;
-        } catch (IOException e) {
-            return false; // 포트가 이미 사용 중 = 앱이 실행 중
-        }
     }
 
-    private static void sendToRunningInstance() {
-        try (Socket socket = new Socket("localhost", LOCK_PORT);
-             PrintWriter out = new PrintWriter(socket.getOutputStream(), true)) {
-            out.println("SHOW_WINDOW");
-        } catch (IOException e) {
-            e.printStackTrace();
+    /** EDT 전용: 창이 없으면 지금 만든다 */
+    private static MainFrameV3 frame() {
+        if (frame == null) {
+            setupLookAndFeel();
+            frame = frameFactory.get();
+            frame.setAlwaysOnTop(true);
+            frame.setVisible(false);
         }
+        return frame;
     }
 
-    private static void startIPCServer() {
-        new Thread(() -> {
-            try {
-                while (true) {
-                    Socket client = lockSocket.accept();
-                    BufferedReader in = new BufferedReader(
-                            new InputStreamReader(client.getInputStream())
-                    );
-                    String command = in.readLine();
-
-                    if ("SHOW_WINDOW".equals(command)) {
-                        SwingUtilities.invokeLater(App::showWindowTopRight);
-                    }
-
-                    client.close();
-                }
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }, "IPC-Server").start();
-    }
+    /** EDT 전용, 한 번만 */
+    private static void setupLookAndFeel() {
+        if (lookAndFeelReady) return;
+        lookAndFeelReady = true;
+        UIManager.put("Component.arc", 14);
+        UIManager.put("Button.arc", 16);
+        UIManager.put("TextComponent.arc", 14);
+        UIManager.put("Component.focusWidth", 1);
+        UIManager.put("Component.innerFocusWidth", 0);
 
-    private static void listenToNativeMessages() {
-        var mapper = new ObjectMapper();
-        var in = new DataInputStream(System.in);
+        FlatLightLaf.setup(); // 다크모드는 FlatDarkLaf.setup()
+    }
 
+    private static void sendToRunningInstance() {
         try {
-            while (true) {
-                byte[] len4 = new byte[4];
-                in.readFully(len4);
-                int len = ByteBuffer.wrap(len4).order(ByteOrder.LITTLE_ENDIAN).getInt();
-                if (len <= 0) continue;
-
-                byte[] payload = new byte[len];
-                in.readFully(payload);
-
-                Map<?, ?> msg = mapper.readValue(payload, Map.class);
-                String type = String.valueOf(msg.get("type"));
-
-                if ("FILE_DIALOG_OPENING".equals(type)) {
-                    SwingUtilities.invokeLater(App::showWindowTopRight);
-                }
-            }
-        } catch (EOFException eof) {
-            // 정상 종료
-        } catch (Exception e) {
-            e.printStackTrace();
+            IpcResponse response = IpcClient.call(IPC_ENDPOINT, AppConfig.IPC_CLIENT_TIMEOUT_MS, "SHOW");
+            if (!response.ok()) logger.warn("sendToRunningInstance() - {}", response.error());
+        } catch (IOException e) {
+            logger.error("sendToRunningInstance() - 실행 중인 인스턴스에 연결하지 못함", e);
         }
     }
 
@@ -179,7 +248,7 @@ public class App {
             PopupMenu menu = new PopupMenu();
 
             MenuItem openItem = new MenuItem("열기");
-            openItem.addActionListener((ActionEvent e) -> showWindowTopRight());
+            openItem.addActionListener((ActionEvent e) -> showWindowTopRight(ShowRequest.local("tray")));
             menu.add(openItem);
 
             MenuItem hideItem = new MenuItem("숨기기");
@@ -199,7 +268,7 @@ public class App {
 
             trayIcon = new TrayIcon(image, "파일 경로 북마크", menu);
             trayIcon.setImageAutoSize(true);
-            trayIcon.addActionListener(e -> showWindowTopRight());
+            trayIcon.addActionListener(e -> showWindowTopRight(ShowRequest.local("tray")));
 
             tray.add(trayIcon);
         } catch (Exception ex) {
@@ -231,9 +300,20 @@ public class App {
         return img;
     }
 
-    private static void showWindowTopRight() {
-
-        new javax.swing.Timer(SHOW_DELAY_MS, ev -> {
+    /**
+     * 요청부터 toFront 까지를 ui.show 로 기록하고, 구간별 시간은 포커스 관찰이 끝난 뒤 {@link #popupTraces} 에 남긴다.
+     * 파일 대화상자로 연 경우에만 관찰 결과로 다음 지연을 조정한다.
+     */
+    private static void showWindowTopRight(ShowRequest request) {
+        long edtAt = System.nanoTime();
+        // 창이 아직 없으면 지연 시간 동안 만들어 둠
+        MainFrameV3 frame = frame();
+        if (request.refreshSuggestions()) frame.refreshSuggestions();
+
+        long delayMs = showDelay.delayMillis();
+        long scheduledAt = System.nanoTime();
+        new javax.swing.Timer((int) delayMs, ev -> {
+            long firedAt = System.nanoTime();
             GraphicsDevice target = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice();
             Rectangle wa = workAreaOf(target);
 
@@ -250,8 +330,51 @@ public class App {
             frame.setAlwaysOnTop(false);
             frame.setAlwaysOnTop(true);
             frame.toFront();
+            long shownAt = System.nanoTime();
+            metrics.record("ui.show", shownAt - request.requestedAt(), true);
             frame.requestFocus();
             frame.requestFocusInWindow();
+            frame.focusSearch();
+
+            watchFocus(frame, outcome -> {
+                if (request.source().equals("native")) {
+                    if (outcome == PopupTrace.Outcome.SHOWN) showDelay.onShown();
+                    if (outcome == PopupTrace.Outcome.RACE) showDelay.onRace();
+                }
+                PopupTrace trace = new PopupTrace(request.source(), request.clickEpochMs(), request.postedEpochMs(),
+                        request.receivedEpochMs(), edtAt - request.requestedAt(), scheduledAt - edtAt,
+                        firedAt - scheduledAt, shownAt - firedAt, delayMs, outcome);
+                popupTraces.add(trace);
+                logger.debug("showWindowTopRight() - {}", trace.line());
+            });
+        }) {{
+            setRepeats(false);
+            start();
+        }};
+    }
+
+    /** 표시 직후 {@link AppConfig#SHOW_RACE_WINDOW_MS} 동안 포커스를 다른 앱 창에 뺏기는지 본다 (EDT) */
+    private static void watchFocus(Window window, Consumer<PopupTrace.Outcome> done) {
+        boolean[] gained = {window.isFocused()};
+        boolean[] lost = {false};
+        WindowFocusListener listener = new WindowFocusListener() {
+            @Override
+            public void windowGainedFocus(WindowEvent e) {
+                gained[0] = true;
+            }
+
+            @Override
+            public void windowLostFocus(WindowEvent e) {
+                // 숨김(북마크 선택 등)이나 앱 안의 다른 창으로 옮긴 것은 경합이 아님
+                if (gained[0] && window.isVisible() && e.getOppositeWindow() == null) lost[0] = true;
+            }
+        };
+        window.addWindowFocusListener(listener);
+        new javax.swing.Timer((int) AppConfig.SHOW_RACE_WINDOW_MS, ev -> {
+            window.removeWindowFocusListener(listener);
+            if (lost[0]) done.accept(PopupTrace.Outcome.RACE);
+            else if (gained[0] || window.isFocused()) done.accept(PopupTrace.Outcome.SHOWN);
+            else done.accept(PopupTrace.Outcome.NO_FOCUS);
         }) {{
             setRepeats(false);
             start();
@@ -275,24 +398,4 @@ public class App {
         frame.setVisible(false);
     }
 
-    private static void sendReadySignalToExtension() {
-        try {
-            var mapper = new ObjectMapper();
-            Map<String, Object> readyMsg = Map.of(
-                    "type", "APP_READY",
-                    "timestamp", System.currentTimeMillis()
-            );
-
-            byte[] json = mapper.writeValueAsBytes(readyMsg);
-            ByteBuffer buf = ByteBuffer.allocate(4 + json.length)
-                    .order(ByteOrder.LITTLE_ENDIAN);
-            buf.putInt(json.length);
-            buf.put(json);
-
-            System.out.write(buf.array());
-            System.out.flush();
-        } catch (Exception e) {
-            logger.error(e.getMessage(), e);
-        }
-    }
 }
@@ -0,0 +1,264 @@
+package cli;
+
+import config.AppConfig;
+import config.AppServices;
+import infra.PopupTraceLog;
+import ipc.InstanceLock;
+import ipc.IpcClient;
+import ipc.IpcCommand;
+import ipc.IpcCommandHandler;
+import ipc.IpcEndpoint;
+import ipc.IpcResponse;
+import service.bookmark_search.BookmarkSearchIndex;
+
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
+/**
+ * UI 없이 쓰는 명령줄 모드. 실행 중인 인스턴스가 있으면 IPC 로 넘기고,
+ * 없으면 잠금을 쥔 채 저장소를 직접 열어 같은 명령({@link IpcCommandHandler})을 프로세스 안에서 실행한다.
+ * <pre>
+ * add PATH... [--group ID]          경로 추가 (여러 개면 배치)
+ * import [FILE|-] [--group ID]      한 줄에 경로 하나, 또는 "이름\t경로" / export 형식 줄
+ * export [FILE]                     id \t groupId \t name \t path
+ * search QUERY [--limit N]
+ * list                              groupId \t name \t 북마크 수
+ * metrics                           연산별 호출 수와 지연(µs), 저장 커밋 통계 (IPC METRICS 형식)
+ * traces [--limit N]                최근 창 표시 구간별 시간 (실행 중인 앱에서만 의미 있음)
+ * </pre>
+ * 결과는 stdout, 로그와 오류는 stderr 로 나간다. 종료 코드: 0 성공, 1 실패, 2 사용법 오류.
+ */
+public final class BookmarkCli {
+
+    private static final Set<String> COMMANDS = Set.of("add", "import", "export", "search", "list", "metrics", "traces");
+    private static final int IMPORT_CHUNK_BYTES = 48 * 1024; // IPC 한 줄 한도(64KB) 아래로
+
+    /** 명령 호출 방식: IPC 또는 프로세스 안 직접 호출 */
+    @FunctionalInterface
+    private interface Transport {
+        IpcResponse call(long timeoutMillis, String command, List<String> args) throws IOException;
+    }
+
+    private final PrintStream out;
+    private final PrintStream err;
+    private Transport transport;
+
+    private BookmarkCli(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    public static boolean isCommand(String[] args) {
+        return args.length > 0 && COMMANDS.contains(args[0].toLowerCase(Locale.ROOT));
+    }
+
+    /** stdout 은 결과 전용으로 잡고, 이후 System.out 출력(로그 등)은 stderr 로 돌린다 */
+    public static int run(String[] args) {
+        PrintStream out = new PrintStream(new FileOutputStream(FileDescriptor.out), false, StandardCharsets.UTF_8);
+        System.setOut(System.err);
+        try {
+            return new BookmarkCli(out, System.err).execute(args);
+        } finally {
+            out.flush();
+        }
+    }
+
+    private int execute(String[] argv) {
+        Args args;
+        try {
+            args = Args.parse(argv);
+        } catch (IllegalArgumentException e) {
+            err.println(e.getMessage());
+            return 2;
+        }
+
+        InstanceLock lock = InstanceLock.tryAcquire(AppConfig.IPC_LOCK_PATH);
+        if (lock == null) {
+            IpcEndpoint endpoint = new IpcEndpoint(AppConfig.IPC_SOCKET_PATH, AppConfig.IPC_TCP_PORT);
+            transport = (timeout, command, list) -> IpcClient.call(endpoint, timeout, command, list.toArray(String[]::new));
+            return dispatch(args);
+        }
+
+        AppServices services = null;
+        try {
+            services = AppServices.open();
+            BookmarkSearchIndex searchIndex = new BookmarkSearchIndex(services.bookmarkGroupService());
+            if (args.command.equals("search")) searchIndex.rebuild();
+            Map<String, IpcCommand> commands = new HashMap<>();
+            new IpcCommandHandler(services.bookmarkGroupService(), services.bookmarkService(), searchIndex,
+                    services.metrics(), services.writer().metrics(),
+                    new PopupTraceLog(1), () -> { }, () -> { }, () -> { }).register(commands::put);
+            transport = (timeout, command, list) -> direct(commands.get(command), list);
+            return dispatch(args);
+        } finally {
+            if (services != null) services.close();
+            lock.release();
+        }
+    }
+
+    private int dispatch(Args args) {
+        try {
+            return switch (args.command) {
+                case "add" -> args.positional.size() == 1 ? add(args) : importEntries(args, entriesOf(args.positional));
+                case "import" -> importEntries(args, readEntries(args.positional.isEmpty() ? "-" : args.positional.get(0)));
+                case "export" -> export(args);
+                case "search" -> print(call(AppConfig.IPC_CLIENT_TIMEOUT_MS, "SEARCH",
+                        List.of(String.join(" ", args.positional), String.valueOf(args.limit))));
+                case "list" -> print(call(AppConfig.IPC_CLIENT_TIMEOUT_MS, "LIST", List.of()));
+                case "metrics" -> print(call(AppConfig.IPC_CLIENT_TIMEOUT_MS, "METRICS", List.of()));
+                case "traces" -> print(call(AppConfig.IPC_CLIENT_TIMEOUT_MS, "TRACES", List.of(String.valueOf(args.limit))));
+                default -> 2;
+            };
+        } catch (IOException | RuntimeException e) {
+            err.println("오류: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private int add(Args args) throws IOException {
+        List<String> list = new ArrayList<>();
+        list.add(args.positional.get(0));
+        if (args.group != null) list.add(args.group);
+        return print(call(AppConfig.IPC_CLIENT_TIMEOUT_MS, "ADD", list));
+    }
+
+    /** 묶음 단위로 IMPORT 를 보내 한 묶음이 한 번의 저장 커밋이 되게 한다 */
+    private int importEntries(Args args, List<String[]> entries) throws IOException {
+        int created = 0, failed = 0;
+        List<String> chunk = new ArrayList<>();
+        int bytes = 0;
+        for (int i = 0; i <= entries.size(); i++) {
+            boolean last = i == entries.size();
+            if (!last) {
+                String[] entry = entries.get(i);
+                chunk.add(entry[0]);
+                chunk.add(entry[1]);
+                bytes += entry[0].length() * 3 + entry[1].length() * 3 + 2;
+            }
+            if (chunk.isEmpty() || !last && chunk.size() / 2 < AppConfig.CLI_IMPORT_CHUNK && bytes < IMPORT_CHUNK_BYTES) continue;
+
+            List<String> list = new ArrayList<>(chunk.size() + 1);
+            list.add(args.group == null ? "" : args.group);
+            list.addAll(chunk);
+            IpcResponse response = call(AppConfig.CLI_IMPORT_TIMEOUT_MS, "IMPORT", list);
+            if (!response.ok()) {
+                err.println("오류: " + response.error());
+                failed += chunk.size() / 2;
+            } else {
+                String[] counts = response.lines().get(0).split("\t");
+                created += Integer.parseInt(counts[0]);
+                failed += Integer.parseInt(counts[1]);
+                for (String failure : response.lines().subList(1, response.lines().size())) err.println("실패: " + failure);
+            }
+            chunk.clear();
+            bytes = 0;
+        }
+        out.println(created + "\t" + failed);
+        return failed == 0 ? 0 : 1;
+    }
+
+    private int export(Args args) throws IOException {
+        IpcResponse response = call(AppConfig.CLI_IMPORT_TIMEOUT_MS, "EXPORT", List.of());
+        if (args.positional.isEmpty() || !response.ok()) return print(response);
+        try (Writer writer = Files.newBufferedWriter(Path.of(args.positional.get(0)), StandardCharsets.UTF_8)) {
+            for (String line : response.lines()) writer.write(line + "\n");
+        }
+        err.println(response.lines().size() + "개 내보냄");
+        return 0;
+    }
+
+    private IpcResponse call(long timeoutMillis, String command, List<String> args) throws IOException {
+        return transport.call(timeoutMillis, command, args);
+    }
+
+    private int print(IpcResponse response) {
+        if (!response.ok()) {
+            err.println("오류: " + response.error());
+            return 1;
+        }
+        for (String line : response.lines()) out.println(line);
+        return 0;
+    }
+
+    private static IpcResponse direct(IpcCommand command, List<String> args) {
+        try {
+            return IpcResponse.ok(command.handle(args).join());
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return IpcResponse.error(cause.getMessage());
+        } catch (RuntimeException e) {
+            return IpcResponse.error(e.getMessage());
+        }
+    }
+
+    /** "경로", "이름\t경로", export 형식("id\tgroupId\t이름\t경로") 줄을 [이름, 경로] 로. 빈 줄과 # 주석은 건너뜀 */
+    private static List<String[]> entriesOf(List<String> lines) {
+        List<String[]> entries = new ArrayList<>(lines.size());
+        for (String line : lines) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+            String[] f = trimmed.split("\t");
+            entries.add(f.length == 1 ? new String[]{"", f[0]} : new String[]{f[f.length - 2], f[f.length - 1]});
+        }
+        return entries;
+    }
+
+    private static List<String[]> readEntries(String source) throws IOException {
+        if (!source.equals("-")) return entriesOf(Files.readAllLines(Path.of(source), StandardCharsets.UTF_8));
+        List<String> lines = new ArrayList<>();
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        for (String line; (line = in.readLine()) != null; ) lines.add(line);
+        return entriesOf(lines);
+    }
+
+    /** 명령, 위치 인자, --group / --limit */
+    private record Args(String command, List<String> positional, String group, int limit) {
+
+        static Args parse(String[] argv) {
+            String command = argv[0].toLowerCase(Locale.ROOT);
+            List<String> positional = new ArrayList<>();
+            String group = null;
+            int limit = 20;
+            for (int i = 1; i < argv.length; i++) {
+                switch (argv[i]) {
+                    case "--group" -> group = String.valueOf(parseLong(value(argv, ++i, "--group")));
+                    case "--limit" -> limit = (int) parseLong(value(argv, ++i, "--limit"));
+                    default -> positional.add(argv[i]);
+                }
+            }
+            if ((command.equals("add") || command.equals("search")) && positional.isEmpty()) {
+                throw new IllegalArgumentException("사용법: " + (command.equals("add")
+                        ? "add PATH... [--group ID]" : "search QUERY [--limit N]"));
+            }
+            return new Args(command, positional, group, limit);
+        }
+
+        private static String value(String[] argv, int i, String option) {
+            if (i >= argv.length) throw new IllegalArgumentException(option + " 값이 없습니다.");
+            return argv[i];
+        }
+
+        private static long parseLong(String s) {
+            try {
+                return Long.parseLong(s);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("숫자가 아닙니다: " + s);
+            }
+        }
+    }
+}
@@ -7,6 +7,66 @@ import java.nio.file.Path;
 public final class AppConfig {
     public static final String APP_NAME = "FilePathBookmark";
     public static final Path STORE_DIR_PATH =  AppPaths.dataDir(APP_NAME);
+    // -Dfpb.store.measureBytes=true 일 때만 저장 연산별 바이트 수 측정(통계 조회 비용이 있음)
+    public static final boolean MEASURE_STORE_BYTES = Boolean.getBoolean("fpb.store.measureBytes");
+    // write-behind 저장 주기(ms). 0이면 호출 스레드에서 바로 저장
+    public static final long STORE_FLUSH_INTERVAL_MS = Long.getLong("fpb.store.flushIntervalMs", 200L);
+    // id 예약 블록 크기: 이만큼 발급할 때마다 상한을 한 번 저장 (재시작 시 남은 블록은 건너뜀)
+    public static final int ID_BLOCK_SIZE = 256;
+    // 그룹 북마크 목록을 마지막으로 쓴 뒤 메모리에서 내릴 때까지의 시간 / 확인 주기
+    public static final long LAZY_IDLE_MS = Long.getLong("fpb.store.lazyIdleMs", 10 * 60_000L);
+    public static final long LAZY_CHECK_INTERVAL_MS = 60_000L;
+    // 연산별 지연 통계를 로그로 남기는 주기 (IPC METRICS 로는 언제든 조회)
+    public static final long METRICS_LOG_INTERVAL_MS = Long.getLong("fpb.metrics.logIntervalMs", 5 * 60_000L);
+    // 경로 검증 풀 크기 / 성공 결과 캐시 TTL / 응답 없는 드라이브 대기 한도
+    public static final int PATH_CHECK_THREADS = 4;
+    public static final long PATH_CACHE_TTL_MS = 30_000L;
+    public static final long PATH_CHECK_TIMEOUT_MS = 3_000L;
+    // 북마크 경로 점검: 동시 stat 수 / tick 당 검사 수 / tick 간격 / 전체 재점검 주기
+    public static final int HEALTH_CONCURRENCY = 4;
+    public static final int HEALTH_SLICE_SIZE = 200;
+    public static final long HEALTH_TICK_MS = 1_000L;
+    public static final long HEALTH_SWEEP_INTERVAL_MS = 10 * 60_000L;
+    // 파일 감시: 최대 감시 폴더 수 / 이벤트 묶음 대기 / 이벤트가 계속 와도 묶음을 처리하는 최대 대기 / 감시 폴더 재등록 주기 / 폴더 등록 풀 크기
+    public static final int WATCH_MAX_KEYS = 256;
+    public static final long WATCH_DEBOUNCE_MS = 500L;
+    public static final long WATCH_MAX_WAIT_MS = 5_000L;
+    public static final long WATCH_REFRESH_MS = 30_000L;
+    public static final int WATCH_REGISTER_THREADS = 2;
+    // 사용 빈도(frecency): 기록 파일 / 점수 반감기 / 파일 기록 주기 / 스냅샷으로 압축할 줄 수 / 상단 표시 개수
+    public static final Path USAGE_LOG_PATH = STORE_DIR_PATH.resolve("usage").resolve("usage.log");
+    public static final long USAGE_HALF_LIFE_MS = 7 * 24 * 60 * 60_000L;
+    public static final long USAGE_FLUSH_MS = 5_000L;
+    public static final int USAGE_COMPACT_LINES = 10_000;
+    public static final int USAGE_TOP_N = 5;
+    // 사이트별 제안: 대화상자가 열린 뒤 사용을 그 사이트로 보는 시간 / 기억할 사이트 수 / 사이트당 북마크 수
+    public static final long SITE_CONTEXT_MS = 2 * 60_000L;
+    public static final int SITE_MAX = 500;
+    public static final int SITE_MAX_BOOKMARKS = 10;
+    // 창 표시 지연: 파일 대화상자와의 z-order 경합을 피하려고 toFront 전에 기다리는 시간(처음 값 / 하한 / 상한 / 성공 시 줄이는 폭).
+    // 경합이 관찰되면 늘리고 아니면 조금씩 줄여 OS 별로 기억한다 (-Dfpb.ui.adaptiveDelay=false 면 처음 값 고정)
+    public static final long SHOW_DELAY_MS = 280L;
+    public static final long SHOW_DELAY_MIN_MS = 40L;
+    public static final long SHOW_DELAY_MAX_MS = 600L;
+    public static final long SHOW_DELAY_STEP_MS = 10L;
+    public static final boolean ADAPTIVE_SHOW_DELAY = Boolean.parseBoolean(System.getProperty("fpb.ui.adaptiveDelay", "true"));
+    public static final Path SHOW_DELAY_PATH = STORE_DIR_PATH.resolve("ui").resolve("show-delay.properties");
+    // 표시 후 포커스를 뺏기는지 지켜보는 시간 / 보관할 최근 표시 기록 수
+    public static final long SHOW_RACE_WINDOW_MS = 500L;
+    public static final int POPUP_TRACE_CAPACITY = 256;
+    // 시작 직후 창을 미리 만들어 둘지(-Dfpb.startup.prewarm=false 면 처음 보여 줄 때 생성)
+    public static final boolean PREWARM_WINDOW = Boolean.parseBoolean(System.getProperty("fpb.startup.prewarm", "true"));
+    // 단일 인스턴스/IPC: 잠금 파일 / 유닉스 도메인 소켓 / 소켓을 못 쓰는 환경의 loopback TCP 포트 / 유휴 연결 정리 / 클라이언트 응답 대기
+    public static final Path IPC_LOCK_PATH = STORE_DIR_PATH.resolve("ipc").resolve("app.lock");
+    public static final Path IPC_SOCKET_PATH = STORE_DIR_PATH.resolve("ipc").resolve("app.sock");
+    public static final int IPC_TCP_PORT = 9876;
+    public static final long IPC_IDLE_TIMEOUT_MS = 10_000L;
+    public static final long IPC_CLIENT_TIMEOUT_MS = 5_000L;
+    // 네이티브 메시징 처리기를 돌리는 스레드 수 (느린 질의가 뒤의 질의나 창 표시를 막지 않도록)
+    public static final int NATIVE_DISPATCH_THREADS = 4;
+    // CLI import: 한 번에 보내는 경로 수 / 배치 응답 대기 (묶음 전체의 경로 검증 포함)
+    public static final int CLI_IMPORT_CHUNK = 1_000;
+    public static final long CLI_IMPORT_TIMEOUT_MS = 120_000L;
     private final EmbeddedStorageManager storage;
 
     public AppConfig() {
@@ -0,0 +1,84 @@
+package config;
+
+import infra.OperationMetrics;
+import infra.PathValidator;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+import persistence.BookmarkGroupMicroStreamRepository;
+import persistence.BookmarkMicroStreamRepository;
+import persistence.IdSequenceMicroStreamRepository;
+import persistence.PersistenceWriter;
+import persistence.RootData;
+import persistence.RootIndex;
+import persistence.StoreMetrics;
+import persistence.TimedBookmarkGroupRepository;
+import persistence.TimedBookmarkRepository;
+import service.ChangeEventBus;
+import service.IdGenerator;
+import service.bookmark.BookmarkRepository;
+import service.bookmark.BookmarkService;
+import service.bookmark_group.BookmarkGroupRepository;
+import service.bookmark_group.BookmarkGroupService;
+
+/**
+ * 저장소와 핵심 서비스 묶음. UI 없이도 쓸 수 있어 앱과 CLI(직접 모드)가 같은 구성을 공유한다.
+ * 저장소를 여는 쪽은 {@link ipc.InstanceLock} 을 쥐고 있어야 한다.
+ * 서비스, 리포지토리, 저장 커밋, 경로 검증의 지연은 모두 같은 {@link OperationMetrics} 에 모인다.
+ */
+public record AppServices(EmbeddedStorageManager storage, RootData root, RootIndex rootIndex, PersistenceWriter writer,
+                          IdGenerator idGenerator, PathValidator pathValidator, ChangeEventBus eventBus,
+                          BookmarkGroupService bookmarkGroupService, BookmarkService bookmarkService,
+                          OperationMetrics metrics) {
+
+    public static AppServices open() {
+        return open(new OperationMetrics());
+    }
+
+    /** 앱 쪽(네이티브 메시징, 창 표시)과 같은 지표 저장소를 쓸 때 */
+    public static AppServices open(OperationMetrics metrics) {
+        return open(new AppConfig().getStorage(), AppConfig.STORE_FLUSH_INTERVAL_MS, metrics);
+    }
+
+    /** 이미 연 저장소 위에 구성 (벤치마크 등에서 임시 저장소와 저장 주기를 바꿔 쓸 때) */
+    public static AppServices open(EmbeddedStorageManager storage, long flushIntervalMs) {
+        return open(storage, flushIntervalMs, new OperationMetrics());
+    }
+
+    public static AppServices open(EmbeddedStorageManager storage, long flushIntervalMs, OperationMetrics metrics) {
+        return open(storage, flushIntervalMs, metrics, AppConfig.ID_BLOCK_SIZE);
+    }
+
+    /** id 블록 크기까지 바꿀 때 (id 발급 벤치마크) */
+    public static AppServices open(EmbeddedStorageManager storage, long flushIntervalMs, OperationMetrics metrics,
+                                   int idBlockSize) {
+        RootData root = (RootData) storage.root();
+        PersistenceWriter writer = new PersistenceWriter(
+                storage, new StoreMetrics(metrics), AppConfig.MEASURE_STORE_BYTES, flushIntervalMs);
+        MicroStreamConfig.migrateLegacyGroups(root, writer);
+        RootIndex rootIndex = RootIndex.build(root);
+        BookmarkGroupRepository bookmarkGroupRepository = new TimedBookmarkGroupRepository(
+                new BookmarkGroupMicroStreamRepository(root, rootIndex, writer), metrics);
+        BookmarkRepository bookmarkRepository = new TimedBookmarkRepository(
+                new BookmarkMicroStreamRepository(root, rootIndex, writer), metrics);
+        IdGenerator idGenerator = new IdGenerator(new IdSequenceMicroStreamRepository(root, writer), idBlockSize);
+        ChangeEventBus eventBus = new ChangeEventBus();
+        BookmarkGroupService bookmarkGroupService = new BookmarkGroupService(bookmarkGroupRepository, idGenerator, eventBus, metrics);
+        PathValidator pathValidator = new PathValidator(
+                AppConfig.PATH_CHECK_THREADS, AppConfig.PATH_CACHE_TTL_MS, AppConfig.PATH_CHECK_TIMEOUT_MS, metrics);
+        BookmarkService bookmarkService = new BookmarkService(bookmarkRepository, bookmarkGroupService, idGenerator, pathValidator,
+                eventBus, metrics);
+
+        MicroStreamConfig.createDefaultGroup(root, bookmarkGroupService);
+        return new AppServices(storage, root, rootIndex, writer, idGenerator, pathValidator, eventBus, bookmarkGroupService,
+                bookmarkService, metrics);
+    }
+
+    /** 남은 저장을 내려쓰고 저장소를 닫는다. 내려쓰기에 실패해도 저장소는 닫고 예외를 다시 던진다 */
+    public void close() {
+        try {
+            writer.close();
+        } finally {
+            storage.shutdown();
+            pathValidator.shutdown();
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package config;
 
 import model.BookmarkGroup;
+import one.microstream.reference.LazyReferenceManager;
 import one.microstream.storage.embedded.types.EmbeddedStorage;
 import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+import persistence.PersistenceWriter;
 import persistence.RootData;
 import service.IdGenerator;
 import service.bookmark.BookmarkService;
@@ -24,6 +26,9 @@ public class MicroStreamConfig {
             deleteRecursivelyQuiet(dir);
         }
 
+        // MicroStream 기본 관리자는 오래 안 쓴 Lazy 를 저장 대기 여부와 상관없이 비우므로 끈다.
+        // 목록 내리기는 저장 큐와 색인을 아는 BookmarkListUnloader 가 맡는다
+        LazyReferenceManager.set(LazyReferenceManager.New(lazy -> false));
         EmbeddedStorageManager storage = EmbeddedStorage.start(dir);
         RootData root = (RootData) storage.root();
         if (root == null) {
@@ -34,6 +39,21 @@ public class MicroStreamConfig {
         return storage;
     }
 
+    /**
+     * 북마크 목록을 그룹에 직접 들고 있던 이전 버전 저장소를 Lazy 목록으로 옮기고,
+     * 북마크 id 가 없는 그룹은 id 를 채운다 (한 번만 일어남)
+     */
+    public static void migrateLegacyGroups(RootData root, PersistenceWriter writer) {
+        int migrated = 0;
+        for (BookmarkGroup group : root.groups()) {
+            if (group.migrateLegacyBookmarks() | group.migrateBookmarkIds()) {
+                writer.store("group.migrate", group);
+                migrated++;
+            }
+        }
+        if (migrated > 0) writer.flush();
+    }
+
     public static void createDefaultGroup(RootData root, BookmarkGroupService bookmarkGroupService) {
         if(root.groups().isEmpty()){
             bookmarkGroupService.createBookmarkGroup("기본");
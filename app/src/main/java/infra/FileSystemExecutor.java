@@ -0,0 +1,129 @@
+package infra;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 파일 시스템 호출(stat 등)을 전용 풀에서 제한 시간과 함께 실행한다.
+ *
+ * <p>응답 없는 네트워크 드라이브의 호출은 시간이 지나도 스레드를 놓지 않는다. 그래서 제한 시간을 넘기고도
+ * 아직 돌고 있는 호출을 경로의 루트(드라이브 문자, UNC 공유, 유닉스는 앞 두 단계)별로 세어 두고,
+ * 그런 루트 아래의 새 호출은 보내지 않고 바로 실패시킨다. 묶인 스레드 수만큼 풀을 (maxStalled 까지) 늘려
+ * 다른 드라이브의 호출이 그 뒤에 줄 서지 않게 하고, 묶였던 호출이 끝나면 루트와 풀 크기를 되돌린다.</p>
+ */
+public final class FileSystemExecutor {
+
+    private static final int QUEUED = 0, RUNNING = 1, STALLED = 2, DONE = 3;
+
+    private final ThreadPoolExecutor pool;
+    private final int threads;
+    private final int maxStalled;
+
+    // 루트 → 제한 시간을 넘기고 아직 안 끝난 호출 수
+    private final Map<String, Integer> stalled = new ConcurrentHashMap<>();
+    private final AtomicInteger stalledCalls = new AtomicInteger();
+
+    public FileSystemExecutor(String threadName, int threads, int maxStalled) {
+        AtomicInteger seq = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread t = new Thread(r, threadName + "-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.threads = threads;
+        this.maxStalled = maxStalled;
+    }
+
+    /**
+     * path 에 대한 call 을 실행한다. 제한 시간을 넘기면 {@link TimeoutException} 으로,
+     * 루트가 멈춰 있으면 기다리지 않고 바로 실패한다. 시간이 지날 때까지 시작하지 못한 호출은 실행하지 않는다.
+     */
+    public <T> CompletableFuture<T> submit(String path, long timeoutMillis, Supplier<T> call) {
+        String root = rootOf(path);
+        if (stalled.containsKey(root)) return CompletableFuture.failedFuture(stalledError(root));
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger state = new AtomicInteger(QUEUED);
+        result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS).whenComplete((value, ex) -> {
+            if (state.compareAndSet(QUEUED, DONE)) return;
+            if (ex instanceof TimeoutException && state.compareAndSet(RUNNING, STALLED)) changeStalled(root, 1);
+        });
+        pool.execute(() -> {
+            if (!state.compareAndSet(QUEUED, RUNNING)) return;
+            if (stalled.containsKey(root)) {   // 줄 서 있는 동안 루트가 멈춤
+                state.set(DONE);
+                result.completeExceptionally(stalledError(root));
+                return;
+            }
+            try {
+                T value = call.get();
+                finish(state, root);
+                result.complete(value);
+            } catch (RuntimeException e) {
+                finish(state, root);
+                result.completeExceptionally(e);
+            }
+        });
+        return result;
+    }
+
+    public boolean isStalled(String path) {
+        return stalled.containsKey(rootOf(path));
+    }
+
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private void finish(AtomicInteger state, String root) {
+        if (state.getAndSet(DONE) == STALLED) changeStalled(root, -1);
+    }
+
+    private void changeStalled(String root, int delta) {
+        stalled.compute(root, (key, count) -> {
+            int next = (count == null ? 0 : count) + delta;
+            return next == 0 ? null : next;
+        });
+        resize(stalledCalls.addAndGet(delta));
+    }
+
+    private synchronized void resize(int stalledNow) {
+        int size = threads + Math.max(0, Math.min(stalledNow, maxStalled));
+        if (size > pool.getMaximumPoolSize()) {
+            pool.setMaximumPoolSize(size);
+            pool.setCorePoolSize(size);
+        } else if (size < pool.getMaximumPoolSize()) {
+            pool.setCorePoolSize(size);
+            pool.setMaximumPoolSize(size);
+        }
+    }
+
+    private static RuntimeException stalledError(String root) {
+        return new RuntimeException("응답 없는 드라이브: " + root);
+    }
+
+    /** 한 장치로 볼 경로의 앞부분. 드라이브 문자/UNC 공유는 루트 그대로, 유닉스는 마운트 위치를 모르므로 앞 두 단계까지 */
+    static String rootOf(String path) {
+        try {
+            Path p = Paths.get(path);
+            Path root = p.getRoot();
+            if (root == null) return "";
+            if (!root.toString().equals("/")) return root.toString().toLowerCase(Locale.ROOT);
+            int depth = Math.min(2, p.getNameCount());
+            return depth == 0 ? "/" : root.resolve(p.subpath(0, depth)).toString();
+        } catch (InvalidPathException e) {
+            return "";
+        }
+    }
+}
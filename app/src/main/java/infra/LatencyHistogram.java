@@ -0,0 +1,95 @@
+package infra;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 지연 시간(ns) 히스토그램. HdrHistogram 과 같은 로그-선형 버킷(2의 거듭제곱 구간마다 16칸, 상대 오차 약 6%)을
+ * 고정 배열 하나로 두고 잠금 없이 기록한다. 1시간(약 2^42ns)을 넘는 값은 마지막 구간에 넣는다.
+ * 누적 값만 들고 있으므로 구간 통계는 {@link Snapshot#minus(Snapshot)} 로 구한다.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int HALF = 1 << (SUB_BITS - 1);  // 구간당 칸 수
+    private static final int MAX_MAGNITUDE = 42;
+    private static final int BUCKETS = (MAX_MAGNITUDE - SUB_BITS + 2) * HALF + HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder();
+
+    public void record(long nanos) {
+        long value = Math.max(0, Math.min(nanos, (1L << (MAX_MAGNITUDE + 1)) - 1));
+        counts.incrementAndGet(indexOf(value));
+        sum.add(value);
+    }
+
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, sum.sum());
+    }
+
+    static int indexOf(long value) {
+        if (value < HALF * 2) return (int) value;
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - SUB_BITS + 1;
+        return shift * HALF + (int) (value >>> shift);
+    }
+
+    /** 버킷에 들어가는 가장 큰 값 */
+    static long highestValueOf(int index) {
+        if (index < HALF * 2) return index;
+        int shift = index / HALF - 1;
+        long top = index - (long) shift * HALF;
+        return ((top + 1) << shift) - 1;
+    }
+
+    /** 특정 시점의 복사본 */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+
+        private Snapshot(long[] counts, long count, long sum) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+        }
+
+        public long count() {
+            return count;
+        }
+
+        public double meanNanos() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /** p 는 0~100. 해당 버킷의 상한 (기록이 없으면 0) */
+        public long percentileNanos(double p) {
+            if (count == 0) return 0;
+            long rank = Math.max(1, (long) Math.ceil(p / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) return highestValueOf(i);
+            }
+            return highestValueOf(counts.length - 1);
+        }
+
+        public long maxNanos() {
+            return percentileNanos(100);
+        }
+
+        /** 이 시점과 이전 시점 사이의 기록만 */
+        public Snapshot minus(Snapshot earlier) {
+            long[] diff = new long[counts.length];
+            for (int i = 0; i < counts.length; i++) diff[i] = counts[i] - earlier.counts[i];
+            return new Snapshot(diff, count - earlier.count, sum - earlier.sum);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package infra;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link OperationMetrics} 의 구간 통계를 주기마다 로그로 남긴다.
+ * 직전 보고 이후 호출이 있었던 연산만 한 줄씩 (count, errors, p50/p99/max µs).
+ */
+public class MetricsReporter {
+
+    private final OperationMetrics metrics;
+    private final long intervalMillis;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "Metrics-Reporter");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private Map<String, OperationMetrics.Snapshot> previous = new HashMap<>(); // 스케줄러 스레드 전용
+
+    private final Logger logger = LoggerFactory.getLogger(MetricsReporter.class);
+
+    public MetricsReporter(OperationMetrics metrics, long intervalMillis) {
+        this.metrics = metrics;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::report, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void report() {
+        Map<String, OperationMetrics.Snapshot> current = metrics.snapshot();
+        current.forEach((name, snapshot) -> {
+            OperationMetrics.Snapshot before = previous.get(name);
+            OperationMetrics.Snapshot interval = before == null ? snapshot : snapshot.minus(before);
+            if (interval.count() == 0) return;
+            LatencyHistogram.Snapshot latency = interval.latency();
+            logger.info("metrics {} - count={} errors={} p50={}us p99={}us max={}us", name, interval.count(),
+                    interval.errors(), latency.percentileNanos(50) / 1_000, latency.percentileNanos(99) / 1_000,
+                    latency.maxNanos() / 1_000);
+        });
+        previous = current;
+    }
+}
@@ -0,0 +1,80 @@
+package infra;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 연산 이름별 호출 수, 실패 수, 지연 히스토그램.
+ * 이름은 {@code 계층.대상.연산} 형식(예: {@code service.bookmark.create}, {@code repo.group.findAll}).
+ * 기록은 잠금 없이 하므로 모든 서비스/저장 호출에 걸어도 부담이 적다.
+ */
+public class OperationMetrics {
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /** 실행 시간을 기록. 예외가 나면 실패로 세고 그대로 던진다 */
+    public <T> T time(String name, Supplier<T> action) {
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            T result = action.get();
+            ok = true;
+            return result;
+        } finally {
+            record(name, System.nanoTime() - start, ok);
+        }
+    }
+
+    public void run(String name, Runnable action) {
+        time(name, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /** future 가 끝날 때까지의 시간을 기록 */
+    public <T> CompletableFuture<T> timeAsync(String name, Supplier<CompletableFuture<T>> action) {
+        long start = System.nanoTime();
+        CompletableFuture<T> future;
+        try {
+            future = action.get();
+        } catch (RuntimeException e) {
+            record(name, System.nanoTime() - start, false);
+            throw e;
+        }
+        return future.whenComplete((result, ex) -> record(name, System.nanoTime() - start, ex == null));
+    }
+
+    public void record(String name, long nanos, boolean ok) {
+        Timer timer = timers.computeIfAbsent(name, key -> new Timer());
+        timer.histogram.record(nanos);
+        if (!ok) timer.errors.increment();
+    }
+
+    /** 이름 순으로 정렬된 누적 값 */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        timers.forEach((name, timer) -> result.put(name, new Snapshot(timer.errors.sum(), timer.histogram.snapshot())));
+        return result;
+    }
+
+    /** errors 는 실패 수, latency 의 count 는 성공과 실패를 합친 호출 수 */
+    public record Snapshot(long errors, LatencyHistogram.Snapshot latency) {
+        public long count() {
+            return latency.count();
+        }
+
+        public Snapshot minus(Snapshot earlier) {
+            return new Snapshot(errors - earlier.errors, latency.minus(earlier.latency));
+        }
+    }
+
+    private static final class Timer {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,108 @@
+package infra;
+
+import model.BookmarkType;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link FileUtils#validateFileOrDirectory(String)} 를 전용 스레드 풀에서 실행하는 비동기 경로 검증기.
+ * 성공한 결과는 TTL 동안 캐시하고, 같은 경로에 대한 동시 요청은 하나의 검사로 합친다.
+ * 응답 없는 네트워크 드라이브는 timeout 후 실패로 끝나며 캐시하지 않는다. 그 드라이브의 검사가 끝날 때까지
+ * 같은 드라이브 아래 경로는 기다리지 않고 바로 실패한다({@link FileSystemExecutor}).
+ * 요청마다 결과가 나올 때까지의 시간을 {@code path.validate} 로 기록한다(캐시 적중 포함, 잘못된 경로는 실패로 셈).
+ */
+public class PathValidator {
+
+    private static final int MAX_CACHE_SIZE = 10_000;
+
+    private final FileSystemExecutor executor;
+    private final long ttlMillis;
+    private final long timeoutMillis;
+    private final OperationMetrics metrics;
+
+    private final Map<String, Cached> cache = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<BookmarkType>> inFlight = new ConcurrentHashMap<>();
+
+    private record Cached(BookmarkType type, long expiresAt) {}
+
+    public PathValidator(int threads, long ttlMillis, long timeoutMillis, OperationMetrics metrics) {
+        this.executor = new FileSystemExecutor("Path-Validator", threads, threads);
+        this.ttlMillis = ttlMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.metrics = metrics;
+    }
+
+    public CompletableFuture<BookmarkType> validateAsync(String path) {
+        return metrics.timeAsync("path.validate", () -> lookup(path));
+    }
+
+    private CompletableFuture<BookmarkType> lookup(String path) {
+        Cached cached = cache.get(path);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            return CompletableFuture.completedFuture(cached.type());
+        }
+
+        CompletableFuture<BookmarkType> created = new CompletableFuture<>();
+        CompletableFuture<BookmarkType> shared = inFlight.putIfAbsent(path, created);
+        if (shared == null) {
+            shared = created;
+            executor.submit(path, timeoutMillis, () -> FileUtils.validateFileOrDirectory(path))
+                    .whenComplete((type, ex) -> {
+                        inFlight.remove(path, created);
+                        if (type != null) {
+                            putCache(path, type);
+                            created.complete(type);
+                        } else {
+                            created.completeExceptionally(ex);
+                        }
+                    });
+        }
+        return shared.exceptionally(ex -> {
+            throw translate(path, ex);
+        });
+    }
+
+    /** 호출 스레드에서 결과를 기다리는 버전. UI 스레드에서는 사용하지 않는다. */
+    public BookmarkType validate(String path) {
+        try {
+            return validateAsync(path).join();
+        } catch (CompletionException e) {
+            throw translate(path, e);
+        }
+    }
+
+    public void invalidate(String path) {
+        cache.remove(path);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void putCache(String path, BookmarkType type) {
+        long now = System.currentTimeMillis();
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            cache.values().removeIf(c -> c.expiresAt() <= now);
+            if (cache.size() >= MAX_CACHE_SIZE) cache.clear();
+        }
+        cache.put(path, new Cached(type, now + ttlMillis));
+    }
+
+    private static RuntimeException translate(String path, Throwable ex) {
+        Throwable cause = ex;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof TimeoutException) {
+            return new RuntimeException("경로 확인 시간 초과: " + path);
+        }
+        if (cause instanceof RuntimeException re) {
+            return re;
+        }
+        return new RuntimeException("경로 확인 오류: " + cause.getMessage(), cause);
+    }
+}
@@ -0,0 +1,50 @@
+package infra;
+
+import java.util.Locale;
+
+/**
+ * 창 표시 한 번의 구간별 시간.
+ * 확장 쪽 시각(clickEpochMs, postedEpochMs)은 브라우저의 Date.now() 이고 같은 기기라 앱의 벽시계와 비교한다.
+ * 값이 없으면(트레이/IPC 로 연 경우 등) 0.
+ * <pre>
+ * page→bg   콘텐츠 스크립트 클릭 → 백그라운드가 네이티브 포트로 보냄
+ * bg→app    → 앱이 프레임을 다 읽음 (Chrome 파이프, 프레임 읽기)
+ * queue     → EDT 에서 실행 시작 (dispatch 대기 포함)
+ * prepare   → 지연 타이머 시작 (창 생성, 제안 목록 갱신)
+ * delay     → 타이머 실행 (z-order 경합 회피 대기)
+ * show      → toFront 완료
+ * </pre>
+ */
+public record PopupTrace(String source, long clickEpochMs, long postedEpochMs, long receivedEpochMs,
+                         long queueNanos, long prepareNanos, long delayNanos, long showNanos,
+                         long configuredDelayMs, Outcome outcome) {
+
+    public enum Outcome {
+        /** 표시 후 관찰 구간 동안 포커스를 유지 */
+        SHOWN,
+        /** 포커스를 얻었다가 다른 앱 창(파일 대화상자)에 뺏김 */
+        RACE,
+        /** 포커스를 얻지 못함 (OS 가 포커스 가로채기를 막는 경우 등, 지연 학습에 쓰지 않음) */
+        NO_FOCUS
+    }
+
+    /** 클릭(없으면 앱 수신)부터 toFront 까지 ms */
+    public double totalMillis() {
+        long start = clickEpochMs > 0 ? clickEpochMs : receivedEpochMs;
+        return receivedEpochMs - start + (queueNanos + prepareNanos + delayNanos + showNanos) / 1e6;
+    }
+
+    /** {@code 수신 시각 \t 경로 \t 결과 \t 설정 지연 \t 전체 \t page→bg \t bg→app \t queue \t prepare \t delay \t show} (ms, 모름은 -1) */
+    public String line() {
+        return receivedEpochMs + "\t" + source + "\t" + outcome + "\t" + configuredDelayMs
+                + "\t" + millis(totalMillis())
+                + "\t" + (clickEpochMs > 0 && postedEpochMs > 0 ? postedEpochMs - clickEpochMs : -1)
+                + "\t" + (postedEpochMs > 0 ? receivedEpochMs - postedEpochMs : -1)
+                + "\t" + millis(queueNanos / 1e6) + "\t" + millis(prepareNanos / 1e6)
+                + "\t" + millis(delayNanos / 1e6) + "\t" + millis(showNanos / 1e6);
+    }
+
+    private static String millis(double value) {
+        return String.format(Locale.ROOT, "%.1f", value);
+    }
+}
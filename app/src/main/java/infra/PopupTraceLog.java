@@ -0,0 +1,32 @@
+package infra;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** 최근 창 표시 기록을 고정 크기 링 버퍼에 보관 (가장 오래된 것부터 덮어씀) */
+public class PopupTraceLog {
+
+    private final PopupTrace[] traces;
+    private int next;
+    private int size;
+
+    public PopupTraceLog(int capacity) {
+        this.traces = new PopupTrace[capacity];
+    }
+
+    public synchronized void add(PopupTrace trace) {
+        traces[next] = trace;
+        next = (next + 1) % traces.length;
+        if (size < traces.length) size++;
+    }
+
+    /** 최신 순으로 최대 limit 건 */
+    public synchronized List<PopupTrace> recent(int limit) {
+        int count = Math.min(limit, size);
+        List<PopupTrace> result = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            result.add(traces[(next - i + traces.length) % traces.length]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,33 @@
+package infra;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * 시작 단계별 소요 시간 기록. 단계가 끝날 때 {@link #mark(String)} 를 부르면
+ * 직전 단계부터의 시간과 main 진입 이후 누적 시간을 로그로 남긴다.
+ */
+public final class StartupTimer {
+
+    private final long startNanos = System.nanoTime();
+    private long lastNanos = startNanos;
+
+    private final Logger logger = LoggerFactory.getLogger(StartupTimer.class);
+
+    /** JVM 프로세스 시작부터 main 진입까지 (알 수 없으면 -1) */
+    public long jvmMillis() {
+        return ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis()
+                        - (System.nanoTime() - startNanos) / 1_000_000)
+                .orElse(-1L);
+    }
+
+    public synchronized void mark(String phase) {
+        long now = System.nanoTime();
+        logger.info("startup {} - {}ms (누적 {}ms)", phase, (now - lastNanos) / 1_000_000, (now - startNanos) / 1_000_000);
+        lastNanos = now;
+    }
+}
@@ -0,0 +1,61 @@
+package ipc;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 단일 인스턴스 잠금. 잠금 파일에 OS 파일 잠금을 걸어 두며, 프로세스가 죽으면 OS 가 풀어 주므로
+ * 비정상 종료 뒤에도 남는 잠금이 없다. 프로세스가 끝날 때까지 참조를 유지해야 한다.
+ */
+public final class InstanceLock {
+
+    private final FileChannel channel;
+    private final FileLock lock;
+
+    private InstanceLock(FileChannel channel, FileLock lock) {
+        this.channel = channel;
+        this.lock = lock;
+    }
+
+    /** 잠금을 얻으면 반환, 다른 인스턴스가 쥐고 있으면 null */
+    public static InstanceLock tryAcquire(Path lockFile) {
+        FileChannel channel = null;
+        try {
+            Files.createDirectories(lockFile.getParent());
+            channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                channel.close();
+                return null;
+            }
+            return new InstanceLock(channel, lock);
+        } catch (OverlappingFileLockException e) {
+            closeQuietly(channel);
+            return null;
+        } catch (IOException e) {
+            closeQuietly(channel);
+            throw new RuntimeException("잠금 파일을 열 수 없습니다: " + lockFile, e);
+        }
+    }
+
+    public void release() {
+        try {
+            lock.release();
+        } catch (IOException ignored) {
+        }
+        closeQuietly(channel);
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) return;
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ipc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 실행 중인 인스턴스에 명령 하나를 보내고 응답을 기다리는 클라이언트.
+ * 연결/응답 전체에 timeout 을 적용하며, 시간을 넘기면 {@link SocketTimeoutException}.
+ * loopback TCP 로 붙으면 토큰 파일의 값을 명령 앞에 {@code AUTH} 줄로 보낸다 ({@link IpcEndpoint}).
+ */
+public final class IpcClient {
+
+    private IpcClient() {
+    }
+
+    /** 예: {@code call(endpoint, 3000, "ADD", "/tmp/a.txt")}. 인자에는 탭/줄바꿈을 쓸 수 없다 */
+    public static IpcResponse call(IpcEndpoint endpoint, long timeoutMillis, String command, String... args) throws IOException {
+        StringBuilder request = new StringBuilder(command);
+        for (String arg : args) {
+            if (arg.indexOf('\t') >= 0 || arg.indexOf('\n') >= 0 || arg.indexOf('\r') >= 0) {
+                throw new IllegalArgumentException("IPC 인자에 탭/줄바꿈을 쓸 수 없습니다: " + arg);
+            }
+            request.append('\t').append(arg);
+        }
+        request.append('\n');
+
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        try (SocketChannel channel = endpoint.connect(); Selector selector = Selector.open()) {
+            if (channel.getRemoteAddress() instanceof InetSocketAddress) {
+                String token = endpoint.readToken();
+                if (token != null) request.insert(0, IpcServer.AUTH + "\t" + token + "\n");
+            }
+            channel.configureBlocking(false);
+            SelectionKey key = channel.register(selector, SelectionKey.OP_WRITE);
+
+            ByteBuffer out = ByteBuffer.wrap(request.toString().getBytes(StandardCharsets.UTF_8));
+            while (out.hasRemaining()) {
+                channel.write(out);
+                if (out.hasRemaining()) await(selector, deadline);
+            }
+
+            key.interestOps(SelectionKey.OP_READ);
+            ResponseReader reader = new ResponseReader();
+            ByteBuffer in = ByteBuffer.allocate(8192);
+            while (true) {
+                int n = channel.read(in);
+                if (n < 0) throw new IOException("응답 전에 연결이 끊겼습니다.");
+                if (n == 0) {
+                    await(selector, deadline);
+                    continue;
+                }
+                in.flip();
+                IpcResponse response = reader.feed(in);
+                if (response != null) return response;
+                in.clear();
+            }
+        }
+    }
+
+    private static void await(Selector selector, long deadline) throws IOException {
+        long left = deadline - System.currentTimeMillis();
+        if (left <= 0 || selector.select(left) == 0 && System.currentTimeMillis() >= deadline) {
+            throw new SocketTimeoutException("IPC 응답 시간 초과");
+        }
+        selector.selectedKeys().clear();
+    }
+
+    /** 받은 바이트를 줄로 나눠 헤더와 결과 줄 수가 다 차면 응답을 만든다 */
+    private static final class ResponseReader {
+        private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        private final List<String> lines = new ArrayList<>();
+        private int expected = -1;
+
+        IpcResponse feed(ByteBuffer in) throws IOException {
+            while (in.hasRemaining()) {
+                byte b = in.get();
+                if (b != '\n') {
+                    line.write(b);
+                    continue;
+                }
+                String text = line.toString(StandardCharsets.UTF_8);
+                line.reset();
+                if (expected < 0) {
+                    if (text.startsWith("ERR\t")) return IpcResponse.error(text.substring(4));
+                    if (!text.startsWith("OK\t")) throw new IOException("잘못된 IPC 응답: " + text);
+                    try {
+                        expected = Integer.parseInt(text.substring(3));
+                    } catch (NumberFormatException e) {
+                        throw new IOException("잘못된 IPC 응답: " + text);
+                    }
+                } else {
+                    lines.add(text);
+                }
+                if (expected >= 0 && lines.size() == expected) return IpcResponse.ok(List.copyOf(lines));
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ipc;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * IPC 명령 처리기. selector 스레드에서 호출되므로 오래 걸리는 일은 future 로 넘겨야 한다.
+ * 이미 완료된 future 를 돌려주면 같은 select 주기 안에서 바로 응답한다.
+ * 예외(또는 예외로 끝난 future)는 {@code ERR} 응답이 된다.
+ */
+@FunctionalInterface
+public interface IpcCommand {
+    CompletableFuture<List<String>> handle(List<String> args);
+}
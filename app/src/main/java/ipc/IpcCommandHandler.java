@@ -0,0 +1,227 @@
+package ipc;
+
+import infra.LatencyHistogram;
+import infra.OperationMetrics;
+import infra.PopupTrace;
+import infra.PopupTraceLog;
+import model.Bookmark;
+import model.BookmarkGroup;
+import persistence.StoreMetrics;
+import service.bookmark.BookmarkBatch;
+import service.bookmark.BookmarkBatchResult;
+import service.bookmark.BookmarkService;
+import service.bookmark_group.BookmarkGroupService;
+import service.bookmark_search.BookmarkSearchIndex;
+import service.bookmark_search.SearchHit;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * IPC 명령 등록.
+ * <pre>
+ * PING                        → OK 0
+ * SHOW / HIDE                 → 창 표시 / 숨김
+ * ADD  path [groupId]         → 북마크 추가 (그룹 생략 시 첫 그룹). 결과 1줄
+ * IMPORT groupId name path... → 이름/경로 쌍을 배치로 추가 (빈 이름은 파일 이름). {@code 추가 수 \t 실패 수} 다음에 실패 사유 줄
+ * SEARCH query [limit]        → 검색 결과 줄
+ * LIST                        → {@code groupId \t name \t 북마크 수}
+ * EXPORT                      → 모든 북마크 줄 (그룹 순서대로)
+ * METRICS                     → 시작 이후 누적 지표 (시간은 µs)
+ *                               {@code op \t 이름 \t 호출 수 \t 실패 수 \t p50 \t p99 \t max \t 평균}
+ *                               {@code store \t 저장 연산 \t 커밋 수 \t 객체 수 \t 바이트 수}
+ *                               {@code flush \t 횟수 \t 항목 수 \t 합쳐진 요청 수 \t 평균 \t max}
+ * TRACES [limit]              → 최근 창 표시 구간별 시간, 최신 순 ({@link PopupTrace#line()})
+ * SHUTDOWN                    → 응답 후 앱 종료
+ * </pre>
+ * 북마크 줄 형식: {@code id \t groupId \t name \t path}
+ * 같은 명령을 CLI 직접 모드에서도 프로세스 안에서 그대로 호출한다.
+ */
+public class IpcCommandHandler {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 500;
+    private static final long SHUTDOWN_DELAY_MS = 50L; // 응답이 나갈 시간
+
+    private final BookmarkGroupService bookmarkGroupService;
+    private final BookmarkService bookmarkService;
+    private final BookmarkSearchIndex searchIndex;
+    private final OperationMetrics metrics;
+    private final StoreMetrics storeMetrics;
+    private final PopupTraceLog popupTraces;
+    private final Runnable showWindow;
+    private final Runnable hideWindow;
+    private final Runnable shutdown;
+
+    // 배치 추가(검증이 끝날 때까지 기다림)와 내보내기(목록을 저장소에서 읽음)는 selector 스레드 밖에서
+    private final ExecutorService batchExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "IPC-Batch");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public IpcCommandHandler(BookmarkGroupService bookmarkGroupService, BookmarkService bookmarkService,
+                             BookmarkSearchIndex searchIndex, OperationMetrics metrics, StoreMetrics storeMetrics,
+                             PopupTraceLog popupTraces, Runnable showWindow, Runnable hideWindow, Runnable shutdown) {
+        this.bookmarkGroupService = bookmarkGroupService;
+        this.bookmarkService = bookmarkService;
+        this.searchIndex = searchIndex;
+        this.metrics = metrics;
+        this.storeMetrics = storeMetrics;
+        this.popupTraces = popupTraces;
+        this.showWindow = showWindow;
+        this.hideWindow = hideWindow;
+        this.shutdown = shutdown;
+    }
+
+    /** 예: {@code register(ipcServer::on)} */
+    public void register(BiConsumer<String, IpcCommand> registry) {
+        registry.accept("PING", args -> done(List.of()));
+        registry.accept("SHOW", args -> {
+            showWindow.run();
+            return done(List.of());
+        });
+        registry.accept("HIDE", args -> {
+            hideWindow.run();
+            return done(List.of());
+        });
+        registry.accept("ADD", this::add);
+        registry.accept("IMPORT", this::importBatch);
+        registry.accept("SEARCH", this::search);
+        registry.accept("LIST", args -> done(listGroups()));
+        registry.accept("EXPORT", args -> CompletableFuture.supplyAsync(this::export, batchExecutor));
+        registry.accept("METRICS", args -> done(metricLines()));
+        registry.accept("TRACES", args -> {
+            int limit = args.isEmpty() ? DEFAULT_LIMIT : limitOf(args.get(0));
+            return done(popupTraces.recent(limit).stream().map(PopupTrace::line).toList());
+        });
+        registry.accept("SHUTDOWN", args -> {
+            CompletableFuture.delayedExecutor(SHUTDOWN_DELAY_MS, TimeUnit.MILLISECONDS).execute(shutdown);
+            return done(List.of());
+        });
+    }
+
+    /** 경로 검증은 검증 풀에서 하므로 selector 스레드는 기다리지 않는다 */
+    private CompletableFuture<List<String>> add(List<String> args) {
+        String path = arg(args, 0);
+        if (path == null) throw new RuntimeException("사용법: ADD path [groupId]");
+        long groupId = args.size() > 1 ? Long.parseLong(args.get(1)) : defaultGroupId();
+        return bookmarkService.createBookmarkAsync(groupId, displayNameOf(path), path)
+                .thenApply(bookmark -> List.of(line(bookmark)));
+    }
+
+    private CompletableFuture<List<String>> importBatch(List<String> args) {
+        if (args.isEmpty() || args.size() % 2 != 1) throw new RuntimeException("사용법: IMPORT groupId name path [name path...]");
+        long groupId = args.get(0).isBlank() ? defaultGroupId() : Long.parseLong(args.get(0));
+        BookmarkBatch batch = new BookmarkBatch();
+        for (int i = 1; i < args.size(); i += 2) {
+            String path = args.get(i + 1);
+            String name = args.get(i).isBlank() ? displayNameOf(path) : args.get(i);
+            batch.create(groupId, name, path);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            BookmarkBatchResult result = bookmarkService.applyBatch(batch);
+            List<String> lines = new ArrayList<>(1 + result.failures().size());
+            lines.add(result.created().size() + "\t" + result.failures().size());
+            lines.addAll(result.failures());
+            return lines;
+        }, batchExecutor);
+    }
+
+    private List<String> listGroups() {
+        List<String> lines = new ArrayList<>();
+        for (BookmarkGroup group : bookmarkGroupService.getBookmarkGroups()) {
+            lines.add(group.getId() + "\t" + field(group.getName()) + "\t" + group.getBookmarkCount());
+        }
+        return lines;
+    }
+
+    /** 불러오지 않았던 목록은 읽은 뒤 다시 내린다. 그 사이 삭제된 그룹은 건너뜀 */
+    private List<String> export() {
+        List<String> lines = new ArrayList<>();
+        for (BookmarkGroup group : bookmarkGroupService.getBookmarkGroups()) {
+            List<Bookmark> bookmarks;
+            try {
+                bookmarks = bookmarkGroupService.scanBookmarks(group.getId());
+            } catch (RuntimeException e) {
+                continue;
+            }
+            for (Bookmark bookmark : bookmarks) lines.add(line(bookmark));
+        }
+        return lines;
+    }
+
+    private List<String> metricLines() {
+        List<String> lines = new ArrayList<>();
+        metrics.snapshot().forEach((name, snapshot) -> {
+            LatencyHistogram.Snapshot latency = snapshot.latency();
+            lines.add("op\t" + name + "\t" + snapshot.count() + "\t" + snapshot.errors()
+                    + "\t" + micros(latency.percentileNanos(50)) + "\t" + micros(latency.percentileNanos(99))
+                    + "\t" + micros(latency.maxNanos()) + "\t" + micros((long) latency.meanNanos()));
+        });
+        storeMetrics.snapshot().forEach((operation, s) ->
+                lines.add("store\t" + operation + "\t" + s.calls() + "\t" + s.objects() + "\t" + s.bytes()));
+        StoreMetrics.FlushSnapshot flush = storeMetrics.flushSnapshot();
+        lines.add("flush\t" + flush.flushes() + "\t" + flush.entries() + "\t" + flush.coalesced()
+                + "\t" + micros(flush.flushes() == 0 ? 0 : flush.totalNanos() / flush.flushes()) + "\t" + micros(flush.maxNanos()));
+        return lines;
+    }
+
+    private CompletableFuture<List<String>> search(List<String> args) {
+        String query = arg(args, 0);
+        if (query == null) throw new RuntimeException("사용법: SEARCH query [limit]");
+        int limit = args.size() > 1 ? limitOf(args.get(1)) : DEFAULT_LIMIT;
+        List<String> lines = new ArrayList<>();
+        for (SearchHit hit : searchIndex.search(query, limit)) lines.add(line(hit.bookmark()));
+        return done(lines);
+    }
+
+    private long defaultGroupId() {
+        List<BookmarkGroup> groups = bookmarkGroupService.getBookmarkGroups();
+        if (groups.isEmpty()) throw new RuntimeException("그룹이 없습니다.");
+        return groups.get(0).getId();
+    }
+
+    static String line(Bookmark bookmark) {
+        return bookmark.getId() + "\t" + bookmark.getGroupId() + "\t"
+                + field(bookmark.getDisplayName()) + "\t" + field(bookmark.getPath());
+    }
+
+    private static String displayNameOf(String path) {
+        try {
+            Path fileName = Path.of(path).getFileName();
+            return fileName != null ? fileName.toString() : path;
+        } catch (InvalidPathException e) {
+            return path;
+        }
+    }
+
+    private static String arg(List<String> args, int index) {
+        if (args.size() <= index || args.get(index).isBlank()) return null;
+        return args.get(index);
+    }
+
+    /** 요청한 개수를 [0, MAX_LIMIT] 로 보정 */
+    private static int limitOf(String requested) {
+        return Math.max(0, Math.min(Integer.parseInt(requested), MAX_LIMIT));
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1_000;
+    }
+
+    private static String field(String s) {
+        return s == null ? "" : s.replace('\t', ' ');
+    }
+
+    private static CompletableFuture<List<String>> done(List<String> lines) {
+        return CompletableFuture.completedFuture(lines);
+    }
+}
@@ -0,0 +1,151 @@
+package ipc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.AclEntry;
+import java.nio.file.attribute.AclEntryPermission;
+import java.nio.file.attribute.AclEntryType;
+import java.nio.file.attribute.AclFileAttributeView;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.EnumSet;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * IPC 주소. 유닉스 도메인 소켓 파일을 우선 쓰고, 지원되지 않는 환경(구버전 Windows, 경로 길이 초과 등)에서는
+ * loopback TCP 포트로 대신한다. 서버가 TCP 로 떴으면 소켓 파일이 없으므로 클라이언트도 바로 TCP 로 붙는다.
+ *
+ * <p>loopback 포트는 같은 PC 의 다른 사용자도 붙을 수 있으므로, TCP 로 뜰 때는 소켓 파일 옆에 소유자만 읽을 수 있는
+ * 토큰 파일을 만든다. 클라이언트는 TCP 로 붙으면 토큰을 먼저 보내고, 토큰 없는 연결은 SHOW/PING 만 쓸 수 있다
+ * ({@link IpcServer}).</p>
+ */
+public final class IpcEndpoint {
+
+    private final Path socketFile;
+    private final Path tokenFile;
+    private final int tcpPort;
+    private volatile byte[] token; // TCP 로 떴을 때만
+
+    private static final Logger logger = LoggerFactory.getLogger(IpcEndpoint.class);
+
+    public IpcEndpoint(Path socketFile, int tcpPort) {
+        this.socketFile = socketFile;
+        this.tokenFile = socketFile.resolveSibling("app.token");
+        this.tcpPort = tcpPort;
+    }
+
+    /** 서버 소켓 생성. {@link InstanceLock} 을 쥔 쪽만 호출하므로 남아 있는 소켓 파일은 이전 실행의 찌꺼기다 */
+    ServerSocketChannel bind() throws IOException {
+        Files.createDirectories(socketFile.getParent());
+        Files.deleteIfExists(socketFile);
+        Files.deleteIfExists(tokenFile);
+        ServerSocketChannel channel = null;
+        try {
+            channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+            channel.bind(UnixDomainSocketAddress.of(socketFile));
+            return channel;
+        } catch (UnsupportedOperationException | IOException e) {
+            logger.warn("bind() - 유닉스 도메인 소켓 사용 불가, loopback TCP {} 로 대체: {}", tcpPort, e.toString());
+            if (channel != null) channel.close();
+            Files.deleteIfExists(socketFile);
+        }
+        channel = ServerSocketChannel.open();
+        try {
+            channel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), tcpPort));
+            writeToken();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return channel;
+    }
+
+    /** 서버 쪽: 이 주소로 들어온 연결이 토큰 없이도 모든 명령을 쓸 수 있는지 (유닉스 도메인 소켓) */
+    boolean trustsConnections() {
+        return token == null;
+    }
+
+    /** 서버 쪽: 연결이 보낸 토큰 확인 */
+    boolean acceptsToken(String candidate) {
+        byte[] expected = token;
+        return expected != null && candidate != null
+                && MessageDigest.isEqual(expected, candidate.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /** 클라이언트 쪽: TCP 로 붙었을 때 보낼 토큰. 파일이 없거나 읽을 수 없으면 null (SHOW 만 가능) */
+    String readToken() {
+        try {
+            return Files.readString(tokenFile, StandardCharsets.US_ASCII).trim();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.debug("readToken() - 토큰 파일을 읽지 못함: {}", tokenFile, e);
+            return null;
+        }
+    }
+
+    /** 실행 중인 인스턴스에 연결 (blocking 모드 채널) */
+    SocketChannel connect() throws IOException {
+        if (Files.exists(socketFile)) {
+            try {
+                return SocketChannel.open(UnixDomainSocketAddress.of(socketFile));
+            } catch (UnsupportedOperationException | IOException e) {
+                // 서버가 TCP 로 떠 있거나 파일이 남아 있는 경우
+            }
+        }
+        return SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), tcpPort));
+    }
+
+    void cleanup() {
+        try {
+            Files.deleteIfExists(socketFile);
+            Files.deleteIfExists(tokenFile);
+        } catch (IOException e) {
+            logger.debug("cleanup() - 소켓/토큰 파일 삭제 실패: {}", socketFile, e);
+        }
+    }
+
+    /** 빈 파일을 만들어 소유자만 접근하도록 권한을 좁힌 뒤에 토큰을 쓴다 */
+    private void writeToken() throws IOException {
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        String value = HexFormat.of().formatHex(random);
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(tokenFile, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+        } else {
+            Files.createFile(tokenFile);
+            AclFileAttributeView acl = Files.getFileAttributeView(tokenFile, AclFileAttributeView.class);
+            if (acl == null) {
+                Files.delete(tokenFile);
+                throw new IOException("토큰 파일 권한을 제한할 수 없습니다: " + tokenFile);
+            }
+            acl.setAcl(List.of(AclEntry.newBuilder()
+                    .setType(AclEntryType.ALLOW)
+                    .setPrincipal(Files.getOwner(tokenFile))
+                    .setPermissions(EnumSet.allOf(AclEntryPermission.class))
+                    .build()));
+        }
+        Files.writeString(tokenFile, value, StandardCharsets.US_ASCII);
+        token = value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public String toString() {
+        return socketFile + " | 127.0.0.1:" + tcpPort;
+    }
+}
@@ -0,0 +1,35 @@
+package ipc;
+
+import java.util.List;
+
+/**
+ * IPC 응답. 줄 단위 UTF-8 이며 요청과 같이 필드는 탭으로 나눈다.
+ * <pre>
+ * 요청: COMMAND[\targ...]\n
+ * 성공: OK\t&lt;줄 수&gt;\n 다음에 결과 줄
+ * 실패: ERR\t&lt;메시지&gt;\n
+ * </pre>
+ */
+public record IpcResponse(boolean ok, List<String> lines, String error) {
+
+    public static IpcResponse ok(List<String> lines) {
+        return new IpcResponse(true, lines, null);
+    }
+
+    public static IpcResponse error(String message) {
+        return new IpcResponse(false, List.of(), message);
+    }
+
+    String encode() {
+        StringBuilder sb = new StringBuilder(64);
+        if (!ok) return sb.append("ERR\t").append(singleLine(error)).append('\n').toString();
+        sb.append("OK\t").append(lines.size()).append('\n');
+        for (String line : lines) sb.append(singleLine(line)).append('\n');
+        return sb.toString();
+    }
+
+    private static String singleLine(String s) {
+        if (s == null) return "";
+        return s.indexOf('\n') < 0 && s.indexOf('\r') < 0 ? s : s.replace('\n', ' ').replace('\r', ' ');
+    }
+}
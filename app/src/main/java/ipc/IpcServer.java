@@ -0,0 +1,331 @@
+package ipc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * selector 하나로 모든 연결을 처리하는 IPC 서버 (스레드 "IPC-Server").
+ * 연결마다 요청을 순서대로 처리하며, 처리기가 아직 끝나지 않은 future 를 돌려주면 그 연결의 읽기를 멈췄다가
+ * 완료 시 응답을 보내고 이어서 처리한다. 유휴 연결은 idleTimeout 이 지나면 닫는다.
+ * 프로토콜은 {@link IpcResponse} 참고.
+ *
+ * <p>두 번째 실행이 연결을 거절당하지 않도록 단일 인스턴스 잠금을 얻자마자 {@link #start()} 로 주소를 열고,
+ * 저장소와 명령 등록이 끝나면 {@link #ready()} 를 부른다. 그 사이에 온 요청은 연결을 받아 둔 채 기다렸다가 처리한다.</p>
+ *
+ * <p>loopback TCP 로 뜬 경우 토큰({@code AUTH \t token} 줄, 응답 없음)을 보내지 않은 연결은
+ * SHOW/PING 만 쓸 수 있다 ({@link IpcEndpoint}).</p>
+ */
+public class IpcServer {
+
+    static final String AUTH = "AUTH";
+    // 토큰 없는 TCP 연결에 허용하는 명령 (두 번째 실행의 창 표시 요청)
+    private static final Set<String> OPEN_COMMANDS = Set.of("SHOW", "PING");
+    private static final int MAX_LINE = 64 * 1024;
+    private static final long SWEEP_INTERVAL_MS = 1_000L;
+
+    private final IpcEndpoint endpoint;
+    private final long idleTimeoutMillis;
+    private final Map<String, IpcCommand> commands = new ConcurrentHashMap<>();
+    // 비동기 처리 완료를 selector 스레드로 넘기는 큐
+    private final Queue<Runnable> completions = new ConcurrentLinkedQueue<>();
+    private final CompletableFuture<Void> ready = new CompletableFuture<>();
+
+    private Selector selector;
+    private ServerSocketChannel server;
+    private volatile boolean running;
+
+    private final Logger logger = LoggerFactory.getLogger(IpcServer.class);
+
+    /** 연결별 상태. selector 스레드만 만진다 */
+    private static final class Connection {
+        final SocketChannel channel;
+        ByteBuffer in = ByteBuffer.allocate(4096); // 긴 줄이면 MAX_LINE 까지 키움
+        final Queue<ByteBuffer> out = new ArrayDeque<>();
+        int scanned;        // in 에서 '\n' 을 이미 찾아본 위치
+        boolean busy;       // 응답을 기다리는 요청이 있음
+        boolean eof;        // 클라이언트가 쓰기를 닫음
+        boolean trusted;    // 모든 명령 허용 (유닉스 도메인 소켓 또는 토큰 확인됨)
+        long lastActive;
+
+        Connection(SocketChannel channel, boolean trusted, long now) {
+            this.channel = channel;
+            this.trusted = trusted;
+            this.lastActive = now;
+        }
+    }
+
+    public IpcServer(IpcEndpoint endpoint, long idleTimeoutMillis) {
+        this.endpoint = endpoint;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    /** 명령 등록 (대소문자 무시, 같은 이름은 마지막 등록이 유효) */
+    public void on(String command, IpcCommand handler) {
+        commands.put(command.toUpperCase(Locale.ROOT), handler);
+    }
+
+    public void start() throws IOException {
+        selector = Selector.open();
+        server = endpoint.bind();
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        // 데몬이 아님: 창/트레이가 없어도 상주 프로세스를 유지한다 (종료는 SHUTDOWN 또는 트레이 메뉴)
+        new Thread(this::loop, "IPC-Server").start();
+        logger.info("start() - {}", server.getLocalAddress());
+    }
+
+    /** 명령 등록이 끝남. 그때까지 받아 둔 요청을 처리하기 시작한다 */
+    public void ready() {
+        ready.complete(null);
+    }
+
+    public void close() {
+        running = false;
+        if (selector != null) selector.wakeup();
+    }
+
+    private void loop() {
+        long lastSweep = System.currentTimeMillis();
+        try {
+            while (running) {
+                selector.select(SWEEP_INTERVAL_MS);
+                Runnable completion;
+                while ((completion = completions.poll()) != null) completion.run();
+
+                var it = selector.selectedKeys().iterator();
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (!key.isValid()) continue;
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection c = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable()) read(c);
+                        if (key.isValid() && key.isWritable()) flush(c);
+                    } catch (IOException e) {
+                        close(c);
+                    }
+                }
+
+                long now = System.currentTimeMillis();
+                if (now - lastSweep >= SWEEP_INTERVAL_MS) {
+                    lastSweep = now;
+                    sweepIdle(now);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("loop() - selector 오류로 IPC 서버 중지", e);
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                try { key.channel().close(); } catch (IOException ignored) { }
+            }
+            try { selector.close(); } catch (IOException ignored) { }
+            endpoint.cleanup();
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = server.accept();
+        if (channel == null) return;
+        channel.configureBlocking(false);
+        channel.register(selector, SelectionKey.OP_READ, new Connection(channel, endpoint.trustsConnections(), System.currentTimeMillis()));
+    }
+
+    private void read(Connection c) throws IOException {
+        int n = c.channel.read(c.in);
+        if (n < 0) {
+            c.eof = true;
+        } else {
+            c.lastActive = System.currentTimeMillis();
+        }
+        processLines(c);
+        updateInterest(c);
+    }
+
+    /** 버퍼에 쌓인 완전한 줄을 순서대로 처리. 비동기 요청을 만나면 완료될 때까지 멈춘다 */
+    private void processLines(Connection c) {
+        ByteBuffer in = c.in;
+        byte[] buf = in.array();
+        while (!c.busy && c.channel.isOpen()) {
+            int end = -1;
+            for (int i = c.scanned; i < in.position(); i++) {
+                if (buf[i] == '\n') {
+                    end = i;
+                    break;
+                }
+            }
+            if (end < 0) {
+                c.scanned = in.position();
+                if (!in.hasRemaining()) growOrReject(c);
+                return;
+            }
+            int len = end > 0 && buf[end - 1] == '\r' ? end - 1 : end;
+            String line = new String(buf, 0, len, StandardCharsets.UTF_8);
+            int rest = in.position() - end - 1;
+            System.arraycopy(buf, end + 1, buf, 0, rest);
+            in.position(rest);
+            c.scanned = 0;
+            if (!line.isEmpty()) handle(c, line);
+        }
+    }
+
+    private void growOrReject(Connection c) {
+        ByteBuffer in = c.in;
+        if (in.capacity() >= MAX_LINE) {
+            // 끝없는 줄: 응답 후 연결 종료
+            in.clear();
+            c.scanned = 0;
+            c.eof = true;
+            reply(c, IpcResponse.error("요청이 너무 깁니다."));
+            return;
+        }
+        ByteBuffer bigger = ByteBuffer.allocate(Math.min(in.capacity() * 2, MAX_LINE));
+        in.flip();
+        bigger.put(in);
+        c.in = bigger;
+    }
+
+    private void handle(Connection c, String line) {
+        List<String> parts = Arrays.asList(line.split("\t", -1));
+        String name = parts.get(0).toUpperCase(Locale.ROOT);
+        if (name.equals(AUTH)) {
+            if (c.trusted || endpoint.acceptsToken(parts.size() > 1 ? parts.get(1) : null)) {
+                c.trusted = true;
+            } else {
+                c.in.clear(); // 뒤따르는 요청은 처리하지 않고 닫는다
+                c.scanned = 0;
+                c.eof = true;
+                reply(c, IpcResponse.error("인증 실패"));
+            }
+            return;
+        }
+        if (!c.trusted && !OPEN_COMMANDS.contains(name)) {
+            reply(c, IpcResponse.error("인증이 필요합니다: " + parts.get(0)));
+            return;
+        }
+        CompletableFuture<List<String>> result = ready.isDone()
+                ? dispatch(name, parts)
+                : ready.thenComposeAsync(v -> dispatch(name, parts), this::onSelectorThread);
+        if (result.isDone()) {
+            reply(c, toResponse(result));
+            return;
+        }
+        c.busy = true;
+        result.whenComplete((lines, ex) -> onSelectorThread(() -> {
+            c.busy = false;
+            if (!c.channel.isOpen()) return;
+            c.lastActive = System.currentTimeMillis();
+            reply(c, toResponse(result));
+            processLines(c);
+            updateInterest(c);
+        }));
+    }
+
+    /** 비동기 처리 완료 등을 selector 스레드에서 실행 */
+    private void onSelectorThread(Runnable task) {
+        completions.add(task);
+        selector.wakeup();
+    }
+
+    private CompletableFuture<List<String>> dispatch(String name, List<String> parts) {
+        IpcCommand command = commands.get(name);
+        if (command == null) {
+            return CompletableFuture.failedFuture(new RuntimeException("알 수 없는 명령: " + parts.get(0)));
+        }
+        try {
+            return command.handle(parts.subList(1, parts.size()));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /** 응답을 큐에 넣고 바로 보낼 수 있는 만큼 보낸다. interest 갱신은 호출한 쪽에서 한 번에 */
+    private void reply(Connection c, IpcResponse response) {
+        c.out.add(ByteBuffer.wrap(response.encode().getBytes(StandardCharsets.UTF_8)));
+        try {
+            write(c);
+        } catch (IOException e) {
+            close(c);
+        }
+    }
+
+    private void flush(Connection c) throws IOException {
+        write(c);
+        updateInterest(c);
+    }
+
+    /** 논블로킹으로 보낼 수 있는 만큼 보낸다. 남으면 OP_WRITE 로 이어서 */
+    private void write(Connection c) throws IOException {
+        while (!c.out.isEmpty()) {
+            ByteBuffer head = c.out.peek();
+            c.channel.write(head);
+            if (head.hasRemaining()) break;
+            c.out.poll();
+        }
+    }
+
+    private void updateInterest(Connection c) {
+        SelectionKey key = c.channel.keyFor(selector);
+        if (key == null || !key.isValid()) return;
+        if (c.eof && !c.busy && c.out.isEmpty()) {
+            close(c);
+            return;
+        }
+        int ops = 0;
+        if (!c.busy && !c.eof) ops |= SelectionKey.OP_READ;
+        if (!c.out.isEmpty()) ops |= SelectionKey.OP_WRITE;
+        key.interestOps(ops);
+    }
+
+    private void sweepIdle(long now) {
+        for (SelectionKey key : selector.keys()) {
+            if (!(key.attachment() instanceof Connection c)) continue;
+            // 처리 중인 요청은 처리기 쪽 타임아웃(경로 검증 등)에 맡긴다
+            if (!c.busy && now - c.lastActive > idleTimeoutMillis) close(c);
+        }
+    }
+
+    private void close(Connection c) {
+        try {
+            c.channel.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static IpcResponse toResponse(CompletableFuture<List<String>> result) {
+        try {
+            return IpcResponse.ok(result.join());
+        } catch (CompletionException | CancellationException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            return IpcResponse.error(messageOf(cause));
+        }
+    }
+
+    private static String messageOf(Throwable e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,97 @@
+package messaging;
+
+import model.Bookmark;
+import model.BookmarkGroup;
+import service.bookmark_group.BookmarkGroupService;
+import service.bookmark_search.BookmarkSearchIndex;
+import service.bookmark_search.SearchHit;
+import service.bookmark_usage.BookmarkUsageTracker;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 확장 프로그램의 질의(LIST_GROUPS / SEARCH / TOP_FOR_URL)에 응답한다.
+ * 그룹 목록(개수 포함), 검색 색인, 사용 기록에서만 읽으며 북마크는 색인의 사본을 쓰므로
+ * Lazy 목록을 불러오지 않는다 (저장소에 접근하지 않음).
+ * dispatch 풀에서 여러 질의가 동시에 돌 수 있으며, 읽는 대상은 모두 copy-on-write 이거나 자체 잠금을 쓴다.
+ */
+public class BookmarkQueryHandler {
+
+    private static final int DEFAULT_LIMIT = 20;
+    private static final int MAX_LIMIT = 100; // 응답이 1MB 프레임 한도를 넘지 않도록
+
+    private final NativeMessagingHost host;
+    private final BookmarkGroupService bookmarkGroupService;
+    private final BookmarkSearchIndex searchIndex;
+    private final BookmarkUsageTracker usageTracker;
+
+    public BookmarkQueryHandler(NativeMessagingHost host, BookmarkGroupService bookmarkGroupService,
+                                BookmarkSearchIndex searchIndex, BookmarkUsageTracker usageTracker) {
+        this.host = host;
+        this.bookmarkGroupService = bookmarkGroupService;
+        this.searchIndex = searchIndex;
+        this.usageTracker = usageTracker;
+    }
+
+    public void register() {
+        host.on(NativeMessage.ListGroups.class, this::listGroups);
+        host.on(NativeMessage.SearchBookmarks.class, this::search);
+        host.on(NativeMessage.TopForUrl.class, this::topForUrl);
+    }
+
+    private void listGroups(NativeMessage.ListGroups request) {
+        List<OutboundMessage.GroupInfo> groups = new ArrayList<>();
+        for (BookmarkGroup group : List.copyOf(bookmarkGroupService.getBookmarkGroups())) {
+            groups.add(new OutboundMessage.GroupInfo(group.getId(), group.getName(), group.getBookmarkCount()));
+        }
+        reply(request.id(), OutboundMessage.GroupList.of(request.id(), groups));
+    }
+
+    private void search(NativeMessage.SearchBookmarks request) {
+        if (request.query() == null || request.query().isBlank()) {
+            reply(request.id(), OutboundMessage.Error.of(request.id(), "query 가 비어 있습니다."));
+            return;
+        }
+        List<OutboundMessage.BookmarkInfo> items = new ArrayList<>();
+        for (SearchHit hit : searchIndex.search(request.query(), limitOf(request.limit()))) {
+            items.add(info(hit.bookmark(), hit.score()));
+        }
+        reply(request.id(), OutboundMessage.BookmarkList.of(request.id(), items));
+    }
+
+    private void topForUrl(NativeMessage.TopForUrl request) {
+        int limit = limitOf(request.limit());
+        List<OutboundMessage.BookmarkInfo> items = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        // 사이트에서 쓴 항목을 먼저, 남은 자리는 전체 frecency 순
+        for (List<BookmarkUsageTracker.Ranked> ranked : List.of(
+                usageTracker.suggestionsForUrl(request.url(), limit), usageTracker.top(limit))) {
+            for (BookmarkUsageTracker.Ranked r : ranked) {
+                if (items.size() >= limit) break;
+                if (!seen.add(r.bookmarkId())) continue;
+                // 색인에 없으면(삭제됨, 시작 직후 색인 중) 건너뜀
+                Optional<Bookmark> bookmark = searchIndex.find(r.bookmarkId());
+                bookmark.ifPresent(b -> items.add(info(b, r.score())));
+            }
+        }
+        reply(request.id(), OutboundMessage.BookmarkList.of(request.id(), items));
+    }
+
+    private void reply(long id, OutboundMessage response) {
+        // 한도 초과 등으로 못 보냈으면 최소한 실패는 알려 준다
+        if (!host.send(response)) host.send(OutboundMessage.Error.of(id, "응답을 보내지 못했습니다."));
+    }
+
+    private static OutboundMessage.BookmarkInfo info(Bookmark bookmark, double score) {
+        return new OutboundMessage.BookmarkInfo(bookmark.getId(), bookmark.getGroupId(),
+                bookmark.getDisplayName(), bookmark.getPath(), score);
+    }
+
+    private static int limitOf(int requested) {
+        return requested <= 0 ? DEFAULT_LIMIT : Math.min(requested, MAX_LIMIT);
+    }
+}
@@ -0,0 +1,40 @@
+package messaging;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * 확장 프로그램 → 앱 메시지. 프레임 하나를 {@link Envelope} 로 한 번에 읽은 뒤 type 별 레코드로 바꾼다.
+ */
+public sealed interface NativeMessage {
+
+    /** 파일 선택 대화상자가 열리려 함. clickTs 는 페이지에서 클릭한 시각, ts 는 백그라운드가 보낸 시각 (epoch ms) */
+    record FileDialogOpening(String url, long ts, long clickTs) implements NativeMessage {}
+
+    /** 질의: 그룹 목록. 응답은 같은 id 로 돌려준다 */
+    record ListGroups(long id) implements NativeMessage {}
+
+    /** 질의: 북마크 검색 */
+    record SearchBookmarks(long id, String query, int limit) implements NativeMessage {}
+
+    /** 질의: 해당 URL 의 사이트에서 자주 쓴 북마크 (부족하면 전체 frecency 로 채움) */
+    record TopForUrl(long id, String url, int limit) implements NativeMessage {}
+
+    /** 처리기가 없는 type (로그만 남김) */
+    record Unknown(String type) implements NativeMessage {}
+
+    /** 수신 프레임의 모든 필드를 담는 평면 구조. 없는 필드는 null/0 */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    record Envelope(String type, long id, String url, long ts, long clickTs, String query, int limit) {
+
+        NativeMessage toMessage() {
+            if (type == null) return new Unknown(null);
+            return switch (type) {
+                case "FILE_DIALOG_OPENING" -> new FileDialogOpening(url, ts, clickTs);
+                case "LIST_GROUPS" -> new ListGroups(id);
+                case "SEARCH" -> new SearchBookmarks(id, query, limit);
+                case "TOP_FOR_URL" -> new TopForUrl(id, url, limit);
+                default -> new Unknown(type);
+            };
+        }
+    }
+}
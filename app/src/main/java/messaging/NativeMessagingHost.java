@@ -0,0 +1,217 @@
+package messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import infra.OperationMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Chrome 네이티브 메시징 호스트.
+ * 프레임은 4바이트 길이(리틀 엔디안) + UTF-8 JSON 이며, 한 프레임은 {@link #MAX_FRAME} 를 넘을 수 없다.
+ * <ul>
+ *   <li>수신: stdin 스레드는 재사용 버퍼에 프레임을 읽고 미리 만든 reader 로 {@link NativeMessage} 로 바꾼 뒤
+ *       처리기 실행은 dispatch 풀로 넘긴다. 느린 처리기가 다음 프레임 읽기도, 뒤에 온 질의도 막지 않으며
+ *       질의 응답은 요청 id 로 짝을 맞추므로 끝나는 순서대로 보낸다.</li>
+ *   <li>송신: {@link #send(OutboundMessage)} 는 직렬화 후 큐에 넣기만 하고, writer 스레드가 stdout 으로 내보낸다.
+ *       큐가 가득 차면 버리고 false 를 돌려준다.</li>
+ * </ul>
+ * 메시지마다 프레임을 읽은 시점부터 처리기가 끝날 때까지(dispatch 대기 포함)를 {@code native.타입} 으로 기록한다.
+ */
+public class NativeMessagingHost {
+
+    /** Chrome 이 허용하는 호스트 → 확장 최대 크기. 수신도 같은 한도로 제한 */
+    public static final int MAX_FRAME = 1024 * 1024;
+
+    private static final int OUTBOUND_CAPACITY = 256;
+    private static final byte[] POISON = new byte[0];
+
+    private final InputStream in;
+    private final OutputStream out;
+    private final ObjectReader reader;
+    private final ObjectWriter writer;
+    private final OperationMetrics metrics;
+
+    private final Map<Class<?>, ObjLongConsumer<NativeMessage>> handlers = new ConcurrentHashMap<>();
+    private final BlockingQueue<byte[]> outbound = new ArrayBlockingQueue<>(OUTBOUND_CAPACITY);
+    private final ExecutorService dispatcher;
+
+    // stdin 스레드 전용 재사용 버퍼
+    private final byte[] header = new byte[4];
+    private byte[] frame = new byte[4096];
+
+    private final Logger logger = LoggerFactory.getLogger(NativeMessagingHost.class);
+
+    public NativeMessagingHost(InputStream in, OutputStream out, OperationMetrics metrics, int dispatchThreads) {
+        ObjectMapper mapper = new ObjectMapper();
+        AtomicInteger seq = new AtomicInteger();
+        this.in = in;
+        this.out = out;
+        this.metrics = metrics;
+        this.dispatcher = Executors.newFixedThreadPool(dispatchThreads,
+                r -> daemon(r, "NativeMsg-Dispatch-" + seq.incrementAndGet()));
+        this.reader = mapper.readerFor(NativeMessage.Envelope.class);
+        this.writer = mapper.writer();
+    }
+
+    /**
+     * 실제 stdin/stdout 을 쓰는 호스트. stdout 은 프레임 전용이므로
+     * 이후 System.out 출력(로그 등)은 stderr 로 돌린다.
+     */
+    public static NativeMessagingHost stdio(OperationMetrics metrics, int dispatchThreads) {
+        OutputStream rawOut = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 64 * 1024);
+        System.setOut(new PrintStream(new FileOutputStream(FileDescriptor.err), true));
+        return new NativeMessagingHost(new FileInputStream(FileDescriptor.in), rawOut, metrics, dispatchThreads);
+    }
+
+    /** type 별 처리기 등록 (같은 type 은 마지막 등록이 유효). dispatch 풀에서 호출되므로 여러 메시지가 동시에 처리될 수 있다 */
+    public <T extends NativeMessage> void on(Class<T> type, Consumer<? super T> handler) {
+        onReceived(type, (message, receivedAt) -> handler.accept(message));
+    }
+
+    /** {@link #on} 과 같되 처리기가 프레임을 다 읽은 시점(nanoTime)도 받는다 (dispatch 대기를 지연에 넣을 때) */
+    @SuppressWarnings("unchecked")
+    public <T extends NativeMessage> void onReceived(Class<T> type, ObjLongConsumer<? super T> handler) {
+        handlers.put(type, (message, receivedAt) -> handler.accept((T) message, receivedAt));
+    }
+
+    /** 송신 스레드 시작 */
+    public void start() {
+        Thread t = new Thread(this::writeLoop, "NativeMsg-Writer");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** 직렬화 후 송신 큐에 넣음. 한도 초과 또는 큐가 가득 차면 false */
+    public boolean send(OutboundMessage message) {
+        byte[] json;
+        try {
+            json = writer.writeValueAsBytes(message);
+        } catch (IOException e) {
+            logger.error("send() - 직렬화 실패: {}", message, e);
+            return false;
+        }
+        if (json.length > MAX_FRAME) {
+            logger.warn("send() - {} 바이트로 한도 초과, 버림", json.length);
+            return false;
+        }
+        if (!outbound.offer(json)) {
+            logger.warn("send() - 송신 큐가 가득 차 버림");
+            return false;
+        }
+        return true;
+    }
+
+    /** stdin 이 닫힐 때까지 읽는다(호출 스레드를 점유). 끝나면 송신 큐를 비우고 돌아온다 */
+    public void run() {
+        try {
+            while (true) {
+                int len = readLength();
+                if (len < 0) throw new IOException("잘못된 프레임 길이: " + Integer.toUnsignedString(len));
+                if (len == 0) continue;
+                if (len > MAX_FRAME) {
+                    logger.warn("run() - {} 바이트 프레임은 한도 초과, 건너뜀", len);
+                    in.skipNBytes(len);
+                    continue;
+                }
+                if (len > frame.length) frame = new byte[Math.max(len, Math.min(frame.length * 2, MAX_FRAME))];
+                readFully(frame, len);
+
+                long receivedAt = System.nanoTime();
+                NativeMessage message;
+                try {
+                    NativeMessage.Envelope envelope = reader.readValue(frame, 0, len);
+                    message = envelope.toMessage();
+                } catch (IOException e) {
+                    logger.warn("run() - 잘못된 JSON 프레임 무시: {}", e.getMessage());
+                    continue;
+                }
+                dispatcher.execute(() -> dispatch(message, receivedAt));
+            }
+        } catch (EOFException eof) {
+            // 정상 종료 (브라우저가 파이프를 닫음)
+        } catch (IOException e) {
+            logger.error("run() - stdin 읽기 실패", e);
+        } finally {
+            dispatcher.shutdown();
+            outbound.offer(POISON);
+        }
+    }
+
+    private void dispatch(NativeMessage message, long receivedAt) {
+        ObjLongConsumer<NativeMessage> handler = handlers.get(message.getClass());
+        if (handler == null) {
+            logger.debug("dispatch() - 처리기 없음: {}", message);
+            return;
+        }
+        boolean ok = false;
+        try {
+            handler.accept(message, receivedAt);
+            ok = true;
+        } catch (RuntimeException e) {
+            logger.error("dispatch() - 처리 실패: {}", message, e);
+        } finally {
+            metrics.record("native." + message.getClass().getSimpleName(), System.nanoTime() - receivedAt, ok);
+        }
+    }
+
+    private int readLength() throws IOException {
+        readFully(header, 4);
+        return (header[0] & 0xFF) | (header[1] & 0xFF) << 8 | (header[2] & 0xFF) << 16 | (header[3] & 0xFF) << 24;
+    }
+
+    private void readFully(byte[] buf, int len) throws IOException {
+        int n = in.readNBytes(buf, 0, len);
+        if (n < len) throw new EOFException();
+    }
+
+    private void writeLoop() {
+        byte[] prefix = new byte[4];
+        try {
+            while (true) {
+                byte[] json = outbound.take();
+                if (json == POISON) break;
+                int len = json.length;
+                prefix[0] = (byte) len;
+                prefix[1] = (byte) (len >>> 8);
+                prefix[2] = (byte) (len >>> 16);
+                prefix[3] = (byte) (len >>> 24);
+                out.write(prefix);
+                out.write(json);
+                // 큐에 더 있으면 모아서 한 번에 flush
+                if (outbound.isEmpty()) out.flush();
+            }
+            out.flush();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            logger.error("writeLoop() - stdout 쓰기 실패", e);
+        }
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+}
@@ -0,0 +1,41 @@
+package messaging;
+
+import java.util.List;
+
+/**
+ * 앱 → 확장 프로그램 메시지. 레코드 필드가 그대로 JSON 필드가 된다.
+ * 질의 응답은 요청의 id 를 그대로 담아, 확장 프로그램이 여러 질의를 동시에 보내도 짝을 맞출 수 있게 한다.
+ */
+public sealed interface OutboundMessage {
+
+    record AppReady(String type, long timestamp) implements OutboundMessage {
+        public static AppReady now() {
+            return new AppReady("APP_READY", System.currentTimeMillis());
+        }
+    }
+
+    record GroupInfo(long id, String name, int bookmarkCount) {}
+
+    record BookmarkInfo(long id, long groupId, String name, String path, double score) {}
+
+    /** LIST_GROUPS 응답 */
+    record GroupList(String type, long id, List<GroupInfo> groups) implements OutboundMessage {
+        public static GroupList of(long id, List<GroupInfo> groups) {
+            return new GroupList("GROUPS", id, groups);
+        }
+    }
+
+    /** SEARCH / TOP_FOR_URL 응답 */
+    record BookmarkList(String type, long id, List<BookmarkInfo> bookmarks) implements OutboundMessage {
+        public static BookmarkList of(long id, List<BookmarkInfo> bookmarks) {
+            return new BookmarkList("BOOKMARKS", id, bookmarks);
+        }
+    }
+
+    /** 질의 실패 */
+    record Error(String type, long id, String message) implements OutboundMessage {
+        public static Error of(long id, String message) {
+            return new Error("ERROR", id, message);
+        }
+    }
+}
@@ -1,13 +1,15 @@
 package model;
 
-import service.bookmark.BookmarkRepository;
-
+/**
+ * 북마크. 한 번 만든 뒤에는 바뀌지 않는다. 수정/이동은 새 인스턴스를 만들어 저장 계층이 그룹 목록에서 갈아 끼우므로
+ * 목록과 마찬가지로 읽는 쪽은 잠금 없이 언제나 온전한 값을 본다.
+ */
 public class Bookmark {
-    private long id;
-    private long groupId;
-    private String displayName;
-    private String path; // .lnk 절대 경로 or 실제 경로
-    private BookmarkType targetType;
+    private final long id;
+    private final long groupId;
+    private final String displayName;
+    private final String path; // .lnk 절대 경로 or 실제 경로
+    private final BookmarkType targetType;
 
     public Bookmark(long id, long groupId, String displayName, String path, BookmarkType targetType) {
         this.id = id;
@@ -37,9 +39,13 @@ public class Bookmark {
         return targetType;
     }
 
-    public void update(String displayName, String path, BookmarkType targetType) {
-        this.displayName = displayName;
-        this.path = path;
-        this.targetType = targetType;
+    /** 이름/경로/종류를 바꾼 새 북마크 */
+    public Bookmark withDetails(String displayName, String path, BookmarkType targetType) {
+        return new Bookmark(id, groupId, displayName, path, targetType);
+    }
+
+    /** groupId 만 바꾼 새 북마크 */
+    public Bookmark movedTo(long groupId) {
+        return new Bookmark(id, groupId, displayName, path, targetType);
     }
 }
@@ -1,12 +1,33 @@
 package model;
 
+import one.microstream.reference.Lazy;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
+import java.util.function.LongConsumer;
 
+/**
+ * 북마크 그룹. 북마크 목록은 MicroStream {@link Lazy} 로 감싸 그룹을 처음 펼치거나 조회할 때 불러오며,
+ * 목록을 불러오지 않아도 개수는 {@link #getBookmarkCount()} 로 알 수 있다.
+ *
+ * <p>목록은 copy-on-write 로 바꾼다. 변경은 새 목록을 만들어 새 Lazy 로 한 번에 갈아 끼우고, 한 번 내보낸 목록은
+ * 다시 바뀌지 않는다. 그래서 읽는 쪽(EDT, 검색 색인, 저장 스레드)은 잠금 없이 언제나 온전한 목록을 본다.
+ * 변경 메서드는 저장 계층이 쓰기 잠금을 쥔 채 호출하며, 바뀐 그룹을 저장하면 새 목록도 함께 저장된다.</p>
+ *
+ * <p>목록 밖에 (Lazy 없이) 함께 저장하는 것은 개수와 북마크 id 뿐이다. 저장소를 열 때 이름/경로 문자열은 읽지 않고,
+ * id 로 소유 그룹을 찾는 데만 쓴다. 이름/경로가 필요한 배경 작업은 목록을 그룹 하나씩 읽는다.</p>
+ */
 public class BookmarkGroup {
     private long id;
-    private String name;
-    private final List<Bookmark> bookmarks = new ArrayList<>();
+    private volatile String name;
+    // 이전 버전 저장소의 목록. 처음 열 때 migrateLegacyBookmarks() 로 lazyBookmarks 에 옮기고 비운다
+    private List<Bookmark> bookmarks;
+    private volatile Lazy<List<Bookmark>> lazyBookmarks = Lazy.Reference(new ArrayList<>());
+    private volatile int bookmarkCount;
+    // 목록의 북마크 id (같은 순서). 이전 버전 저장소에서 읽은 그룹은 null. 처음 열 때 migrateBookmarkIds() 로 만든다
+    private volatile long[] bookmarkIds = new long[0];
 
     public BookmarkGroup() {}
 
@@ -24,18 +45,118 @@ public class BookmarkGroup {
     }
 
     public void include(Bookmark bookmark) {
-        bookmarks.add(bookmark);
+        List<Bookmark> list = copy();
+        list.add(bookmark);
+        publish(list);
+    }
+
+    /** index 는 [0, size] 범위로 보정된다. */
+    public void include(int index, Bookmark bookmark) {
+        List<Bookmark> list = copy();
+        list.add(Math.max(0, Math.min(index, list.size())), bookmark);
+        publish(list);
+    }
+
+    public boolean excludeAll(Set<Long> ids) {
+        List<Bookmark> list = copy();
+        boolean removed = list.removeIf(bookmark -> ids.contains(bookmark.getId()));
+        if (removed) publish(list);
+        return removed;
     }
 
     public boolean exclude(long id) {
-        return bookmarks.removeIf(bookmark -> bookmark.getId() == id);
+        List<Bookmark> list = copy();
+        boolean removed = list.removeIf(bookmark -> bookmark.getId() == id);
+        if (removed) publish(list);
+        return removed;
+    }
+
+    /** 같은 id 의 북마크를 새 인스턴스로 갈아 끼운다 (위치 유지). 없는 id 면 false */
+    public boolean replace(Bookmark bookmark) {
+        List<Bookmark> list = copy();
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i).getId() != bookmark.getId()) continue;
+            list.set(i, bookmark);
+            publish(list);
+            return true;
+        }
+        return false;
     }
 
+    /** 북마크를 같은 그룹의 toIndex 로 옮긴다 ([0, size-1] 로 보정). 없는 id 면 false */
+    public boolean reorder(long id, int toIndex) {
+        List<Bookmark> list = copy();
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i).getId() != id) continue;
+            Bookmark bookmark = list.remove(i);
+            list.add(Math.max(0, Math.min(toIndex, list.size())), bookmark);
+            publish(list);
+            return true;
+        }
+        return false;
+    }
+
+    /** 목록을 불러오지 않았으면 여기서 저장소에서 읽는다. 읽기 전용이며 이후 변경이 반영되지 않는 스냅샷이다 */
     public List<Bookmark> getBookmarks() {
-        return bookmarks;
+        return Collections.unmodifiableList(Lazy.get(lazyBookmarks));
+    }
+
+    /** 목록을 불러오지 않고 아는 북마크 수 */
+    public int getBookmarkCount() {
+        List<Bookmark> loaded = Lazy.peek(lazyBookmarks);
+        return loaded != null ? loaded.size() : bookmarkCount;
+    }
+
+    /** 목록을 불러오지 않고 북마크 id 를 목록 순서대로 */
+    public void forEachBookmarkId(LongConsumer action) {
+        for (long id : bookmarkIds) action.accept(id);
+    }
+
+    public boolean isBookmarksLoaded() {
+        return Lazy.isLoaded(lazyBookmarks);
+    }
+
+    /** 저장 계층 전용 (불러오기 상태 확인, 비우기) */
+    public Lazy<List<Bookmark>> bookmarksReference() {
+        return lazyBookmarks;
+    }
+
+    /** 이전 버전에서 읽은 그룹이면 목록을 Lazy 로 옮기고 true (호출한 쪽이 그룹을 저장해야 함) */
+    public boolean migrateLegacyBookmarks() {
+        if (lazyBookmarks != null) return false;
+        List<Bookmark> legacy = bookmarks != null ? bookmarks : new ArrayList<>();
+        bookmarkCount = legacy.size();
+        bookmarkIds = idsOf(legacy);
+        lazyBookmarks = Lazy.Reference(legacy);
+        bookmarks = null;
+        return true;
+    }
+
+    /** 북마크 id 가 없던 저장소에서 읽은 그룹이면 목록을 한 번 불러와 만들고 true (호출한 쪽이 그룹을 저장해야 함) */
+    public boolean migrateBookmarkIds() {
+        if (bookmarkIds != null) return false;
+        bookmarkIds = idsOf(Lazy.get(lazyBookmarks));
+        return true;
     }
 
     public String getName() {
         return name;
     }
+
+    private List<Bookmark> copy() {
+        return new ArrayList<>(Lazy.get(lazyBookmarks));
+    }
+
+    /** 개수와 id 를 먼저 바꾸고 목록을 갈아 끼운다 (목록을 못 본 쪽도 개수는 맞게) */
+    private void publish(List<Bookmark> list) {
+        bookmarkCount = list.size();
+        bookmarkIds = idsOf(list);
+        lazyBookmarks = Lazy.Reference(list);
+    }
+
+    private static long[] idsOf(List<Bookmark> list) {
+        long[] ids = new long[list.size()];
+        for (int i = 0; i < ids.length; i++) ids[i] = list.get(i).getId();
+        return ids;
+    }
 }
@@ -0,0 +1,5 @@
+package model;
+
+public enum HealthStatus {
+    OK, MISSING, TYPE_CHANGED, UNREACHABLE
+}
@@ -1,43 +1,63 @@
 package persistence;
 
+import model.Bookmark;
 import model.BookmarkGroup;
-import one.microstream.storage.types.StorageManager;
+import one.microstream.reference.Lazy;
 import service.bookmark_group.BookmarkGroupRepository;
-import one.microstream.storage.embedded.types.EmbeddedStorageManager;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class BookmarkGroupMicroStreamRepository implements BookmarkGroupRepository {
 
     private final RootData root;
-    private final StorageManager storage;
+    private final RootIndex index;
+    private final PersistenceWriter writer;
+    private final ReentrantLock lock;
 
-    public BookmarkGroupMicroStreamRepository(RootData root, EmbeddedStorageManager storage) {
+    public BookmarkGroupMicroStreamRepository(RootData root, RootIndex index, PersistenceWriter writer) {
         this.root = root;
-        this.storage = storage;
+        this.index = index;
+        this.writer = writer;
+        this.lock = index.writeLock();
     }
 
     @Override
     public BookmarkGroup save(BookmarkGroup bookmarkGroup) {
-        root.groups().add(bookmarkGroup);
-        storage.store(root.groups());
-        //persistExec.execute(() -> storage.store(root.groups()));
-        return bookmarkGroup;
+        lock.lock();
+        try {
+            List<BookmarkGroup> groups = new ArrayList<>(root.groups());
+            groups.add(bookmarkGroup);
+            root.replaceGroups(groups);
+            index.putGroup(bookmarkGroup);
+            writer.store("group.save", root);                             // 루트와 새 그룹 목록
+            return bookmarkGroup;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public Optional<BookmarkGroup> findById(long id) {
-        return root.groups().stream()
-                .filter(group -> group.getId() == id)
-                .findFirst();
+        return Optional.ofNullable(index.group(id));
     }
 
     @Override
-    public BookmarkGroup update(BookmarkGroup bookmarkGroup) {
-        storage.store(bookmarkGroup);
-        //persistExec.execute(() -> storage.store(g));
-        return bookmarkGroup;
+    public BookmarkGroup rename(long id, String name) {
+        lock.lock();
+        try {
+            BookmarkGroup bookmarkGroup = index.group(id);
+            if (bookmarkGroup == null) {
+                throw new RuntimeException("해당 그룹이 존재하지 않습니다.");
+            }
+            bookmarkGroup.rename(name);
+            writer.store("group.rename", bookmarkGroup);
+            return bookmarkGroup;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
@@ -47,15 +67,68 @@ public class BookmarkGroupMicroStreamRepository implements BookmarkGroupReposito
 
     @Override
     public void deleteById(long id) {
-        boolean removed = root.groups().removeIf(bookmarkGroup -> bookmarkGroup.getId() == id);
+        lock.lock();
+        try {
+            BookmarkGroup bookmarkGroup = index.group(id);
+            List<BookmarkGroup> groups = new ArrayList<>(root.groups());
+            boolean removed = bookmarkGroup != null && groups.remove(bookmarkGroup);
 
-        if (!removed) {
-            throw new RuntimeException("BookmarkGroup not found: " + id);
+            if (!removed) {
+                throw new RuntimeException("BookmarkGroup not found: " + id);
+            }
+            root.replaceGroups(groups);
+            index.removeGroup(bookmarkGroup);
+            writer.store("group.delete", root);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 지금 순서를 읽는 것부터 저장까지 쓰기 잠금 안에서 하므로 동시에 들어온 순서 변경도 차례로 반영되고
+     * 서로를 덮지 않는다. 위치가 같으면 저장하지 않는다
+     */
+    @Override
+    public void reorder(long id, int toIndex) {
+        lock.lock();
+        try {
+            List<BookmarkGroup> groups = new ArrayList<>(root.groups());
+            int fromIndex = -1;
+            for (int i = 0; i < groups.size(); i++) {
+                if (groups.get(i).getId() == id) {
+                    fromIndex = i;
+                    break;
+                }
+            }
+            if (fromIndex < 0) {
+                throw new RuntimeException("unknown groupId: " + id);
+            }
+            if (toIndex < 0 || toIndex >= groups.size()) {
+                throw new RuntimeException("잘못된 위치: " + toIndex + " (그룹 " + groups.size() + "개)");
+            }
+            if (fromIndex == toIndex) return;
+            groups.add(toIndex, groups.remove(fromIndex));
+            root.replaceGroups(groups);
+            writer.store("group.reorder", root);
+        } finally {
+            lock.unlock();
         }
-        storage.store(root.groups());
     }
 
-    public void saveAll(List<BookmarkGroup> bookmarkGroups) {
-        storage.store(bookmarkGroups);
+    /**
+     * 이미 불러온 목록은 그대로 돌려준다. 아니면 불러와 돌려주고, 그 사이 색인하거나 바꾼 쪽이 없으면
+     * {@link BookmarkListUnloader} 처럼 다시 내린다 (검색 색인/상태 점검/파일 감시가 목록을 붙잡아 두지 않도록)
+     */
+    @Override
+    public List<Bookmark> scanBookmarks(long id) {
+        BookmarkGroup group = index.group(id);
+        if (group == null) {
+            throw new RuntimeException("BookmarkGroup not found: " + id);
+        }
+        Lazy<List<Bookmark>> ref = group.bookmarksReference();
+        if (ref.peek() != null) return group.getBookmarks();
+        List<Bookmark> bookmarks = group.getBookmarks();
+        ref.clear(lazy -> lazy.isStored() && !index.isIndexed(group) && !writer.isPending(group));
+        return bookmarks;
     }
 }
@@ -0,0 +1,78 @@
+package persistence;
+
+import model.Bookmark;
+import model.BookmarkGroup;
+import one.microstream.reference.Lazy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한동안 쓰지 않은 그룹의 북마크 목록을 메모리에서 내린다 (다음 접근 때 저장소에서 다시 읽음).
+ * 아직 내려쓰지 않은 그룹의 목록은 바뀐 내용을 잃으므로 건너뛰고, 내리기 전에 {@link RootIndex} 색인에서 뺀다.
+ * 색인이나 화면이 같은 북마크 객체를 아직 들고 있으면 MicroStream 이 다시 읽을 때 그 객체를 그대로 쓴다.
+ */
+public class BookmarkListUnloader {
+
+    private final RootData root;
+    private final RootIndex index;
+    private final PersistenceWriter writer;
+    private final long idleMillis;
+    private final long checkIntervalMillis;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "Lazy-Unloader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Logger logger = LoggerFactory.getLogger(BookmarkListUnloader.class);
+
+    public BookmarkListUnloader(RootData root, RootIndex index, PersistenceWriter writer,
+                                long idleMillis, long checkIntervalMillis) {
+        this.root = root;
+        this.index = index;
+        this.writer = writer;
+        this.idleMillis = idleMillis;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::unloadIdle, checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /** 내린 목록 수 */
+    public int unloadIdle() {
+        long now = System.currentTimeMillis();
+        int unloaded = 0;
+        try {
+            for (BookmarkGroup group : root.groups()) {
+                Lazy<List<Bookmark>> ref = group.bookmarksReference();
+                if (!isIdle(group, ref, now)) continue;
+                index.unindexGroup(group);
+                // clear 는 Lazy 에 대해 동기화되어 있으므로 그 사이 다시 쓰였으면 여기서 걸러진다.
+                // 그 사이 목록이 새 Lazy 로 바뀌었으면 옛 Lazy 를 비우는 것이라 영향이 없다
+                if (ref.clear(lazy -> isIdle(group, lazy, now))) unloaded++;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("unloadIdle() - 실패: {}", e.toString());
+        }
+        if (unloaded > 0) logger.debug("unloadIdle() - 그룹 목록 {}개 내림", unloaded);
+        return unloaded;
+    }
+
+    /** 목록은 그룹을 저장할 때 함께 내려가므로 그룹이 저장 대기 중이면 건너뛴다 */
+    private boolean isIdle(BookmarkGroup group, Lazy<?> ref, long now) {
+        return ref.peek() != null && ref.isStored()
+                && now - ref.lastTouched() > idleMillis
+                && !writer.isPending(group);
+    }
+}
@@ -2,76 +2,202 @@ package persistence;
 
 import model.Bookmark;
 import model.BookmarkGroup;
-import one.microstream.storage.types.StorageManager;
+import service.bookmark.BookmarkChanges;
 import service.bookmark.BookmarkRepository;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class BookmarkMicroStreamRepository implements BookmarkRepository {
 
     private final RootData root;
-    private final StorageManager storage;
+    private final RootIndex index;
+    private final PersistenceWriter writer;
+    private final ReentrantLock lock;
 
-    public BookmarkMicroStreamRepository(RootData root, StorageManager storage) {
+    public BookmarkMicroStreamRepository(RootData root, RootIndex index, PersistenceWriter writer) {
         this.root = root;
-        this.storage = storage;
+        this.index = index;
+        this.writer = writer;
+        this.lock = index.writeLock();
     }
 
     @Override
     public Bookmark save(Bookmark bookmark) {
-        BookmarkGroup bookmarkGroup = root.groups().stream()
-                .filter(group -> group.getId() == bookmark.getGroupId())
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Group not found: " + bookmark.getGroupId()));
-
-        bookmarkGroup.include(bookmark);                                   // 그룹 내부 리스트 변경
-        storage.store(bookmarkGroup.getBookmarks());
-        //persistExec.execute(() -> storage.store(root.bookmarks()));
-        return bookmark;
+        lock.lock();
+        try {
+            BookmarkGroup bookmarkGroup = findGroup(bookmark.getGroupId())
+                    .orElseThrow(() -> new IllegalArgumentException("Group not found: " + bookmark.getGroupId()));
+
+            bookmarkGroup.include(bookmark);                                   // 새 목록으로 교체
+            index.putBookmark(bookmark, bookmarkGroup);
+            writer.store("bookmark.save", bookmarkGroup);                     // 그룹과 함께 새 목록, 새 북마크
+            return bookmark;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public void deleteById(long id) {
-        boolean removed = root.groups().stream()
-                .anyMatch(group -> group.exclude(id));
+        lock.lock();
+        try {
+            BookmarkGroup owner = index.ownerOf(id);
+            boolean removed = owner != null && owner.exclude(id);
 
-        if (!removed) {
-            throw new RuntimeException("Bookmark not found: " + id);
+            if (!removed) {
+                throw new RuntimeException("Bookmark not found: " + id);
+            }
+            index.removeBookmark(id);
+            writer.store("bookmark.delete", owner);                           // 바뀐 그룹(새 목록, 북마크 수)만
+        } finally {
+            lock.unlock();
         }
-        storage.store(root.groups());
     }
 
     @Override
     public Optional<Bookmark> findById(long id) {
-        return root.groups().stream()
-                .flatMap(group -> group.getBookmarks().stream())
-                .filter(bookmark -> bookmark.getId() == id)
-                .findFirst();
+        return Optional.ofNullable(index.bookmark(id));
     }
 
     @Override
     public Bookmark update(Bookmark bookmark) {
-        BookmarkGroup bookmarkGroup = root.groups().stream()
-                .filter(group -> group.getId() == bookmark.getGroupId())
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Group not found: " + bookmark.getGroupId()));
-        storage.store(bookmarkGroup.getBookmarks());
-        return bookmark;
+        lock.lock();
+        try {
+            // 그 사이 다른 그룹으로 옮겨졌으면 지금 그룹의 북마크에 이름/경로만 반영
+            Bookmark current = index.bookmark(bookmark.getId());
+            BookmarkGroup owner = index.ownerOf(bookmark.getId());
+            if (current == null || owner == null) {
+                throw new RuntimeException("Bookmark not found: " + bookmark.getId());
+            }
+            Bookmark updated = current.withDetails(bookmark.getDisplayName(), bookmark.getPath(), bookmark.getTargetType());
+            owner.replace(updated);
+            index.putBookmark(updated, owner);
+            writer.store("bookmark.update", owner);                           // 새 목록과 새 북마크
+            return updated;
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public List<Bookmark> findAllByGroupId(long groupId) {
-        BookmarkGroup group = root.groups().stream()
-                .filter(g -> java.util.Objects.equals(g.getId(), groupId))
-                .findFirst()
+        BookmarkGroup group = findGroup(groupId)
                 .orElseThrow(() -> new RuntimeException("그룹이 존재하지 않습니다."));
         return group.getBookmarks();
     }
 
     @Override
-    public void saveAll(BookmarkGroup bookmarkGroup) {
-        storage.store(bookmarkGroup.getBookmarks());
+    public void reorder(long groupId, long bookmarkId, int toIndex) {
+        lock.lock();
+        try {
+            BookmarkGroup group = findGroup(groupId)
+                    .orElseThrow(() -> new RuntimeException("그룹이 존재하지 않습니다."));
+            if (!group.reorder(bookmarkId, toIndex)) {
+                throw new RuntimeException("unknown bookMarkId: " + bookmarkId);
+            }
+            writer.store("bookmark.reorder", group);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void saveChanges(BookmarkChanges changes) {
+        lock.lock();
+        try {
+            apply(changes);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(BookmarkChanges changes) {
+        checkReferences(changes);
+
+        // 같은 그룹이 여러 번 바뀌어도 한 번만 저장. 그룹을 저장하면 마지막으로 바꾼 목록이 함께 저장된다
+        Set<Object> dirty = Collections.newSetFromMap(new IdentityHashMap<>());
+        // 북마크는 바꾸지 않고 새 인스턴스로 목록에서 갈아 끼운다
+        for (BookmarkChanges.Update update : changes.updated()) {
+            Bookmark bookmark = index.bookmark(update.bookmarkId())
+                    .withDetails(update.displayName(), update.path(), update.targetType());
+            BookmarkGroup owner = index.ownerOf(update.bookmarkId());
+            owner.replace(bookmark);
+            index.putBookmark(bookmark, owner);
+            dirty.add(owner);
+        }
+
+        for (BookmarkChanges.Move move : changes.moved()) {
+            BookmarkGroup from = index.ownerOf(move.bookmarkId());
+            BookmarkGroup to = index.group(move.toGroupId());
+            if (from == to) {
+                from.reorder(move.bookmarkId(), move.toIndex());
+            } else {
+                // 대상에 먼저 넣어 읽는 쪽이 어느 목록에서도 못 찾는 순간이 없게
+                Bookmark bookmark = index.bookmark(move.bookmarkId()).movedTo(to.getId());
+                to.include(move.toIndex(), bookmark);
+                from.exclude(bookmark.getId());
+                index.putBookmark(bookmark, to);
+            }
+            dirty.add(from);
+            dirty.add(to);
+        }
+
+        for (Bookmark bookmark : changes.created()) {
+            BookmarkGroup group = index.group(bookmark.getGroupId());
+            group.include(bookmark);
+            index.putBookmark(bookmark, group);
+            dirty.add(group);
+        }
+
+        // 그룹별로 모아 한 번의 removeIf 로 제거
+        Map<BookmarkGroup, Set<Long>> deletedByOwner = new IdentityHashMap<>();
+        for (long id : changes.deleted()) {
+            deletedByOwner.computeIfAbsent(index.ownerOf(id), owner -> new HashSet<>()).add(id);
+        }
+        deletedByOwner.forEach((owner, ids) -> {
+            owner.excludeAll(ids);
+            ids.forEach(index::removeBookmark);
+            dirty.add(owner);
+        });
+
+        if (!dirty.isEmpty()) {
+            writer.store("bookmark.batch", dirty.toArray());
+        }
+    }
+
+    /** 반영 도중 실패해 메모리 상태가 어긋나지 않도록 참조를 먼저 모두 확인 */
+    private void checkReferences(BookmarkChanges changes) {
+        for (BookmarkChanges.Update update : changes.updated()) {
+            if (index.bookmark(update.bookmarkId()) == null) {
+                throw new RuntimeException("Bookmark not found: " + update.bookmarkId());
+            }
+        }
+        for (Bookmark bookmark : changes.created()) {
+            findGroup(bookmark.getGroupId())
+                    .orElseThrow(() -> new IllegalArgumentException("Group not found: " + bookmark.getGroupId()));
+        }
+        for (BookmarkChanges.Move move : changes.moved()) {
+            findGroup(move.toGroupId())
+                    .orElseThrow(() -> new IllegalArgumentException("Group not found: " + move.toGroupId()));
+            if (index.ownerOf(move.bookmarkId()) == null) {
+                throw new RuntimeException("Bookmark not found: " + move.bookmarkId());
+            }
+        }
+        for (long id : changes.deleted()) {
+            if (index.ownerOf(id) == null) {
+                throw new RuntimeException("Bookmark not found: " + id);
+            }
+        }
+    }
+
+    private Optional<BookmarkGroup> findGroup(long groupId) {
+        return Optional.ofNullable(index.group(groupId));
     }
 }
@@ -0,0 +1,58 @@
+package persistence;
+
+import model.Bookmark;
+import model.BookmarkGroup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import service.IdSequenceRepository;
+
+public class IdSequenceMicroStreamRepository implements IdSequenceRepository {
+
+    private final RootData root;
+    private final PersistenceWriter writer;
+
+    private final Logger logger = LoggerFactory.getLogger(IdSequenceMicroStreamRepository.class);
+
+    public IdSequenceMicroStreamRepository(RootData root, PersistenceWriter writer) {
+        this.root = root;
+        this.writer = writer;
+        if (root.sequences() == null) migrate();
+    }
+
+    @Override
+    public long ceiling(Sequence sequence) {
+        IdSequences sequences = root.sequences();
+        return sequence == Sequence.GROUP ? sequences.groupCeiling() : sequences.bookmarkCeiling();
+    }
+
+    /**
+     * 상한 객체만 저장한다. write-behind 큐에서도 이 요청이 새 id 를 쓰는 엔티티 저장보다 먼저 들어가므로
+     * 같은 커밋이나 그 이전 커밋에 함께 내려간다.
+     */
+    @Override
+    public void reserve(Sequence sequence, long ceiling) {
+        IdSequences sequences = root.sequences();
+        synchronized (sequences) {
+            if (sequence == Sequence.GROUP) {
+                sequences.setGroupCeiling(Math.max(sequences.groupCeiling(), ceiling));
+            } else {
+                sequences.setBookmarkCeiling(Math.max(sequences.bookmarkCeiling(), ceiling));
+            }
+        }
+        writer.store("idSequence.reserve", sequences);
+    }
+
+    /** 상한이 없던 저장소: 한 번만 전체를 훑어 최대 id 다음 값으로 채운다 */
+    private void migrate() {
+        long groupId = 1, bookmarkId = 1;
+        for (BookmarkGroup group : root.groups()) {
+            groupId = Math.max(groupId, group.getId() + 1);
+            for (Bookmark bookmark : group.getBookmarks()) {
+                bookmarkId = Math.max(bookmarkId, bookmark.getId() + 1);
+            }
+        }
+        root.setSequences(new IdSequences(groupId, bookmarkId));
+        writer.store("idSequence.migrate", root);
+        logger.info("migrate() - id 상한 생성: group={}, bookmark={}", groupId, bookmarkId);
+    }
+}
@@ -0,0 +1,31 @@
+package persistence;
+
+/**
+ * 저장되는 id 상한. 각 값은 지금까지 예약된 블록의 끝(이 값부터 새로 발급 가능)이다.
+ * 블록 단위로만 갱신되므로 생성마다 저장이 늘지 않는다.
+ */
+public class IdSequences {
+    private long groupCeiling;
+    private long bookmarkCeiling;
+
+    public IdSequences(long groupCeiling, long bookmarkCeiling) {
+        this.groupCeiling = groupCeiling;
+        this.bookmarkCeiling = bookmarkCeiling;
+    }
+
+    public long groupCeiling() {
+        return groupCeiling;
+    }
+
+    public long bookmarkCeiling() {
+        return bookmarkCeiling;
+    }
+
+    void setGroupCeiling(long groupCeiling) {
+        this.groupCeiling = groupCeiling;
+    }
+
+    void setBookmarkCeiling(long bookmarkCeiling) {
+        this.bookmarkCeiling = bookmarkCeiling;
+    }
+}
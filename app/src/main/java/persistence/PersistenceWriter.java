@@ -0,0 +1,207 @@
+package persistence;
+
+import one.microstream.persistence.types.Storer;
+import one.microstream.storage.types.StorageManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 리포지토리의 단일 저장 창구.
+ * 변경된 컬렉션/엔티티만 하나의 Storer 로 커밋하고, 연산마다 기록한
+ * 객체 수(와 선택적으로 바이트 수)를 {@link StoreMetrics} 에 남긴다.
+ *
+ * <p>flushIntervalMs 가 0보다 크면 write-behind 모드로 동작한다. 저장 요청은 큐에 쌓이고
+ * 같은 인스턴스의 반복 요청은 하나로 합쳐지며, 단일 writer 스레드가 주기마다 한 번의 커밋으로 내려쓴다.
+ * 종료 전에는 반드시 {@link #close()} 로 남은 큐를 비워야 한다.</p>
+ */
+public class PersistenceWriter {
+
+    private static final String FLUSH_OPERATION = "writeBehind.flush";
+    // 종료 시에는 다음 주기가 없으므로 그 자리에서 몇 번 더 시도한다
+    private static final int CLOSE_ATTEMPTS = 3;
+    private static final long CLOSE_RETRY_DELAY_MS = 500L;
+
+    private final StorageManager storage;
+    private final StoreMetrics metrics;
+    private final boolean measureBytes;
+    private final ScheduledExecutorService flusher; // 동기 모드면 null
+
+    // 인스턴스 동일성 기준으로 합침 (List.equals 로 합쳐지면 안 됨)
+    private final Map<Object, String> pending = new IdentityHashMap<>();
+    // writer 스레드가 지금 커밋 중인 묶음 (isPending 확인용)
+    private volatile Map<Object, String> committing = Map.of();
+
+    private final Logger logger = LoggerFactory.getLogger(PersistenceWriter.class);
+
+    public PersistenceWriter(StorageManager storage, StoreMetrics metrics, boolean measureBytes) {
+        this(storage, metrics, measureBytes, 0);
+    }
+
+    public PersistenceWriter(StorageManager storage, StoreMetrics metrics, boolean measureBytes, long flushIntervalMs) {
+        this.storage = storage;
+        this.metrics = metrics;
+        this.measureBytes = measureBytes;
+        if (flushIntervalMs > 0) {
+            this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "Persistence-Writer");
+                t.setDaemon(true);
+                return t;
+            });
+            flusher.scheduleWithFixedDelay(this::drain, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        } else {
+            this.flusher = null;
+        }
+    }
+
+    /**
+     * 주어진 인스턴스만 저장한다. 이미 영속화된 하위 객체는 MicroStream lazy storer 가 건너뛰므로
+     * 실제로 바뀐 객체를 직접 넘겨야 한다.
+     */
+    public void store(String operation, Object... instances) {
+        if (flusher == null) {
+            commit(operation, Arrays.asList(instances));
+            return;
+        }
+        synchronized (pending) {
+            for (Object instance : instances) {
+                if (pending.putIfAbsent(instance, operation) != null) {
+                    metrics.recordCoalesced();
+                }
+            }
+        }
+    }
+
+    /** 큐에 쌓인 저장 요청을 writer 스레드에서 즉시 내려쓰고 완료될 때까지 기다린다. 실패하면 큐는 다음 주기로 넘어가고 예외를 던진다 */
+    public void flush() {
+        if (flusher == null) return;
+        try {
+            flusher.submit(this::flushPending).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("저장 큐 비우기 실패", e.getCause());
+        }
+    }
+
+    /**
+     * writer 스레드를 멈추고 남은 큐를 모두 내려쓴다. storage.shutdown() 전에 호출한다.
+     * 진행 중인 저장이 끝날 때까지 기다리고, 끝내 저장하지 못하면 예외를 던진다.
+     */
+    public void close() {
+        if (flusher == null) return;
+        flusher.shutdown();
+        try {
+            // 두 스레드가 동시에 커밋하지 않도록 writer 스레드가 끝나야만 넘어간다
+            while (!flusher.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("close() - 진행 중인 저장을 기다리는 중");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("저장 스레드 종료 대기 중 인터럽트, 남은 " + queueDepth() + "건 저장 안 됨", e);
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                flushPending();
+                return;
+            } catch (RuntimeException e) {
+                if (attempt == CLOSE_ATTEMPTS) {
+                    throw new RuntimeException("종료 전 저장 실패, 남은 " + queueDepth() + "건 저장 안 됨", e);
+                }
+                logger.warn("close() - 저장 실패({}/{}), 다시 시도: {}", attempt, CLOSE_ATTEMPTS, e.toString());
+                sleepBeforeRetry();
+            }
+        }
+    }
+
+    public int queueDepth() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    /** 아직 내려쓰지 않은(커밋 중 포함) 저장 요청에 들어 있는 인스턴스인지 */
+    public boolean isPending(Object instance) {
+        if (committing.containsKey(instance)) return true;
+        synchronized (pending) {
+            return pending.containsKey(instance);
+        }
+    }
+
+    public StoreMetrics metrics() {
+        return metrics;
+    }
+
+    /** 주기 저장. 실패(디스크 오류 등)하면 묶음을 큐에 되돌리고 다음 주기에 다시 시도 */
+    private void drain() {
+        try {
+            flushPending();
+        } catch (RuntimeException e) {
+            logger.warn("drain() - 저장 실패, 다음 주기에 재시도: {}", e.toString());
+        }
+    }
+
+    /** 큐를 한 번에 커밋한다. 실패하면 묶음을 큐에 되돌리고 예외를 그대로 던진다 */
+    private void flushPending() {
+        Map<Object, String> batch;
+        synchronized (pending) {
+            if (pending.isEmpty()) return;
+            batch = new IdentityHashMap<>(pending);
+            pending.clear();
+            committing = batch;
+        }
+        long start = System.nanoTime();
+        try {
+            commit(FLUSH_OPERATION, batch.keySet());
+            metrics.recordFlush(batch.size(), System.nanoTime() - start);
+        } catch (RuntimeException e) {
+            synchronized (pending) {
+                batch.forEach(pending::putIfAbsent);
+            }
+            throw e;
+        } finally {
+            committing = Map.of();
+        }
+    }
+
+    private void sleepBeforeRetry() {
+        try {
+            Thread.sleep(CLOSE_RETRY_DELAY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void commit(String operation, Collection<?> instances) {
+        Storer storer = storage.createStorer();
+        for (Object instance : instances) {
+            storer.store(instance);
+        }
+        long objects = storer.size();
+        long before = measureBytes ? totalDataLength() : 0;
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            storer.commit();
+            ok = true;
+        } finally {
+            metrics.recordCommit(operation, System.nanoTime() - start, ok);
+        }
+        long bytes = measureBytes ? totalDataLength() - before : 0;
+
+        metrics.record(operation, objects, bytes);
+        logger.debug("store() - {} objects={} bytes={}", operation, objects, measureBytes ? bytes : "n/a");
+    }
+
+    private long totalDataLength() {
+        return storage.createStorageStatistics().totalDataLength();
+    }
+}
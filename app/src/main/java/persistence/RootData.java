@@ -3,12 +3,32 @@ package persistence;
 import model.BookmarkGroup;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * 저장소 루트. 그룹 목록은 {@link BookmarkGroup} 의 북마크 목록과 같이 copy-on-write 로 바꾸므로
+ * {@link #groups()} 는 잠금 없이 읽을 수 있는 읽기 전용 스냅샷이다.
+ */
 public class RootData {
-    private final List<BookmarkGroup> groups = new ArrayList<>();
+    private volatile List<BookmarkGroup> groups = new ArrayList<>();
+    // 이전 버전 저장소에는 없음(null). IdSequenceMicroStreamRepository 가 처음 열 때 채운다
+    private IdSequences sequences;
 
     public List<BookmarkGroup> groups() {
-        return groups;
+        return Collections.unmodifiableList(groups);
+    }
+
+    public IdSequences sequences() {
+        return sequences;
+    }
+
+    /** 새 목록으로 갈아 끼운다. 저장 계층이 쓰기 잠금을 쥔 채 호출하고 루트를 저장해야 한다 */
+    void replaceGroups(List<BookmarkGroup> groups) {
+        this.groups = new ArrayList<>(groups);
+    }
+
+    void setSequences(IdSequences sequences) {
+        this.sequences = sequences;
     }
 }
@@ -0,0 +1,121 @@
+package persistence;
+
+import model.Bookmark;
+import model.BookmarkGroup;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * RootData 그래프 위에 유지되는 메모리 기본키 인덱스.
+ * 영속화되지 않으며, 시작 시 {@link #build(RootData)} 로 재구성하고
+ * 이후에는 리포지토리가 변경할 때마다 함께 갱신한다.
+ *
+ * <p>북마크 id → 소유 그룹은 시작 시 그룹이 목록 밖에 들고 있는 id 로 모두 색인한다(목록을 불러오지 않음).
+ * 그룹의 북마크 목록은 Lazy 이므로 북마크 객체는 이미 불러온 목록만 색인하고, 색인에 없는 북마크를 찾으면
+ * 소유 그룹의 목록 하나만 불러와 색인한다. 없는 id 는 목록을 불러오지 않고 바로 null 이다.</p>
+ *
+ * <p>리포지토리는 그래프를 바꾸는 동안 {@link #writeLock()} 을 쥔다. 그룹/북마크 목록은 copy-on-write 로 바뀌므로
+ * 읽기는 이 잠금을 쓰지 않는다.</p>
+ */
+public class RootIndex {
+
+    private final Map<Long, BookmarkGroup> groups = new ConcurrentHashMap<>();
+    private final Map<Long, Bookmark> bookmarks = new ConcurrentHashMap<>();
+    // 목록을 불러왔는지와 상관없이 모든 북마크
+    private final Map<Long, BookmarkGroup> owners = new ConcurrentHashMap<>();
+    // 북마크 객체까지 색인한 그룹 id
+    private final Set<Long> indexedGroups = ConcurrentHashMap.newKeySet();
+    // 쓰기끼리만 직렬화 (색인 자체의 모니터와는 별개)
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private RootIndex() {
+    }
+
+    public static RootIndex build(RootData root) {
+        RootIndex index = new RootIndex();
+        for (BookmarkGroup group : root.groups()) {
+            index.putGroup(group);
+        }
+        return index;
+    }
+
+    /** 저장 계층의 쓰기 잠금. 여러 그룹에 걸친 이동/배치도 다른 쓰기와 섞이지 않는다 */
+    public ReentrantLock writeLock() {
+        return writeLock;
+    }
+
+    public BookmarkGroup group(long groupId) {
+        return groups.get(groupId);
+    }
+
+    /** 소유 그룹의 목록을 아직 색인하지 않았으면 그 목록 하나만 불러와 색인한다 */
+    public Bookmark bookmark(long bookmarkId) {
+        Bookmark bookmark = bookmarks.get(bookmarkId);
+        if (bookmark != null) return bookmark;
+        BookmarkGroup owner = owners.get(bookmarkId);
+        if (owner == null) return null;
+        indexBookmarks(owner);
+        return bookmarks.get(bookmarkId);
+    }
+
+    public BookmarkGroup ownerOf(long bookmarkId) {
+        return owners.get(bookmarkId);
+    }
+
+    /** 그룹을 색인. 북마크 id 는 목록 없이, 목록을 이미 불러온 그룹이면 북마크 객체도 함께 */
+    public synchronized void putGroup(BookmarkGroup group) {
+        groups.put(group.getId(), group);
+        group.forEachBookmarkId(id -> owners.put(id, group));
+        if (group.isBookmarksLoaded()) indexBookmarks(group);
+    }
+
+    /** 그룹과 그룹에 포함된 북마크를 함께 제거 */
+    public synchronized void removeGroup(BookmarkGroup group) {
+        groups.remove(group.getId());
+        unindexGroup(group);
+        group.forEachBookmarkId(id -> owners.remove(id, group));
+    }
+
+    /** 그룹의 북마크 객체를 색인에서 뺀다 (목록을 메모리에서 내리기 전). 소유 그룹은 남으므로 다음 조회 때 다시 색인된다 */
+    public synchronized void unindexGroup(BookmarkGroup group) {
+        if (!indexedGroups.remove(group.getId())) return;
+        group.forEachBookmarkId(id -> {
+            if (owners.get(id) == group) bookmarks.remove(id);
+        });
+    }
+
+    public boolean isIndexed(BookmarkGroup group) {
+        return indexedGroups.contains(group.getId());
+    }
+
+    /**
+     * 쓰기 쪽 갱신은 색인 모니터를 쥐고 한다. 조회가 옛 목록 스냅샷으로 그룹을 색인하는 도중에
+     * 끼어들면 방금 옮긴 북마크의 소유 그룹이 옛 값으로 되돌아갈 수 있기 때문
+     */
+    public synchronized void putBookmark(Bookmark bookmark, BookmarkGroup owner) {
+        indexBookmarks(owner); // 그룹의 나머지 북마크도 찾을 수 있게
+        bookmarks.put(bookmark.getId(), bookmark);
+        owners.put(bookmark.getId(), owner);
+    }
+
+    public synchronized void removeBookmark(long bookmarkId) {
+        bookmarks.remove(bookmarkId);
+        owners.remove(bookmarkId);
+    }
+
+    // ===== 내부 =====
+
+    /** 아직 색인하지 않은 그룹이면 목록을 불러와 색인하고 true */
+    private synchronized boolean indexBookmarks(BookmarkGroup group) {
+        if (indexedGroups.contains(group.getId()) || groups.get(group.getId()) != group) return false;
+        for (Bookmark bookmark : group.getBookmarks()) {
+            bookmarks.put(bookmark.getId(), bookmark);
+            owners.put(bookmark.getId(), group);
+        }
+        indexedGroups.add(group.getId());
+        return true;
+    }
+}
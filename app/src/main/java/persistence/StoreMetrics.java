@@ -0,0 +1,101 @@
+package persistence;
+
+import infra.OperationMetrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 리포지토리 연산별 MicroStream 저장 카운터.
+ * 연산 이름마다 호출 수, 기록한 객체 수, 기록한 바이트 수를 누적한다.
+ * 바이트 수는 측정이 켜져 있을 때만 집계된다(측정하지 않으면 0).
+ * 커밋 지연은 {@link OperationMetrics} 에 {@code store.연산} 이름으로 넘긴다.
+ */
+public class StoreMetrics {
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final OperationMetrics operations;
+
+    // write-behind 큐 지표
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushedEntries = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private volatile long lastFlushNanos;
+
+    public StoreMetrics() {
+        this(new OperationMetrics());
+    }
+
+    public StoreMetrics(OperationMetrics operations) {
+        this.operations = operations;
+    }
+
+    public void record(String operation, long objects, long bytes) {
+        Counter counter = counters.computeIfAbsent(operation, key -> new Counter());
+        counter.calls.increment();
+        counter.objects.add(objects);
+        counter.bytes.add(Math.max(bytes, 0));
+    }
+
+    /** storer 커밋 한 번의 지연 (실패 포함) */
+    public void recordCommit(String operation, long nanos, boolean ok) {
+        operations.record("store." + operation, nanos, ok);
+    }
+
+    /** 이미 큐에 있는 인스턴스에 대한 저장 요청이 합쳐짐 */
+    public void recordCoalesced() {
+        coalesced.increment();
+    }
+
+    public void recordFlush(int entries, long nanos) {
+        flushes.increment();
+        flushedEntries.add(entries);
+        flushNanos.add(nanos);
+        maxFlushNanos.accumulateAndGet(nanos, Math::max);
+        lastFlushNanos = nanos;
+    }
+
+    public FlushSnapshot flushSnapshot() {
+        return new FlushSnapshot(flushes.sum(), flushedEntries.sum(), coalesced.sum(),
+                lastFlushNanos, maxFlushNanos.get(), flushNanos.sum());
+    }
+
+    /** 연산 이름 순으로 정렬된 현재 값 */
+    public Map<String, Snapshot> snapshot() {
+        Map<String, Snapshot> result = new TreeMap<>();
+        counters.forEach((operation, counter) -> result.put(operation, counter.snapshot()));
+        return result;
+    }
+
+    public record Snapshot(long calls, long objects, long bytes) {
+        public double objectsPerCall() {
+            return calls == 0 ? 0 : (double) objects / calls;
+        }
+
+        public double bytesPerCall() {
+            return calls == 0 ? 0 : (double) bytes / calls;
+        }
+    }
+
+    public record FlushSnapshot(long flushes, long entries, long coalesced,
+                                long lastNanos, long maxNanos, long totalNanos) {
+        public double avgMillis() {
+            return flushes == 0 ? 0 : totalNanos / 1_000_000.0 / flushes;
+        }
+    }
+
+    private static final class Counter {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder objects = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        Snapshot snapshot() {
+            return new Snapshot(calls.sum(), objects.sum(), bytes.sum());
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package persistence;
+
+import infra.OperationMetrics;
+import model.Bookmark;
+import model.BookmarkGroup;
+import service.bookmark_group.BookmarkGroupRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+/** 다른 {@link BookmarkGroupRepository} 의 호출마다 {@code repo.group.*} 지연을 기록 */
+public class TimedBookmarkGroupRepository implements BookmarkGroupRepository {
+
+    private final BookmarkGroupRepository delegate;
+    private final OperationMetrics metrics;
+
+    public TimedBookmarkGroupRepository(BookmarkGroupRepository delegate, OperationMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public BookmarkGroup save(BookmarkGroup bookmarkGroup) {
+        return metrics.time("repo.group.save", () -> delegate.save(bookmarkGroup));
+    }
+
+    @Override
+    public Optional<BookmarkGroup> findById(long id) {
+        return metrics.time("repo.group.findById", () -> delegate.findById(id));
+    }
+
+    @Override
+    public BookmarkGroup rename(long id, String name) {
+        return metrics.time("repo.group.rename", () -> delegate.rename(id, name));
+    }
+
+    @Override
+    public List<BookmarkGroup> findAll() {
+        return metrics.time("repo.group.findAll", delegate::findAll);
+    }
+
+    @Override
+    public void deleteById(long id) {
+        metrics.run("repo.group.deleteById", () -> delegate.deleteById(id));
+    }
+
+    @Override
+    public void reorder(long id, int toIndex) {
+        metrics.run("repo.group.reorder", () -> delegate.reorder(id, toIndex));
+    }
+
+    @Override
+    public List<Bookmark> scanBookmarks(long id) {
+        return metrics.time("repo.group.scanBookmarks", () -> delegate.scanBookmarks(id));
+    }
+}
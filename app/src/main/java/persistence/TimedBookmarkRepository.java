@@ -0,0 +1,56 @@
+package persistence;
+
+import infra.OperationMetrics;
+import model.Bookmark;
+import service.bookmark.BookmarkChanges;
+import service.bookmark.BookmarkRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+/** 다른 {@link BookmarkRepository} 의 호출마다 {@code repo.bookmark.*} 지연을 기록 */
+public class TimedBookmarkRepository implements BookmarkRepository {
+
+    private final BookmarkRepository delegate;
+    private final OperationMetrics metrics;
+
+    public TimedBookmarkRepository(BookmarkRepository delegate, OperationMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Bookmark save(Bookmark bookmark) {
+        return metrics.time("repo.bookmark.save", () -> delegate.save(bookmark));
+    }
+
+    @Override
+    public void deleteById(long id) {
+        metrics.run("repo.bookmark.deleteById", () -> delegate.deleteById(id));
+    }
+
+    @Override
+    public Optional<Bookmark> findById(long id) {
+        return metrics.time("repo.bookmark.findById", () -> delegate.findById(id));
+    }
+
+    @Override
+    public Bookmark update(Bookmark bookmark) {
+        return metrics.time("repo.bookmark.update", () -> delegate.update(bookmark));
+    }
+
+    @Override
+    public List<Bookmark> findAllByGroupId(long groupId) {
+        return metrics.time("repo.bookmark.findAllByGroupId", () -> delegate.findAllByGroupId(groupId));
+    }
+
+    @Override
+    public void reorder(long groupId, long bookmarkId, int toIndex) {
+        metrics.run("repo.bookmark.reorder", () -> delegate.reorder(groupId, bookmarkId, toIndex));
+    }
+
+    @Override
+    public void saveChanges(BookmarkChanges changes) {
+        metrics.run("repo.bookmark.saveChanges", () -> delegate.saveChanges(changes));
+    }
+}
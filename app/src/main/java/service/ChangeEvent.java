@@ -0,0 +1,49 @@
+package service;
+
+/**
+ * 서비스가 상태를 바꾼 뒤 발행하는 변경 이벤트.
+ * 사용하지 않는 id 필드는 -1 이다.
+ */
+public record ChangeEvent(Type type, long groupId, long bookmarkId, long fromGroupId) {
+
+    public enum Type {
+        GROUP_ADDED, GROUP_UPDATED, GROUP_REMOVED, GROUPS_REORDERED,
+        BOOKMARK_ADDED, BOOKMARK_UPDATED, BOOKMARK_REMOVED, BOOKMARKS_REORDERED, BOOKMARK_MOVED
+    }
+
+    public static ChangeEvent groupAdded(long groupId) {
+        return new ChangeEvent(Type.GROUP_ADDED, groupId, -1, -1);
+    }
+
+    public static ChangeEvent groupUpdated(long groupId) {
+        return new ChangeEvent(Type.GROUP_UPDATED, groupId, -1, -1);
+    }
+
+    public static ChangeEvent groupRemoved(long groupId) {
+        return new ChangeEvent(Type.GROUP_REMOVED, groupId, -1, -1);
+    }
+
+    public static ChangeEvent groupsReordered() {
+        return new ChangeEvent(Type.GROUPS_REORDERED, -1, -1, -1);
+    }
+
+    public static ChangeEvent bookmarkAdded(long groupId, long bookmarkId) {
+        return new ChangeEvent(Type.BOOKMARK_ADDED, groupId, bookmarkId, -1);
+    }
+
+    public static ChangeEvent bookmarkUpdated(long groupId, long bookmarkId) {
+        return new ChangeEvent(Type.BOOKMARK_UPDATED, groupId, bookmarkId, -1);
+    }
+
+    public static ChangeEvent bookmarkRemoved(long groupId, long bookmarkId) {
+        return new ChangeEvent(Type.BOOKMARK_REMOVED, groupId, bookmarkId, -1);
+    }
+
+    public static ChangeEvent bookmarksReordered(long groupId) {
+        return new ChangeEvent(Type.BOOKMARKS_REORDERED, groupId, -1, -1);
+    }
+
+    public static ChangeEvent bookmarkMoved(long fromGroupId, long toGroupId, long bookmarkId) {
+        return new ChangeEvent(Type.BOOKMARK_MOVED, toGroupId, bookmarkId, fromGroupId);
+    }
+}
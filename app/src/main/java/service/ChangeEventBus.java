@@ -0,0 +1,41 @@
+package service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 변경 이벤트 구독/발행. 리스너는 발행한 스레드에서 호출되므로
+ * UI 리스너는 직접 EDT 로 넘겨야 한다.
+ */
+public class ChangeEventBus {
+
+    private final List<Consumer<List<ChangeEvent>>> listeners = new CopyOnWriteArrayList<>();
+    private final Logger logger = LoggerFactory.getLogger(ChangeEventBus.class);
+
+    public void addListener(Consumer<List<ChangeEvent>> listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Consumer<List<ChangeEvent>> listener) {
+        listeners.remove(listener);
+    }
+
+    public void publish(ChangeEvent event) {
+        publish(List.of(event));
+    }
+
+    public void publish(List<ChangeEvent> events) {
+        if (events.isEmpty()) return;
+        for (var listener : listeners) {
+            try {
+                listener.accept(events);
+            } catch (RuntimeException e) {
+                logger.error("publish() - 리스너 오류", e);
+            }
+        }
+    }
+}
@@ -1,36 +1,51 @@
 package service;
 
-import model.Bookmark;
-import model.BookmarkGroup;
+/**
+ * id 발급기. 저장소에는 blockSize 단위로 상한만 예약해 두고 블록 안에서는 메모리에서 발급한다.
+ * 시작 시 저장된 상한부터 이어서 발급하므로 기존 데이터를 훑지 않으며,
+ * 비정상 종료 시 예약만 되고 쓰이지 않은 id 는 건너뛴다.
+ */
+public class IdGenerator {
 
-import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
+    private static final class Block {
+        final IdSequenceRepository.Sequence sequence;
+        long next;
+        long limit;
 
-public class IdGenerator {
-    private final AtomicLong seqGroup;
-    private final AtomicLong seqBookmark;
+        Block(IdSequenceRepository.Sequence sequence, long ceiling) {
+            this.sequence = sequence;
+            this.next = ceiling;
+            this.limit = ceiling;
+        }
+    }
+
+    private final IdSequenceRepository repository;
+    private final int blockSize;
+    private final Block groups;
+    private final Block bookmarks;
 
-    private IdGenerator(long startGroup, long startBookmark) {
-        this.seqGroup = new AtomicLong(startGroup);
-        this.seqBookmark = new AtomicLong(startBookmark);
+    public IdGenerator(IdSequenceRepository repository, int blockSize) {
+        this.repository = repository;
+        this.blockSize = blockSize;
+        this.groups = new Block(IdSequenceRepository.Sequence.GROUP, repository.ceiling(IdSequenceRepository.Sequence.GROUP));
+        this.bookmarks = new Block(IdSequenceRepository.Sequence.BOOKMARK, repository.ceiling(IdSequenceRepository.Sequence.BOOKMARK));
     }
 
     public long nextGroupId() {
-        return seqGroup.getAndIncrement();
+        return next(groups);
     }
 
     public long nextBookmarkId() {
-        return seqBookmark.getAndIncrement();
+        return next(bookmarks);
     }
 
-    public static IdGenerator fromExisting(List<BookmarkGroup> groups, List<Bookmark> bookmarks) {
-        long groupId = 1, bookmarkId = 1;
-        for (BookmarkGroup group : groups) {
-            groupId = Math.max(groupId, group.getId() + 1);
-        }
-        for (Bookmark bookmark : bookmarks) {
-            bookmarkId = Math.max(bookmarkId, bookmark.getId() + 1);
+    private long next(Block block) {
+        synchronized (block) {
+            if (block.next >= block.limit) {
+                block.limit = block.next + blockSize;
+                repository.reserve(block.sequence, block.limit);
+            }
+            return block.next++;
         }
-        return new IdGenerator(groupId, bookmarkId);
     }
 }
@@ -0,0 +1,15 @@
+package service;
+
+/**
+ * {@link IdGenerator} 가 예약한 id 상한을 보관하는 저장소.
+ */
+public interface IdSequenceRepository {
+
+    enum Sequence { GROUP, BOOKMARK }
+
+    /** 지금까지 예약된 상한. 이 값부터 발급해도 기존 id 와 겹치지 않는다 */
+    long ceiling(Sequence sequence);
+
+    /** 새 상한을 저장. 이 값 아래의 id 는 발급된 것으로 본다 */
+    void reserve(Sequence sequence, long ceiling);
+}
@@ -0,0 +1,56 @@
+package service.bookmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 여러 북마크 변경을 한 번의 저장 커밋으로 처리하기 위한 작업 묶음.
+ * {@link BookmarkService#applyBatch(BookmarkBatch)} 로 적용한다.
+ */
+public class BookmarkBatch {
+
+    public sealed interface Op permits Create, Update, Delete, Move {}
+
+    public record Create(long groupId, String displayName, String path) implements Op {}
+
+    public record Update(long bookmarkId, String displayName, String path) implements Op {}
+
+    public record Delete(long bookmarkId) implements Op {}
+
+    public record Move(long bookmarkId, long toGroupId, int toIndex) implements Op {}
+
+    private final List<Op> ops = new ArrayList<>();
+
+    public BookmarkBatch create(long groupId, String displayName, String path) {
+        ops.add(new Create(groupId, displayName, path));
+        return this;
+    }
+
+    public BookmarkBatch update(long bookmarkId, String displayName, String path) {
+        ops.add(new Update(bookmarkId, displayName, path));
+        return this;
+    }
+
+    public BookmarkBatch delete(long bookmarkId) {
+        ops.add(new Delete(bookmarkId));
+        return this;
+    }
+
+    public BookmarkBatch move(long bookmarkId, long toGroupId, int toIndex) {
+        ops.add(new Move(bookmarkId, toGroupId, toIndex));
+        return this;
+    }
+
+    public List<Op> ops() {
+        return Collections.unmodifiableList(ops);
+    }
+
+    public int size() {
+        return ops.size();
+    }
+
+    public boolean isEmpty() {
+        return ops.isEmpty();
+    }
+}
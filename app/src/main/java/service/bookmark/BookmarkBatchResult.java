@@ -0,0 +1,15 @@
+package service.bookmark;
+
+import model.Bookmark;
+
+import java.util.List;
+
+/**
+ * 배치 적용 결과. 경로 검증 등에 실패한 작업은 건너뛰고 failures 에 사유를 남긴다.
+ */
+public record BookmarkBatchResult(int applied, List<Bookmark> created, List<String> failures) {
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+}
@@ -0,0 +1,20 @@
+package service.bookmark;
+
+import model.Bookmark;
+import model.BookmarkType;
+
+import java.util.List;
+
+/**
+ * 서비스에서 검증을 마친 변경 집합. 리포지토리는 이를 메모리에 반영한 뒤 한 번에 저장한다.
+ * 수정은 바꿀 값만 담아 전달되며, 리포지토리가 참조를 모두 확인한 뒤에 엔티티에 반영한다.
+ */
+public record BookmarkChanges(List<Bookmark> created,
+                              List<Update> updated,
+                              List<Move> moved,
+                              List<Long> deleted) {
+
+    public record Update(long bookmarkId, String displayName, String path, BookmarkType targetType) {}
+
+    public record Move(long bookmarkId, long toGroupId, int toIndex) {}
+}
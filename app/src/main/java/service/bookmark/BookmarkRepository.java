@@ -1,7 +1,6 @@
 package service.bookmark;
 
 import model.Bookmark;
-import model.BookmarkGroup;
 
 import java.util.List;
 import java.util.Optional;
@@ -13,9 +12,14 @@ public interface BookmarkRepository {
 
     Optional<Bookmark> findById(long id);
 
+    /** 같은 id 의 북마크를 주어진 이름/경로/종류의 새 인스턴스로 갈아 끼우고 저장한 인스턴스를 돌려준다 */
     Bookmark update(Bookmark bookmark);
 
     List<Bookmark> findAllByGroupId(long groupId);
 
-    void saveAll(BookmarkGroup bookmarkGroup);
+    /** 그룹 안에서 북마크 위치를 바꾸고 저장. 없는 id 면 예외 */
+    void reorder(long groupId, long bookmarkId, int toIndex);
+
+    /** 변경 집합을 메모리에 반영하고 바뀐 리스트/엔티티를 한 번의 커밋으로 저장 */
+    void saveChanges(BookmarkChanges changes);
 }
@@ -1,69 +1,261 @@
 package service.bookmark;
 
-import infra.FileUtils;
+import infra.OperationMetrics;
+import infra.PathValidator;
 import model.Bookmark;
-import model.BookmarkGroup;
 import model.BookmarkType;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import service.ChangeEvent;
+import service.ChangeEventBus;
 import service.IdGenerator;
 import service.bookmark_group.BookmarkGroupService;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
-
+/**
+ * 북마크 생성/수정/이동/삭제. 지표(service.bookmark.*)는 검증과 저장까지만 재고, 변경 이벤트는 타이머를 멈춘 뒤
+ * 발행한다. 리스너(화면 갱신, 검색 색인 등)의 비용이 서비스 지연에 섞이지 않게 하기 위함이다.
+ */
 public class BookmarkService {
     private final BookmarkRepository bookmarkRepository;
     private final BookmarkGroupService bookmarkGroupService;
     private final IdGenerator idGenerator;
+    private final PathValidator pathValidator;
+    private final ChangeEventBus eventBus;
+    private final OperationMetrics metrics;
     private final Logger logger = LoggerFactory.getLogger(BookmarkService.class);
 
-    public BookmarkService(BookmarkRepository bookmarkRepository, BookmarkGroupService bookmarkGroupService, IdGenerator idGenerator) {
+    public BookmarkService(BookmarkRepository bookmarkRepository, BookmarkGroupService bookmarkGroupService,
+                           IdGenerator idGenerator, PathValidator pathValidator, ChangeEventBus eventBus,
+                           OperationMetrics metrics) {
         this.bookmarkRepository = bookmarkRepository;
         this.bookmarkGroupService = bookmarkGroupService;
         this.idGenerator = idGenerator;
+        this.pathValidator = pathValidator;
+        this.eventBus = eventBus;
+        this.metrics = metrics;
     }
 
     public Bookmark createBookmark(long groupId, String displayName, String path) {
-        BookmarkType bookmarkType = FileUtils.validateFileOrDirectory(path);
+        Bookmark bookmark = metrics.time("service.bookmark.create",
+                () -> saveNew(groupId, displayName, path, pathValidator.validate(path)));
+        eventBus.publish(ChangeEvent.bookmarkAdded(groupId, bookmark.getId()));
+        return bookmark;
+    }
+
+    /** 경로 검증을 검증 풀에서 수행한 뒤 저장. UI 스레드를 막지 않는다. */
+    public CompletableFuture<Bookmark> createBookmarkAsync(long groupId, String displayName, String path) {
+        return metrics.timeAsync("service.bookmark.createAsync", () -> pathValidator.validateAsync(path)
+                        .thenApply(bookmarkType -> saveNew(groupId, displayName, path, bookmarkType)))
+                .thenApply(bookmark -> {
+                    eventBus.publish(ChangeEvent.bookmarkAdded(groupId, bookmark.getId()));
+                    return bookmark;
+                });
+    }
+
+    private Bookmark saveNew(long groupId, String displayName, String path, BookmarkType bookmarkType) {
         Bookmark bookmark = bookmarkRepository.save(new Bookmark(idGenerator.nextBookmarkId(), groupId, displayName, path, bookmarkType));
         logger.info("createBookmark() - {}", bookmarkRepository.findById(bookmark.getId()));
         return bookmark;
     }
 
     public void reorderBookmark(long groupId, long prevId, int toIndex) {
-        BookmarkGroup bookmarkGroup = bookmarkGroupService.getBookmarkGroup(groupId);
-        List<Bookmark> bookmarks = bookmarkGroup.getBookmarks();
-
-        int fromIndex = -1;
-        for (int i = 0; i < bookmarks.size(); i++) {
-            if (bookmarks.get(i).getId() == prevId) {
-                fromIndex = i;
-                break;
-            }
-        }
-        if (fromIndex < 0) {
-            throw new RuntimeException("unknown bookMarkId: " + prevId);
+        metrics.run("service.bookmark.reorder", () -> reorder(groupId, prevId, toIndex));
+        eventBus.publish(ChangeEvent.bookmarksReordered(groupId));
+    }
+
+    private void reorder(long groupId, long prevId, int toIndex) {
+        if (!groupExists(groupId)) {
+            throw new RuntimeException("그룹이 존재하지 않습니다: " + groupId);
         }
-        Bookmark bookmark = bookmarks.remove(fromIndex);
-        bookmarks.add(toIndex, bookmark);
-        bookmarkRepository.saveAll(bookmarkGroup);
+        bookmarkRepository.reorder(groupId, prevId, toIndex);
     }
 
     public Bookmark updateBookmark(long bookmarkId, String displayName, String path) {
+        Bookmark updated = metrics.time("service.bookmark.update", () -> update(bookmarkId, displayName, path));
+        eventBus.publish(ChangeEvent.bookmarkUpdated(updated.getGroupId(), bookmarkId));
+        return updated;
+    }
+
+    private Bookmark update(long bookmarkId, String displayName, String path) {
         Bookmark bookmark = bookmarkRepository.findById(bookmarkId)
                 .orElseThrow(() -> new RuntimeException("bookmark not found"));
-        BookmarkType bookmarkType = FileUtils.validateFileOrDirectory(path);
-        bookmark.update(displayName, path, bookmarkType);
-        return bookmarkRepository.update(bookmark);
+        BookmarkType bookmarkType = pathValidator.validate(path);
+        return bookmarkRepository.update(bookmark.withDetails(displayName, path, bookmarkType));
+    }
+
+    public CompletableFuture<Bookmark> updateBookmarkAsync(long bookmarkId, String displayName, String path) {
+        return metrics.timeAsync("service.bookmark.updateAsync", () -> {
+                    Bookmark bookmark = bookmarkRepository.findById(bookmarkId)
+                            .orElseThrow(() -> new RuntimeException("bookmark not found"));
+                    return pathValidator.validateAsync(path)
+                            .thenApply(bookmarkType -> bookmarkRepository.update(bookmark.withDetails(displayName, path, bookmarkType)));
+                })
+                .thenApply(updated -> {
+                    eventBus.publish(ChangeEvent.bookmarkUpdated(updated.getGroupId(), bookmarkId));
+                    return updated;
+                });
+    }
+
+    public Optional<Bookmark> findBookmark(long id) {
+        return metrics.time("service.bookmark.find", () -> bookmarkRepository.findById(id));
     }
 
     public void remove(long id) {
-        bookmarkRepository.deleteById(id);
+        long groupId = metrics.time("service.bookmark.remove", () -> {
+            long ownerId = bookmarkRepository.findById(id).map(Bookmark::getGroupId).orElse(-1L);
+            bookmarkRepository.deleteById(id);
+            return ownerId;
+        });
+        eventBus.publish(ChangeEvent.bookmarkRemoved(groupId, id));
+    }
+
+    /**
+     * 여러 생성/수정/삭제/이동을 한 번에 적용한다.
+     * 경로 검증은 검증 풀에서 병렬로 먼저 수행하고, 검증에 실패하거나 대상이 없는 작업은 건너뛴 뒤
+     * 나머지를 저장 계층에 넘긴다. 저장 계층이 참조를 다시 확인한 뒤에야 메모리에 반영되고 한 번의 저장 커밋으로 내려쓴다.
+     * 반영 순서: 수정 → 이동 → 생성 → 삭제
+     */
+    public BookmarkBatchResult applyBatch(BookmarkBatch batch) {
+        Applied applied = metrics.time("service.bookmark.applyBatch", () -> apply(batch));
+        eventBus.publish(applied.events());
+        return applied.result();
+    }
+
+    private Applied apply(BookmarkBatch batch) {
+        Map<String, CompletableFuture<BookmarkType>> checks = new HashMap<>();
+        for (BookmarkBatch.Op op : batch.ops()) {
+            String path = pathOf(op);
+            if (path != null) checks.computeIfAbsent(path, pathValidator::validateAsync);
+        }
+        Map<String, BookmarkType> types = new HashMap<>();
+        Map<String, String> invalid = new HashMap<>();
+        checks.forEach((path, check) -> {
+            try {
+                types.put(path, check.join());
+            } catch (CompletionException e) {
+                invalid.put(path, e.getCause() != null ? e.getCause().getMessage() : e.getMessage());
+            }
+        });
+
+        // 먼저 묶음 전체를 확인만 하고, 통과한 작업만 모아 반영한다 (확인 도중에는 메모리도 id 도 건드리지 않음)
+        List<Accepted> accepted = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        for (BookmarkBatch.Op op : batch.ops()) {
+            String path = pathOf(op);
+            if (path != null && invalid.containsKey(path)) {
+                failures.add(invalid.get(path));
+                continue;
+            }
+            if (op instanceof BookmarkBatch.Create c) {
+                if (!groupExists(c.groupId())) {
+                    failures.add("그룹이 존재하지 않습니다: " + c.groupId());
+                    continue;
+                }
+                accepted.add(new Accepted(op, null));
+            } else if (op instanceof BookmarkBatch.Update u) {
+                Optional<Bookmark> bookmark = bookmarkRepository.findById(u.bookmarkId());
+                if (bookmark.isEmpty()) {
+                    failures.add("bookmark not found: " + u.bookmarkId());
+                    continue;
+                }
+                accepted.add(new Accepted(op, bookmark.get()));
+            } else if (op instanceof BookmarkBatch.Move m) {
+                Optional<Bookmark> bookmark = bookmarkRepository.findById(m.bookmarkId());
+                if (bookmark.isEmpty() || !groupExists(m.toGroupId())) {
+                    failures.add("이동 대상이 존재하지 않습니다: " + m.bookmarkId() + " -> " + m.toGroupId());
+                    continue;
+                }
+                accepted.add(new Accepted(op, bookmark.get()));
+            } else if (op instanceof BookmarkBatch.Delete d) {
+                Optional<Bookmark> bookmark = bookmarkRepository.findById(d.bookmarkId());
+                if (bookmark.isEmpty()) {
+                    failures.add("bookmark not found: " + d.bookmarkId());
+                    continue;
+                }
+                accepted.add(new Accepted(op, bookmark.get()));
+            }
+        }
+
+        List<Bookmark> created = new ArrayList<>();
+        List<BookmarkChanges.Update> updated = new ArrayList<>();
+        List<BookmarkChanges.Move> moved = new ArrayList<>();
+        Set<Long> deleted = new LinkedHashSet<>();
+        List<ChangeEvent> events = new ArrayList<>();
+        for (Accepted entry : accepted) {
+            if (entry.op() instanceof BookmarkBatch.Create c) {
+                Bookmark bookmark = new Bookmark(idGenerator.nextBookmarkId(), c.groupId(), c.displayName(), c.path(), types.get(c.path()));
+                created.add(bookmark);
+                events.add(ChangeEvent.bookmarkAdded(c.groupId(), bookmark.getId()));
+            } else if (entry.op() instanceof BookmarkBatch.Update u) {
+                updated.add(new BookmarkChanges.Update(u.bookmarkId(), u.displayName(), u.path(), types.get(u.path())));
+                events.add(ChangeEvent.bookmarkUpdated(entry.target().getGroupId(), u.bookmarkId()));
+            } else if (entry.op() instanceof BookmarkBatch.Move m) {
+                moved.add(new BookmarkChanges.Move(m.bookmarkId(), m.toGroupId(), m.toIndex()));
+                events.add(ChangeEvent.bookmarkMoved(entry.target().getGroupId(), m.toGroupId(), m.bookmarkId()));
+            } else if (entry.op() instanceof BookmarkBatch.Delete d) {
+                if (deleted.add(d.bookmarkId())) {
+                    events.add(ChangeEvent.bookmarkRemoved(entry.target().getGroupId(), d.bookmarkId()));
+                }
+            }
+        }
+
+        bookmarkRepository.saveChanges(new BookmarkChanges(created, updated, moved, new ArrayList<>(deleted)));
+        int applied = created.size() + updated.size() + moved.size() + deleted.size();
+        logger.info("applyBatch() - ops={}, applied={}, failures={}", batch.size(), applied, failures.size());
+        return new Applied(new BookmarkBatchResult(applied, created, failures), events);
     }
 
+    /**
+     * 기존 북마크를 다른 그룹의 toIndex 위치로 옮긴다. 경로 재검증이나 새 id 발급 없이
+     * 원본 리스트, 대상 리스트, 북마크를 한 번의 커밋으로 저장한다.
+     */
     public void moveBookmark(long bookmarkId, long toGroupId, int toIndex) {
-        // TODO : UI/UX 개선 이후 기능 추가하기
+        long fromGroupId = metrics.time("service.bookmark.move", () -> move(bookmarkId, toGroupId, toIndex));
+        eventBus.publish(ChangeEvent.bookmarkMoved(fromGroupId, toGroupId, bookmarkId));
+    }
+
+    /** 옮기기 전 그룹 id */
+    private long move(long bookmarkId, long toGroupId, int toIndex) {
+        Bookmark bookmark = bookmarkRepository.findById(bookmarkId)
+                .orElseThrow(() -> new RuntimeException("bookmark not found"));
+        long fromGroupId = bookmark.getGroupId();
+        if (!groupExists(toGroupId)) {
+            throw new RuntimeException("그룹이 존재하지 않습니다: " + toGroupId);
+        }
+        BookmarkChanges.Move move = new BookmarkChanges.Move(bookmarkId, toGroupId, toIndex);
+        bookmarkRepository.saveChanges(new BookmarkChanges(List.of(), List.of(), List.of(move), List.of()));
+        return fromGroupId;
+    }
+
+    /** 확인을 통과한 작업과, 수정/이동/삭제면 확인할 때 찾은 북마크 */
+    private record Accepted(BookmarkBatch.Op op, Bookmark target) {}
+
+    /** 반영 결과와 타이머를 멈춘 뒤 발행할 이벤트 */
+    private record Applied(BookmarkBatchResult result, List<ChangeEvent> events) {}
+
+    private boolean groupExists(long groupId) {
+        try {
+            bookmarkGroupService.getBookmarkGroup(groupId);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static String pathOf(BookmarkBatch.Op op) {
+        if (op instanceof BookmarkBatch.Create c) return c.path();
+        if (op instanceof BookmarkBatch.Update u) return u.path();
+        return null;
     }
 }
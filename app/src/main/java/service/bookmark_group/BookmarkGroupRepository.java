@@ -1,5 +1,6 @@
 package service.bookmark_group;
 
+import model.Bookmark;
 import model.BookmarkGroup;
 
 import java.util.List;
@@ -8,8 +9,13 @@ import java.util.Optional;
 public interface BookmarkGroupRepository {
     BookmarkGroup save(BookmarkGroup bookmarkGroup);
     Optional<BookmarkGroup> findById(long id);
-    BookmarkGroup update(BookmarkGroup bookmarkGroup);
+    /** 이름을 바꾸고 저장. 없는 id 면 예외 */
+    BookmarkGroup rename(long id, String name);
     List<BookmarkGroup> findAll();
     void deleteById(long id);
-    void saveAll(List<BookmarkGroup> bookmarkGroups);
+    /** 그룹을 toIndex 로 옮기고 저장. 없는 id 거나 [0, 그룹 수 - 1] 밖이면 예외 */
+    void reorder(long id, int toIndex);
+
+    /** 배경 작업용 목록 읽기. 읽기 전에 불러오지 않았던 목록이면 읽은 뒤 다시 내린다. 없는 그룹이면 예외 */
+    List<Bookmark> scanBookmarks(long id);
 }
@@ -1,76 +1,74 @@
 package service.bookmark_group;
 
+import infra.OperationMetrics;
+import model.Bookmark;
 import model.BookmarkGroup;
+import service.ChangeEvent;
+import service.ChangeEventBus;
 import service.IdGenerator;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
+/** 그룹 생성/이름 변경/삭제/순서 변경. 지표(service.group.*)는 저장까지만 재고 변경 이벤트는 타이머를 멈춘 뒤 발행한다 */
 public class BookmarkGroupService {
 
     private final BookmarkGroupRepository bookmarkGroupRepository;
     private final IdGenerator idGenerator;
+    private final ChangeEventBus eventBus;
+    private final OperationMetrics metrics;
 
-    public BookmarkGroupService(BookmarkGroupRepository bookmarkGroupRepository, IdGenerator idGenerator) {
+    public BookmarkGroupService(BookmarkGroupRepository bookmarkGroupRepository, IdGenerator idGenerator, ChangeEventBus eventBus,
+                                OperationMetrics metrics) {
         this.bookmarkGroupRepository = bookmarkGroupRepository;
         this.idGenerator = idGenerator;
+        this.eventBus = eventBus;
+        this.metrics = metrics;
     }
 
     public BookmarkGroup createBookmarkGroup(String name) {
-        return bookmarkGroupRepository.save(new BookmarkGroup(name, idGenerator.nextGroupId()));
+        BookmarkGroup bookmarkGroup = metrics.time("service.group.create",
+                () -> bookmarkGroupRepository.save(new BookmarkGroup(name, idGenerator.nextGroupId())));
+        eventBus.publish(ChangeEvent.groupAdded(bookmarkGroup.getId()));
+        return bookmarkGroup;
     }
 
     public BookmarkGroup getBookmarkGroup(long id){
-        return bookmarkGroupRepository.findById(id).orElseThrow(
+        return metrics.time("service.group.get", () -> bookmarkGroupRepository.findById(id).orElseThrow(
                 () -> new RuntimeException("그룹이 존재하지 않습니다.")
-        );
+        ));
     }
 
     public List<BookmarkGroup> getBookmarkGroups(){
-        return bookmarkGroupRepository.findAll();
+        return metrics.time("service.group.list", bookmarkGroupRepository::findAll);
+    }
+
+    /** 그룹 전체를 훑는 배경 작업용. 불러오지 않았던 목록은 읽은 뒤 다시 내린다 */
+    public List<Bookmark> scanBookmarks(long id) {
+        return metrics.time("service.group.scan", () -> bookmarkGroupRepository.scanBookmarks(id));
     }
 
     public BookmarkGroup renameBookmarkGroup(long id, String name) {
-        BookmarkGroup bookmarkGroup = bookmarkGroupRepository.findById(id).orElseThrow(
-                () -> new RuntimeException("해당 그룹이 존재하지 않습니다.")
-        );
-        bookmarkGroup.rename(name);
-        return bookmarkGroupRepository.update(bookmarkGroup);
+        BookmarkGroup renamed = metrics.time("service.group.rename", () -> bookmarkGroupRepository.rename(id, name));
+        eventBus.publish(ChangeEvent.groupUpdated(id));
+        return renamed;
     }
 
     public void deleteBookmarkGroup(long id){
-        checkDefaultGroup(id);
-        bookmarkGroupRepository.deleteById(id);
+        metrics.run("service.group.delete", () -> {
+            checkDefaultGroup(id);
+            bookmarkGroupRepository.deleteById(id);
+        });
+        eventBus.publish(ChangeEvent.groupRemoved(id));
     }
 
 
     /**
-     * TODO: 리스트
-     * 새 순서가 null 아님 / 비어있지 않을 경우
-     * 크기 일치: newOrder.size == 기존개수
-     * 동일한 집합: 빠진/낯선 ID 없음
-     * 중복 없음
-     * 인덱스 유효 범위
-     * No-op 감지: 순서가 동일하면 저장 생략(불필요 I/O 방지)
+     * 지금 순서를 읽고 옮겨 저장하는 것은 리포지토리가 쓰기 잠금 안에서 한 번에 한다.
+     * toIndex 는 옮긴 뒤의 위치로 [0, 그룹 수 - 1] 범위여야 한다.
      * */
     public void reorderBookmarkGroups(long prevId, int toIndex){
-        List<BookmarkGroup> bookmarkGroups = bookmarkGroupRepository.findAll();
-
-        int fromIndex = -1;
-        for (int i = 0; i < bookmarkGroups.size(); i++) {
-            if (bookmarkGroups.get(i).getId() == prevId) {
-                fromIndex = i;
-                break;
-            }
-        }
-        if (fromIndex < 0) {
-            throw new RuntimeException("unknown groupId: " + prevId);
-        }
-        BookmarkGroup bookmarkGroup = bookmarkGroups.remove(fromIndex);
-        bookmarkGroups.add(toIndex,bookmarkGroup);
-        bookmarkGroupRepository.saveAll(bookmarkGroups);
+        metrics.run("service.group.reorder", () -> bookmarkGroupRepository.reorder(prevId, toIndex));
+        eventBus.publish(ChangeEvent.groupsReordered());
     }
 
     private void checkDefaultGroup(long id){
@@ -0,0 +1,11 @@
+package service.bookmark_health;
+
+import model.HealthStatus;
+
+/** 북마크 경로 점검 결과. 메모리에만 보관하며 영속화하지 않는다. */
+public record BookmarkHealth(long bookmarkId, HealthStatus status, long checkedAt) {
+
+    public boolean isStale() {
+        return status != HealthStatus.OK;
+    }
+}
@@ -0,0 +1,218 @@
+package service.bookmark_health;
+
+import infra.FileSystemExecutor;
+import model.Bookmark;
+import model.BookmarkGroup;
+import model.BookmarkType;
+import model.HealthStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import service.bookmark_group.BookmarkGroupService;
+
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+
+/**
+ * 저장된 북마크 경로가 아직 유효한지 백그라운드에서 점검한다.
+ * 전체를 한 번에 훑지 않고 tick 마다 sliceSize 개씩 나눠 검사하며, 그룹 목록도 필요할 때 하나씩 읽는다
+ * (불러오지 않았던 목록은 읽은 뒤 다시 내림).
+ * 한 slice 안에서는 concurrency 개의 스레드로 병렬 stat 한다. 응답 없는 드라이브 아래 경로는 그 드라이브의
+ * stat 이 끝날 때까지 다시 보내지 않고 바로 UNREACHABLE 로 본다({@link FileSystemExecutor}).
+ * 상태가 바뀐 북마크는 리스너에 묶어서 전달된다(UI 스레드 아님).
+ */
+public class BookmarkHealthScanner {
+
+    private final BookmarkGroupService bookmarkGroupService;
+    private final int sliceSize;
+    private final long tickMillis;
+    private final long sweepIntervalMillis;
+    private final long timeoutMillis;
+
+    private final ScheduledExecutorService scheduler;
+    private final FileSystemExecutor statPool;
+
+    private final Map<Long, BookmarkHealth> health = new ConcurrentHashMap<>();
+    private final List<Consumer<Map<Long, BookmarkHealth>>> listeners = new CopyOnWriteArrayList<>();
+
+    // scheduler 스레드에서만 접근
+    private List<Long> sweepGroups = List.of(); // 이번 회차에 점검할 그룹
+    private int groupCursor;
+    private List<Bookmark> current = List.of(); // 점검 중인 그룹의 목록
+    private int cursor;
+    private Set<Long> swept = new HashSet<>();  // 이번 회차에 점검한 북마크
+    private boolean sweeping;
+    private long nextSweepAt;
+
+    private final Logger logger = LoggerFactory.getLogger(BookmarkHealthScanner.class);
+
+    public BookmarkHealthScanner(BookmarkGroupService bookmarkGroupService, int concurrency, int sliceSize,
+                                 long tickMillis, long sweepIntervalMillis, long timeoutMillis) {
+        this.bookmarkGroupService = bookmarkGroupService;
+        this.sliceSize = sliceSize;
+        this.tickMillis = tickMillis;
+        this.sweepIntervalMillis = sweepIntervalMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(daemon("Health-Scanner"));
+        this.statPool = new FileSystemExecutor("Health-Stat", concurrency, concurrency);
+    }
+
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+        statPool.shutdown();
+    }
+
+    public void addListener(Consumer<Map<Long, BookmarkHealth>> listener) {
+        listeners.add(listener);
+    }
+
+    /** 아직 점검하지 않은 북마크는 null */
+    public BookmarkHealth healthOf(long bookmarkId) {
+        return health.get(bookmarkId);
+    }
+
+    /** 외부(파일 감시 등)에서 확인한 상태를 즉시 반영 */
+    public void record(BookmarkHealth result) {
+        BookmarkHealth previous = health.put(result.bookmarkId(), result);
+        if (previous == null || previous.status() != result.status()) {
+            for (var listener : listeners) listener.accept(Map.of(result.bookmarkId(), result));
+        }
+    }
+
+    private void tick() {
+        try {
+            if (cursor >= current.size() && groupCursor >= sweepGroups.size()) {
+                if (sweeping) finishSweep();
+                if (System.currentTimeMillis() < nextSweepAt) return;
+                startSweep();
+            }
+            List<Bookmark> slice = nextSlice();
+            if (!slice.isEmpty()) checkSlice(slice);
+        } catch (RuntimeException e) {
+            // 다음 회차에 처음부터 (이번 회차의 기록 정리는 건너뜀)
+            sweepGroups = List.of();
+            current = List.of();
+            cursor = 0;
+            sweeping = false;
+            logger.warn("tick() - 점검 실패, 다음 주기에 재시도: {}", e.toString());
+        }
+    }
+
+    private void startSweep() {
+        List<Long> groups = new ArrayList<>();
+        for (BookmarkGroup group : bookmarkGroupService.getBookmarkGroups()) groups.add(group.getId());
+        sweepGroups = groups;
+        groupCursor = 0;
+        swept = new HashSet<>();
+        sweeping = true;
+        nextSweepAt = System.currentTimeMillis() + sweepIntervalMillis;
+    }
+
+    /** 회차가 끝나면 이번에 보지 못한(삭제된) 북마크의 점검 기록을 정리 */
+    private void finishSweep() {
+        health.keySet().retainAll(swept);
+        swept = new HashSet<>();
+        current = List.of();
+        sweeping = false;
+    }
+
+    /** 다음 sliceSize 개. 목록은 그룹 하나씩 읽어 점검하는 동안만 들고 있다 */
+    private List<Bookmark> nextSlice() {
+        List<Bookmark> slice = new ArrayList<>(sliceSize);
+        while (slice.size() < sliceSize) {
+            if (cursor < current.size()) {
+                int end = Math.min(cursor + sliceSize - slice.size(), current.size());
+                slice.addAll(current.subList(cursor, end));
+                cursor = end;
+            } else if (groupCursor < sweepGroups.size()) {
+                current = read(sweepGroups.get(groupCursor++));
+                cursor = 0;
+            } else {
+                break;
+            }
+        }
+        for (Bookmark bookmark : slice) swept.add(bookmark.getId());
+        return slice;
+    }
+
+    private List<Bookmark> read(long groupId) {
+        try {
+            return bookmarkGroupService.scanBookmarks(groupId);
+        } catch (RuntimeException e) {
+            return List.of(); // 그 사이 삭제된 그룹
+        }
+    }
+
+    private void checkSlice(List<Bookmark> slice) {
+        List<CompletableFuture<BookmarkHealth>> checks = new ArrayList<>(slice.size());
+        for (Bookmark bookmark : slice) {
+            String path = bookmark.getPath();
+            BookmarkType expected = bookmark.getTargetType();
+            long id = bookmark.getId();
+            checks.add(statPool.submit(path, timeoutMillis, () -> check(id, path, expected))
+                    .exceptionally(ex -> null) // 시간 초과, 멈춘 드라이브
+                    .thenApply(result -> result != null ? result
+                            : new BookmarkHealth(id, HealthStatus.UNREACHABLE, System.currentTimeMillis())));
+        }
+
+        Map<Long, BookmarkHealth> changed = new HashMap<>();
+        for (CompletableFuture<BookmarkHealth> check : checks) {
+            BookmarkHealth result = check.join();
+            BookmarkHealth previous = health.put(result.bookmarkId(), result);
+            if (previous == null ? result.isStale() : previous.status() != result.status()) {
+                changed.put(result.bookmarkId(), result);
+            }
+        }
+        if (!changed.isEmpty()) {
+            logger.info("checkSlice() - 상태 변경 {}건", changed.size());
+            for (var listener : listeners) listener.accept(changed);
+        }
+    }
+
+    private static BookmarkHealth check(long id, String path, BookmarkType expected) {
+        HealthStatus status;
+        try {
+            Path p = Paths.get(path);
+            BasicFileAttributes a = Files.readAttributes(p, BasicFileAttributes.class, NOFOLLOW_LINKS);
+            BookmarkType actual = a.isDirectory() ? BookmarkType.DIRECTORY : a.isRegularFile() ? BookmarkType.FILE : null;
+            status = actual == expected ? HealthStatus.OK : HealthStatus.TYPE_CHANGED;
+        } catch (NoSuchFileException e) {
+            status = HealthStatus.MISSING;
+        } catch (Exception e) {
+            status = HealthStatus.UNREACHABLE;
+        }
+        return new BookmarkHealth(id, status, System.currentTimeMillis());
+    }
+
+    private static ThreadFactory daemon(String name) {
+        AtomicInteger seq = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + seq.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
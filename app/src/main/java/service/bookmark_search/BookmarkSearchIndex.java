@@ -0,0 +1,447 @@
+package service.bookmark_search;
+
+import model.Bookmark;
+import model.BookmarkGroup;
+import model.BookmarkType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import service.ChangeEvent;
+import service.bookmark_group.BookmarkGroupService;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * displayName/path 의 trigram 역색인 (메모리 전용, 영속화하지 않음).
+ * 시작 시 {@link #rebuild()} 로 만들고 이후에는 {@link #onChanges(List)} 로 바뀐 북마크만 갱신한다.
+ * 질의 trigram 중 {@link #MIN_MATCH_RATIO} 이상을 포함하면 후보로 보고(오타 허용),
+ * 이름/경로에 질의가 그대로 들어 있으면 점수를 더 준다.
+ * 3글자 미만 질의는 trigram 이 없으므로 전체를 훑는다.
+ * 색인은 그룹 목록을 하나씩 읽어 만들고, 읽으려고 불러온 목록은 바로 다시 내린다
+ * ({@link BookmarkGroupService#scanBookmarks(long)}). 북마크 객체 대신 id/그룹 id/이름/경로/종류를 slot 에 들고 있어
+ * 검색 결과는 그 값으로 만든 사본이며, 검색은 목록을 불러오지 않는다.
+ * 검색은 색인이 끝나기를 기다리지 않는다. 시작 직후 색인 중이면 그때까지 색인한 그룹에서만 찾는다.
+ */
+public class BookmarkSearchIndex {
+
+    private static final double MIN_MATCH_RATIO = 0.5;
+    private static final int NAME_BONUS = 50;        // 이름에서 맞은 trigram 비율만큼
+    private static final int MAX_SCORE = 100 + 300 + NAME_BONUS; // trigram 전부 + 이름 접두 일치
+    private static final Comparator<Hit> RANK = Comparator.comparingInt(Hit::score)
+            .thenComparing(h -> -h.nameLength());
+
+    private final BookmarkGroupService bookmarkGroupService;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // slot 단위 문서 (names[slot] == null 이면 빈 slot). 삭제된 slot 은 free 에 넣어 재사용
+    private long[] ids = new long[1024];
+    private long[] groupIds = new long[1024];
+    private String[] names = new String[1024];        // 정규화한 이름 (검색용)
+    private String[] paths = new String[1024];        // 정규화한 경로 (검색용)
+    private String[] displayNames = new String[1024]; // 결과용 원래 값
+    private String[] rawPaths = new String[1024];
+    private BookmarkType[] types = new BookmarkType[1024];
+    private int[][] grams = new int[1024][];     // 이름 + 경로
+    private int[][] nameGrams = new int[1024][]; // 이름만 (점수용)
+    private int used;
+    private final IntList free = new IntList();
+    private final Map<Long, Integer> slots = new HashMap<>();     // bookmarkId → slot
+    private final Map<Integer, IntList> postings = new HashMap<>(); // trigram → slot 목록
+    // rebuild 중에 지운 북마크. 그 전에 읽은 목록으로 되살리지 않도록 (rebuild 중이 아니면 null)
+    private Set<Long> dropped;
+
+    private final Logger logger = LoggerFactory.getLogger(BookmarkSearchIndex.class);
+
+    public BookmarkSearchIndex(BookmarkGroupService bookmarkGroupService) {
+        this.bookmarkGroupService = bookmarkGroupService;
+    }
+
+    /** 락 밖에서 보관하는 결과 후보 */
+    private record Hit(Bookmark bookmark, int score, int nameLength) {
+    }
+
+    /**
+     * 전체 재색인. 그룹 목록은 잠금 밖에서 하나씩 읽고(불러온 목록은 다시 내림) 그룹마다 쓰기 잠금을 따로 잡아
+     * 그 사이의 검색이 오래 기다리지 않는다. 목록을 읽은 뒤 onChanges 가 먼저 반영한 북마크는 옛 값으로 덮지 않는다
+     */
+    public void rebuild() {
+        long started = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(names, null);
+            Arrays.fill(paths, null);
+            Arrays.fill(displayNames, null);
+            Arrays.fill(rawPaths, null);
+            Arrays.fill(types, null);
+            Arrays.fill(grams, null);
+            Arrays.fill(nameGrams, null);
+            used = 0;
+            free.clear();
+            slots.clear();
+            postings.clear();
+            dropped = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            for (BookmarkGroup group : bookmarkGroupService.getBookmarkGroups()) {
+                List<Bookmark> bookmarks;
+                try {
+                    bookmarks = bookmarkGroupService.scanBookmarks(group.getId());
+                } catch (RuntimeException e) {
+                    continue; // 그 사이 삭제된 그룹
+                }
+                lock.writeLock().lock();
+                try {
+                    if (!isLive(group)) continue;
+                    for (Bookmark bookmark : bookmarks) {
+                        long id = bookmark.getId();
+                        if (!slots.containsKey(id) && !dropped.contains(id)) add(group.getId(), bookmark);
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                dropped = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        logger.info("rebuild() - {}개 색인, {}ms", size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /** 데몬 스레드에서 rebuild. 끝나기 전의 검색은 그때까지 색인한 그룹에서 찾는다 */
+    public void rebuildInBackground() {
+        Thread t = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                logger.error("rebuildInBackground() - 색인 실패", e);
+            }
+        }, "Search-Index");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /** ChangeEventBus 리스너: 이벤트에 나온 북마크만 다시 색인 */
+    public void onChanges(List<ChangeEvent> events) {
+        Set<Long> removedGroups = new HashSet<>();
+        Set<Long> removed = new HashSet<>();
+        Map<Long, Set<Long>> touched = new HashMap<>(); // groupId → bookmarkId (null 이면 그룹 전체)
+        for (ChangeEvent e : events) {
+            switch (e.type()) {
+                case GROUP_REMOVED -> removedGroups.add(e.groupId());
+                case GROUP_ADDED -> touched.put(e.groupId(), null);
+                case BOOKMARK_REMOVED -> removed.add(e.bookmarkId());
+                case BOOKMARK_ADDED, BOOKMARK_UPDATED, BOOKMARK_MOVED -> {
+                    if (!touched.containsKey(e.groupId()) || touched.get(e.groupId()) != null) {
+                        touched.computeIfAbsent(e.groupId(), id -> new HashSet<>()).add(e.bookmarkId());
+                    }
+                }
+                default -> { }
+            }
+        }
+        if (removedGroups.isEmpty() && removed.isEmpty() && touched.isEmpty()) return;
+
+        lock.writeLock().lock();
+        try {
+            if (!removedGroups.isEmpty()) {
+                for (int slot = 0; slot < used; slot++) {
+                    if (names[slot] != null && removedGroups.contains(groupIds[slot])) remove(slot);
+                }
+            }
+            for (long id : removed) {
+                Integer slot = slots.get(id);
+                if (slot != null) remove(slot);
+                if (dropped != null) dropped.add(id);
+            }
+            // 방금 바뀐 그룹의 목록은 메모리에 있으므로 잠금 안에서 읽는다: 그룹당 한 번만 훑는다
+            for (var entry : touched.entrySet()) {
+                List<Bookmark> bookmarks;
+                try {
+                    bookmarks = bookmarkGroupService.scanBookmarks(entry.getKey());
+                } catch (RuntimeException e) {
+                    continue; // 같은 묶음 안에서 이미 삭제된 그룹
+                }
+                upsertAll(entry.getKey(), bookmarks, entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 색인에 든 북마크의 사본 (목록을 불러오지 않음). 없거나 아직 색인하지 않았으면 empty */
+    public Optional<Bookmark> find(long bookmarkId) {
+        lock.readLock().lock();
+        try {
+            Integer slot = slots.get(bookmarkId);
+            return slot == null ? Optional.empty() : Optional.of(bookmark(slot));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** 점수 순 상위 limit 개 */
+    public List<SearchHit> search(String query, int limit) {
+        String q = normalize(query).strip();
+        if (q.isEmpty() || limit <= 0) return List.of();
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, RANK);
+        lock.readLock().lock();
+        try {
+            int[] qGrams = trigrams(q, null);
+            if (qGrams.length == 0) {
+                for (int slot = 0; slot < used; slot++) {
+                    if (names[slot] == null) continue;
+                    int exact = exactScore(slot, q);
+                    if (exact == 0) continue;
+                    int score = 100 + exact;
+                    if (!beatsTop(top, limit, score, slot)) continue;
+                    offer(top, hit(slot, score), limit);
+                }
+            } else {
+                // 후보는 필요한 개수(need) 이상 맞는 문서. 목록이 짧은 trigram 부터 (len - need + 1) 개 안에 후보가 모두 있으므로
+                // 그 목록으로 후보를 모으고, 나머지 목록은 이미 모인 후보의 개수만 올린다
+                IntList[] lists = new IntList[qGrams.length];
+                for (int i = 0; i < qGrams.length; i++) lists[i] = postings.getOrDefault(qGrams[i], IntList.EMPTY);
+                Arrays.sort(lists, Comparator.comparingInt(l -> l.size));
+                int need = Math.max(1, (int) Math.ceil(qGrams.length * MIN_MATCH_RATIO));
+                int probe = qGrams.length - need + 1;
+
+                int[] counts = new int[used]; // 긴 검색어/경로는 맞는 trigram 이 255 개를 넘을 수 있다
+                IntList candidates = new IntList();
+                for (int p = 0; p < lists.length; p++) {
+                    IntList list = lists[p];
+                    for (int i = 0; i < list.size; i++) {
+                        int slot = list.values[i];
+                        if (counts[slot] == 0) {
+                            if (p >= probe) continue;
+                            candidates.add(slot);
+                        }
+                        counts[slot]++;
+                    }
+                }
+
+                for (int i = 0; i < candidates.size; i++) {
+                    int slot = candidates.values[i];
+                    int matched = counts[slot];
+                    if (matched < need) continue;
+                    // trigram 이 모두 맞을 때만 그대로 포함되었는지 확인
+                    int score = matched * 100 / qGrams.length + (matched == qGrams.length ? exactScore(slot, q) : 0);
+                    if (top.size() == limit && score + NAME_BONUS < top.peek().score()) continue;
+                    score += nameBonus(slot, qGrams);
+                    if (!beatsTop(top, limit, score, slot)) continue;
+                    offer(top, hit(slot, score), limit);
+                    // 최고점으로 가득 찼으면 더 볼 필요 없음
+                    if (top.size() == limit && top.peek().score() == MAX_SCORE) break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(RANK.reversed());
+        List<SearchHit> hits = new ArrayList<>(ranked.size());
+        for (Hit hit : ranked) hits.add(new SearchHit(hit.bookmark(), hit.score()));
+        return hits;
+    }
+
+    // ===== 내부 =====
+
+    /** rebuild 가 목록을 읽은 뒤 삭제된 그룹은 색인하지 않는다 */
+    private boolean isLive(BookmarkGroup group) {
+        try {
+            return bookmarkGroupService.getBookmarkGroup(group.getId()) == group;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /** 목록에서 ids 에 든 북마크(null 이면 전부)를 넣거나 바꾼다. 쓰기 잠금 안에서 호출 */
+    private void upsertAll(long groupId, List<Bookmark> bookmarks, Set<Long> ids) {
+        for (Bookmark bookmark : bookmarks) {
+            if (ids != null && !ids.contains(bookmark.getId())) continue;
+            Integer slot = slots.get(bookmark.getId());
+            if (slot != null) {
+                // 그룹 이동만 한 경우 값이 같으므로 그룹 id 만 바꾸고 재색인 생략
+                if (displayNames[slot].equals(bookmark.getDisplayName()) && rawPaths[slot].equals(bookmark.getPath())
+                        && types[slot] == bookmark.getTargetType()) {
+                    groupIds[slot] = groupId;
+                    continue;
+                }
+                remove(slot);
+            }
+            add(groupId, bookmark);
+        }
+    }
+
+    private Hit hit(int slot, int score) {
+        return new Hit(bookmark(slot), score, names[slot].length());
+    }
+
+    /** slot 의 값으로 만든 사본. 잠금 안에서 호출 */
+    private Bookmark bookmark(int slot) {
+        return new Bookmark(ids[slot], groupIds[slot], displayNames[slot], rawPaths[slot], types[slot]);
+    }
+
+    /** 질의가 그대로 들어 있을 때의 가산점 (없으면 0) */
+    private int exactScore(int slot, String q) {
+        if (names[slot].startsWith(q)) return 300;
+        if (names[slot].contains(q)) return 200;
+        if (paths[slot].contains(q)) return 100;
+        return 0;
+    }
+
+    /** 질의 trigram 중 이름에 있는 비율만큼 (경로에만 맞은 문서보다 앞에 오도록) */
+    private int nameBonus(int slot, int[] qGrams) {
+        int inName = 0;
+        for (int g : qGrams) if (Arrays.binarySearch(nameGrams[slot], g) >= 0) inName++;
+        return inName * NAME_BONUS / qGrams.length;
+    }
+
+    /** 힙이 찼을 때 최하위보다 앞서는지 (SearchHit 을 만들기 전에 거름) */
+    private boolean beatsTop(PriorityQueue<Hit> top, int limit, int score, int slot) {
+        if (top.size() < limit) return true;
+        Hit last = top.peek();
+        if (score != last.score()) return score > last.score();
+        return names[slot].length() < last.nameLength();
+    }
+
+    private static void offer(PriorityQueue<Hit> top, Hit hit, int limit) {
+        if (top.size() < limit) {
+            top.add(hit);
+        } else if (RANK.compare(hit, top.peek()) > 0) {
+            top.poll();
+            top.add(hit);
+        }
+    }
+
+    private void add(long groupId, Bookmark bookmark) {
+        int slot = free.size > 0 ? free.pop() : used++;
+        if (slot >= names.length) grow();
+        long id = bookmark.getId();
+        ids[slot] = id;
+        groupIds[slot] = groupId;
+        names[slot] = normalize(bookmark.getDisplayName());
+        paths[slot] = normalize(bookmark.getPath());
+        displayNames[slot] = bookmark.getDisplayName();
+        rawPaths[slot] = bookmark.getPath();
+        types[slot] = bookmark.getTargetType();
+        int[] g = trigrams(names[slot], paths[slot]);
+        grams[slot] = g;
+        nameGrams[slot] = trigrams(names[slot], null);
+        for (int gram : g) postings.computeIfAbsent(gram, k -> new IntList()).add(slot);
+        slots.put(id, slot);
+    }
+
+    private void remove(int slot) {
+        for (int gram : grams[slot]) {
+            IntList list = postings.get(gram);
+            if (list != null && list.remove(slot) && list.size == 0) postings.remove(gram);
+        }
+        slots.remove(ids[slot]);
+        names[slot] = null;
+        paths[slot] = null;
+        displayNames[slot] = null;
+        rawPaths[slot] = null;
+        types[slot] = null;
+        grams[slot] = null;
+        nameGrams[slot] = null;
+        free.add(slot);
+    }
+
+    private void grow() {
+        int n = names.length * 2;
+        ids = Arrays.copyOf(ids, n);
+        groupIds = Arrays.copyOf(groupIds, n);
+        names = Arrays.copyOf(names, n);
+        paths = Arrays.copyOf(paths, n);
+        displayNames = Arrays.copyOf(displayNames, n);
+        rawPaths = Arrays.copyOf(rawPaths, n);
+        types = Arrays.copyOf(types, n);
+        grams = Arrays.copyOf(grams, n);
+        nameGrams = Arrays.copyOf(nameGrams, n);
+    }
+
+    private static String normalize(String s) {
+        return s == null ? "" : s.toLowerCase(Locale.ROOT).replace('\\', '/');
+    }
+
+    /** 두 문자열의 trigram 합집합 (정렬, 중복 제거) */
+    private static int[] trigrams(String a, String b) {
+        int[] out = new int[Math.max(0, a.length() - 2) + (b == null ? 0 : Math.max(0, b.length() - 2))];
+        int n = collect(a, out, 0);
+        if (b != null) n = collect(b, out, n);
+        Arrays.sort(out, 0, n);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || out[distinct - 1] != out[i]) out[distinct++] = out[i];
+        }
+        return Arrays.copyOf(out, distinct);
+    }
+
+    private static int collect(String s, int[] out, int n) {
+        for (int i = 0; i + 2 < s.length(); i++) out[n++] = gram(s.charAt(i), s.charAt(i + 1), s.charAt(i + 2));
+        return n;
+    }
+
+    private static int gram(char a, char b, char c) {
+        // 라틴 문자는 그대로 묶고, 그 외(한글 등)는 해시. 충돌은 점수 계산에서 걸러짐
+        if ((a | b | c) < 1024) return (a << 20) | (b << 10) | c;
+        return ((a * 31 + b) * 31 + c) | 0x4000_0000;
+    }
+
+    /** 박싱 없는 slot 목록. 순서는 유지하지 않는다(삭제 시 끝 원소로 메움) */
+    private static final class IntList {
+        static final IntList EMPTY = new IntList();
+
+        int[] values = new int[4];
+        int size;
+
+        void add(int v) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = v;
+        }
+
+        boolean remove(int v) {
+            for (int i = 0; i < size; i++) {
+                if (values[i] == v) {
+                    values[i] = values[--size];
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int pop() {
+            return values[--size];
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package service.bookmark_search;
+
+import model.Bookmark;
+
+/** 검색 결과 한 건. bookmark 는 색인이 들고 있는 값으로 만든 사본이며 score 가 클수록 앞에 온다 */
+public record SearchHit(Bookmark bookmark, int score) {
+}
@@ -0,0 +1,282 @@
+package service.bookmark_usage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import service.ChangeEvent;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 북마크 열기/복사 횟수를 시간 감쇠 점수(frecency)로 집계한다.
+ * 점수는 사용할 때마다 halfLife 기준으로 감쇠시킨 뒤 가중치를 더하므로 북마크당 (점수, 마지막 사용 시각) 만 들고 있다.
+ * 사용 기록은 MicroStream 에 저장하지 않고 한 줄짜리 로그로 모아 두었다가 flush 주기마다 파일 끝에 덧붙인다.
+ * 로그가 compactLines 줄을 넘으면 현재 점수만 남긴 스냅샷으로 파일을 교체한다(스냅샷 줄도 로그 줄 수에 셈).
+ * 확장 프로그램이 알려준 사이트에서 대화상자가 열린 뒤 siteContextMillis 안의 사용은 그 사이트에도 기록해
+ * 다음에 같은 사이트에서 열릴 때 먼저 제안한다({@link #siteSuggestions(int)}).
+ *
+ * 로그 형식 (공백 구분): {@code O id ts [host]} 열기, {@code C id ts [host]} 복사, {@code D id} 삭제,
+ * {@code S id score lastAt} 스냅샷, {@code H id score lastAt host} 사이트 스냅샷
+ */
+public class BookmarkUsageTracker {
+
+    public enum Kind {
+        OPEN('O', 1.0), COPY('C', 0.5);
+
+        private final char tag;
+        private final double weight;
+
+        Kind(char tag, double weight) {
+            this.tag = tag;
+            this.weight = weight;
+        }
+    }
+
+    /** 점수 순위 한 건 */
+    public record Ranked(long bookmarkId, double score) {}
+
+    private static final class Usage {
+        double score;
+        long lastAt;
+    }
+
+    private final Path logFile;
+    private final long halfLifeMillis;
+    private final long flushIntervalMillis;
+    private final int compactLines;
+    private final long siteContextMillis;
+
+    private final Map<Long, Usage> usages = new HashMap<>();
+    private final SiteAffinity sites;
+    private volatile String site;
+    private volatile long siteSince;
+    private StringBuilder pending = new StringBuilder();
+    private int loggedLines;
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "Usage-Flusher");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Logger logger = LoggerFactory.getLogger(BookmarkUsageTracker.class);
+
+    public BookmarkUsageTracker(Path logFile, long halfLifeMillis, long flushIntervalMillis, int compactLines,
+                                long siteContextMillis, int maxSites, int maxBookmarksPerSite) {
+        this.logFile = logFile;
+        this.halfLifeMillis = halfLifeMillis;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.compactLines = compactLines;
+        this.siteContextMillis = siteContextMillis;
+        this.sites = new SiteAffinity(maxSites, maxBookmarksPerSite, halfLifeMillis);
+    }
+
+    /** 로그를 다시 읽어 점수 복원. 깨진 줄은 건너뜀 */
+    public synchronized void load() {
+        usages.clear();
+        loggedLines = 0;
+        try (BufferedReader in = Files.newBufferedReader(logFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                loggedLines++;
+                String[] f = line.split(" ");
+                try {
+                    long id = Long.parseLong(f[1]);
+                    switch (f[0]) {
+                        case "O", "C" -> {
+                            double weight = f[0].equals("O") ? Kind.OPEN.weight : Kind.COPY.weight;
+                            long at = Long.parseLong(f[2]);
+                            apply(id, weight, at);
+                            if (f.length > 3) sites.add(f[3], id, weight, at);
+                        }
+                        case "D" -> {
+                            usages.remove(id);
+                            sites.forget(id);
+                        }
+                        case "H" -> sites.put(f[4], id, Double.parseDouble(f[2]), Long.parseLong(f[3]));
+                        case "S" -> {
+                            Usage u = usages.computeIfAbsent(id, k -> new Usage());
+                            u.score = Double.parseDouble(f[2]);
+                            u.lastAt = Long.parseLong(f[3]);
+                        }
+                        default -> { }
+                    }
+                } catch (RuntimeException e) {
+                    logger.warn("load() - 잘못된 줄 무시: {}", line);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // 처음 실행
+        } catch (IOException e) {
+            logger.error("load() - 사용 기록을 읽지 못함", e);
+        }
+    }
+
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** 남은 기록을 내려쓰고 종료. 주기 flush 가 끝난 뒤에 마지막 flush 를 해 파일을 동시에 쓰지 않는다 */
+    public void close() {
+        flusher.shutdown();
+        try {
+            while (!flusher.awaitTermination(5, TimeUnit.SECONDS)) {
+                logger.warn("close() - 진행 중인 사용 기록 저장을 기다리는 중");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.error("close() - 종료 대기 중 인터럽트, 남은 사용 기록을 저장하지 않음");
+            return;
+        }
+        flush();
+    }
+
+    /** 확장 프로그램이 보낸 URL 의 사이트에서 대화상자가 열림. 이후 사용은 이 사이트에도 기록 */
+    public void enterSite(String url) {
+        siteSince = System.currentTimeMillis();
+        site = SiteAffinity.hostOf(url);
+    }
+
+    /** 사이트 문맥이 유효하면 host, 아니면 null */
+    public String activeSite() {
+        String current = site;
+        return current != null && System.currentTimeMillis() - siteSince <= siteContextMillis ? current : null;
+    }
+
+    /** EDT 에서 호출됨: 메모리 갱신과 로그 버퍼 추가만 한다 */
+    public synchronized void record(long bookmarkId, Kind kind) {
+        long now = System.currentTimeMillis();
+        String host = activeSite();
+        apply(bookmarkId, kind.weight, now);
+        pending.append(kind.tag).append(' ').append(bookmarkId).append(' ').append(now);
+        if (host != null) {
+            sites.add(host, bookmarkId, kind.weight, now);
+            pending.append(' ').append(host);
+        }
+        pending.append('\n');
+    }
+
+    public synchronized void forget(long bookmarkId) {
+        sites.forget(bookmarkId);
+        if (usages.remove(bookmarkId) != null) pending.append("D ").append(bookmarkId).append('\n');
+    }
+
+    /** ChangeEventBus 리스너: 삭제된 북마크 기록 제거 */
+    public void onChanges(List<ChangeEvent> events) {
+        for (ChangeEvent e : events) {
+            if (e.type() == ChangeEvent.Type.BOOKMARK_REMOVED) forget(e.bookmarkId());
+        }
+    }
+
+    /** 현재 시각 기준 감쇠 점수 (기록 없으면 0) */
+    public synchronized double score(long bookmarkId) {
+        Usage u = usages.get(bookmarkId);
+        return u == null ? 0 : decayed(u, System.currentTimeMillis());
+    }
+
+    /** 점수 상위 limit 개 (높은 순) */
+    public synchronized List<Ranked> top(int limit) {
+        long now = System.currentTimeMillis();
+        List<Ranked> all = new ArrayList<>(usages.size());
+        for (var entry : usages.entrySet()) all.add(new Ranked(entry.getKey(), decayed(entry.getValue(), now)));
+        all.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return all.size() > limit ? new ArrayList<>(all.subList(0, limit)) : all;
+    }
+
+    /** 현재 사이트에서 쓴 북마크 점수 상위 limit 개 (사이트 문맥이 없으면 빈 목록) */
+    public synchronized List<Ranked> siteSuggestions(int limit) {
+        String host = activeSite();
+        return host == null ? List.of() : sites.top(host, limit, System.currentTimeMillis());
+    }
+
+    /** 주어진 URL 의 사이트에서 쓴 북마크 점수 상위 limit 개 (현재 사이트 문맥은 바꾸지 않음) */
+    public synchronized List<Ranked> suggestionsForUrl(String url, int limit) {
+        String host = SiteAffinity.hostOf(url);
+        return host == null ? List.of() : sites.top(host, limit, System.currentTimeMillis());
+    }
+
+    // ===== 내부 =====
+
+    private void apply(long bookmarkId, double weight, long at) {
+        Usage u = usages.computeIfAbsent(bookmarkId, k -> new Usage());
+        u.score = decayed(u, at) + weight;
+        u.lastAt = Math.max(u.lastAt, at);
+    }
+
+    private double decayed(Usage u, long now) {
+        if (u.lastAt == 0) return u.score;
+        return u.score * Math.pow(0.5, (double) Math.max(0, now - u.lastAt) / halfLifeMillis);
+    }
+
+    /**
+     * 쌓인 기록을 파일 끝에 덧붙인다. 로그가 compactLines 줄을 넘으면 덧붙이는 대신 현재 점수 스냅샷으로 파일을 교체한다.
+     * 스냅샷은 pending 을 비우는 것과 같은 잠금 안에서 만들므로 이미 스냅샷에 반영된 기록이 다시 덧붙지 않는다.
+     * 쓰기에 실패하면 기록을 pending 앞에 되돌려 다음 주기에 다시 쓴다.
+     */
+    private void flush() {
+        String chunk;
+        String snapshot = null;
+        synchronized (this) {
+            if (pending.isEmpty()) return;
+            chunk = pending.toString();
+            pending = new StringBuilder();
+            if (loggedLines + lineCount(chunk) > compactLines) snapshot = snapshot();
+        }
+        try {
+            Files.createDirectories(logFile.getParent());
+            if (snapshot != null) {
+                replaceLog(snapshot);
+            } else {
+                Files.writeString(logFile, chunk, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            }
+            synchronized (this) {
+                loggedLines = snapshot != null ? lineCount(snapshot) : loggedLines + lineCount(chunk);
+            }
+        } catch (IOException e) {
+            logger.error("flush() - 사용 기록 저장 실패", e);
+            synchronized (this) {
+                pending.insert(0, chunk); // 다음 주기에 재시도
+            }
+        }
+    }
+
+    /** 현재 점수(S)와 사이트 점수(H)만 담은 로그 내용. 잠금 안에서 호출 */
+    private String snapshot() {
+        StringWriter out = new StringWriter();
+        for (var entry : usages.entrySet()) {
+            Usage u = entry.getValue();
+            out.write("S " + entry.getKey() + " " + u.score + " " + u.lastAt + "\n");
+        }
+        try {
+            sites.writeSnapshot(out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // StringWriter 는 IOException 을 던지지 않음
+        }
+        return out.toString();
+    }
+
+    private void replaceLog(String snapshot) throws IOException {
+        Path tmp = logFile.resolveSibling(logFile.getFileName() + ".tmp");
+        Files.writeString(tmp, snapshot, StandardCharsets.UTF_8);
+        Files.move(tmp, logFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int lineCount(String text) {
+        return (int) text.chars().filter(c -> c == '\n').count();
+    }
+}
@@ -0,0 +1,115 @@
+package service.bookmark_usage;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 사이트(host)별로 그 사이트의 파일 대화상자에서 사용한 북마크 점수.
+ * 사이트는 최근 사용 순 LRU 로 maxSites 개까지, 사이트당 북마크는 점수 상위 maxPerSite 개까지만 유지한다.
+ * 동기화는 {@link BookmarkUsageTracker} 가 담당한다.
+ */
+final class SiteAffinity {
+
+    private static final class Hit {
+        double score;
+        long lastAt;
+    }
+
+    private final int maxPerSite;
+    private final long halfLifeMillis;
+    private final LinkedHashMap<String, Map<Long, Hit>> sites;
+
+    SiteAffinity(int maxSites, int maxPerSite, long halfLifeMillis) {
+        this.maxPerSite = maxPerSite;
+        this.halfLifeMillis = halfLifeMillis;
+        this.sites = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<String, Map<Long, Hit>> eldest) {
+                return size() > maxSites;
+            }
+        };
+    }
+
+    /** URL 에서 비교용 host 추출 (www. 제거, 소문자). 알 수 없으면 null */
+    static String hostOf(String url) {
+        if (url == null || url.isBlank()) return null;
+        try {
+            String host = URI.create(url.trim()).getHost();
+            if (host == null || host.isBlank()) return null;
+            host = host.toLowerCase(Locale.ROOT);
+            return host.startsWith("www.") ? host.substring(4) : host;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    void add(String host, long bookmarkId, double weight, long at) {
+        Map<Long, Hit> hits = sites.computeIfAbsent(host, k -> new HashMap<>());
+        Hit hit = hits.computeIfAbsent(bookmarkId, k -> new Hit());
+        hit.score = decayed(hit, at) + weight;
+        hit.lastAt = Math.max(hit.lastAt, at);
+        if (hits.size() > maxPerSite) evictLowest(hits, at, bookmarkId);
+    }
+
+    /** 스냅샷 복원용: 점수를 그대로 넣음 */
+    void put(String host, long bookmarkId, double score, long lastAt) {
+        Map<Long, Hit> hits = sites.computeIfAbsent(host, k -> new HashMap<>());
+        Hit hit = hits.computeIfAbsent(bookmarkId, k -> new Hit());
+        hit.score = score;
+        hit.lastAt = lastAt;
+        if (hits.size() > maxPerSite) evictLowest(hits, lastAt, bookmarkId);
+    }
+
+    /** 점수 높은 순. 조회도 LRU 순서를 갱신한다 */
+    List<BookmarkUsageTracker.Ranked> top(String host, int limit, long now) {
+        Map<Long, Hit> hits = sites.get(host);
+        if (hits == null) return List.of();
+        List<BookmarkUsageTracker.Ranked> ranked = new ArrayList<>(hits.size());
+        for (var entry : hits.entrySet()) ranked.add(new BookmarkUsageTracker.Ranked(entry.getKey(), decayed(entry.getValue(), now)));
+        ranked.sort((a, b) -> Double.compare(b.score(), a.score()));
+        return ranked.size() > limit ? new ArrayList<>(ranked.subList(0, limit)) : ranked;
+    }
+
+    void forget(long bookmarkId) {
+        for (Iterator<Map<Long, Hit>> it = sites.values().iterator(); it.hasNext(); ) {
+            Map<Long, Hit> hits = it.next();
+            if (hits.remove(bookmarkId) != null && hits.isEmpty()) it.remove();
+        }
+    }
+
+    /** 로그 압축용 스냅샷: {@code H id score lastAt host} */
+    void writeSnapshot(Writer out) throws IOException {
+        for (var site : sites.entrySet()) {
+            for (var hit : site.getValue().entrySet()) {
+                out.write("H " + hit.getKey() + " " + hit.getValue().score + " " + hit.getValue().lastAt + " " + site.getKey() + "\n");
+            }
+        }
+    }
+
+    /** 방금 넣은 항목(keep)을 제외하고 점수가 가장 낮은 항목 제거 */
+    private void evictLowest(Map<Long, Hit> hits, long now, long keep) {
+        Long lowest = null;
+        double lowestScore = Double.MAX_VALUE;
+        for (var entry : hits.entrySet()) {
+            if (entry.getKey() == keep) continue;
+            double score = decayed(entry.getValue(), now);
+            if (score < lowestScore) {
+                lowestScore = score;
+                lowest = entry.getKey();
+            }
+        }
+        hits.remove(lowest);
+    }
+
+    private double decayed(Hit hit, long now) {
+        if (hit.lastAt == 0) return hit.score;
+        return hit.score * Math.pow(0.5, (double) Math.max(0, now - hit.lastAt) / halfLifeMillis);
+    }
+}
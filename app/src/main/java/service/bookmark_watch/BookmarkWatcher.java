@@ -0,0 +1,392 @@
+package service.bookmark_watch;
+
+import infra.FileSystemExecutor;
+import model.Bookmark;
+import model.BookmarkGroup;
+import model.HealthStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import service.ChangeEvent;
+import service.bookmark.BookmarkBatch;
+import service.bookmark.BookmarkBatchResult;
+import service.bookmark.BookmarkService;
+import service.bookmark_group.BookmarkGroupService;
+import service.bookmark_health.BookmarkHealth;
+import service.bookmark_health.BookmarkHealthScanner;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * 북마크 경로의 부모 폴더를 WatchService 로 감시해 이름 변경/삭제를 따라간다.
+ *
+ * <ul>
+ *   <li>부모 폴더는 중복 없이 등록하고, 북마크가 많은 폴더부터 maxKeys 개까지만 감시한다.</li>
+ *   <li>전체 목록은 시작할 때 한 번만 읽고, 이후에는 {@link #onChanges(List)} 로 받은 변경만 반영한다.</li>
+ *   <li>폴더 등록은 {@link FileSystemExecutor} 에서 제한 시간과 함께 하므로 응답 없는 드라이브가 감시 스레드를 묶지 않는다.</li>
+ *   <li>이벤트는 폴더별로 모았다가 debounce 동안 조용해지면 한 번에 처리한다. 빌드 출력처럼 이벤트가 쉬지 않고
+ *       와도 첫 이벤트부터 maxWait 이 지나면 처리한다.</li>
+ *   <li>삭제 + 생성 한 쌍은 이름 변경(다른 감시 폴더로의 이동 포함)으로 보고
+ *       {@link BookmarkService#applyBatch(BookmarkBatch)} 한 번으로 경로를 고친다.</li>
+ *   <li>짝이 없는 삭제는 {@link BookmarkHealthScanner} 에 MISSING 으로 기록한다.</li>
+ * </ul>
+ */
+public class BookmarkWatcher {
+
+    private final BookmarkService bookmarkService;
+    private final BookmarkGroupService bookmarkGroupService;
+    private final BookmarkHealthScanner healthScanner;
+    private final int maxKeys;
+    private final long debounceMillis;
+    private final long maxWaitMillis;
+    private final long refreshMillis;
+    private final long registerTimeoutMillis;
+
+    private final WatchService watchService;
+    private final FileSystemExecutor registerPool;
+    private final Thread thread;
+
+    // 발행 스레드/등록 풀이 넣고 감시 스레드가 꺼낸다
+    private final ConcurrentLinkedQueue<ChangeEvent> changes = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Registration> registrations = new ConcurrentLinkedQueue<>();
+
+    // 감시 스레드에서만 접근
+    private final Map<Path, WatchKey> keys = new HashMap<>();
+    private final Set<Path> wanted = new HashSet<>();
+    private final Set<Path> registering = new HashSet<>();
+    private final Map<Long, Tracked> tracked = new HashMap<>();
+    private final Map<Path, Map<Long, Bookmark>> byDir = new HashMap<>();
+    private final Map<Path, DirEvents> pending = new HashMap<>();
+    private boolean scanned;     // 시작 시 전체 목록을 읽었는지
+    private boolean dirsChanged; // 감시 후보 폴더가 생기거나 없어짐
+    private long lastEventAt;
+    private long firstEventAt; // 아직 처리하지 않은 가장 오래된 이벤트
+    private long nextRefreshAt;
+
+    private final Logger logger = LoggerFactory.getLogger(BookmarkWatcher.class);
+
+    private static final class DirEvents {
+        final Set<String> deleted = new LinkedHashSet<>();
+        final Set<String> created = new LinkedHashSet<>();
+        // 삭제 바로 뒤에 생성이 오면 OS 의 이름 변경 이벤트 쌍(이전 이름 → 새 이름)
+        final Map<String, String> renamed = new HashMap<>();
+        String lastDeleted;
+    }
+
+    private record Tracked(Bookmark bookmark, Path dir) {}
+
+    /** 등록 풀의 결과. key 가 null 이면 실패 */
+    private record Registration(Path dir, WatchKey key) {}
+
+    public BookmarkWatcher(BookmarkService bookmarkService, BookmarkGroupService bookmarkGroupService,
+                           BookmarkHealthScanner healthScanner, int maxKeys, long debounceMillis, long maxWaitMillis,
+                           long refreshMillis, int registerThreads, long registerTimeoutMillis) throws IOException {
+        this.bookmarkService = bookmarkService;
+        this.bookmarkGroupService = bookmarkGroupService;
+        this.healthScanner = healthScanner;
+        this.maxKeys = maxKeys;
+        this.debounceMillis = debounceMillis;
+        this.maxWaitMillis = maxWaitMillis;
+        this.refreshMillis = refreshMillis;
+        this.registerTimeoutMillis = registerTimeoutMillis;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.registerPool = new FileSystemExecutor("Watch-Register", registerThreads, registerThreads);
+        this.thread = new Thread(this::loop, "Bookmark-Watcher");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    public void shutdown() {
+        registerPool.shutdown();
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    /** ChangeEventBus 리스너: 발행 스레드에서는 쌓기만 하고 감시 스레드가 다음 바퀴에 반영한다 */
+    public void onChanges(List<ChangeEvent> events) {
+        changes.addAll(events);
+    }
+
+    private void loop() {
+        try {
+            while (true) {
+                long now = System.currentTimeMillis();
+                applyRegistrations();
+                if (scanned) applyChanges();
+                if (now >= nextRefreshAt || dirsChanged) {
+                    refreshRegistrations();
+                    nextRefreshAt = now + refreshMillis;
+                }
+                WatchKey key = watchService.poll(debounceMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    collect(key);
+                    lastEventAt = System.currentTimeMillis();
+                    if (firstEventAt == 0 && !pending.isEmpty()) firstEventAt = lastEventAt;
+                }
+                now = System.currentTimeMillis();
+                if (!pending.isEmpty()
+                        && (now - lastEventAt >= debounceMillis || now - firstEventAt >= maxWaitMillis)) {
+                    flush();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // 종료
+        } catch (RuntimeException e) {
+            logger.error("loop() - 파일 감시 중단", e);
+        }
+    }
+
+    private void collect(WatchKey key) {
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == OVERFLOW) {
+                continue; // 놓친 변경은 주기 점검(health scanner)이 잡는다
+            }
+            String name = event.context().toString();
+            DirEvents events = pending.computeIfAbsent(dir, d -> new DirEvents());
+            if (event.kind() == ENTRY_DELETE) {
+                if (!events.created.remove(name)) events.deleted.add(name);
+                events.lastDeleted = name;
+            } else if (event.kind() == ENTRY_CREATE) {
+                if (!events.deleted.remove(name)) events.created.add(name);
+                if (events.lastDeleted != null && !events.lastDeleted.equals(name)) {
+                    events.renamed.put(events.lastDeleted, name);
+                }
+                events.lastDeleted = null;
+            }
+        }
+        if (!key.reset()) {
+            keys.remove(dir);
+        }
+    }
+
+    private void flush() {
+        Map<Path, DirEvents> events = new HashMap<>(pending);
+        pending.clear();
+        firstEventAt = 0;
+
+        // 감시 폴더 전체에서 새로 생긴 항목(폴더 간 이동 짝 찾기용)
+        Map<String, List<Path>> createdByName = new HashMap<>();
+        events.forEach((dir, e) -> e.created.forEach(name ->
+                createdByName.computeIfAbsent(name, n -> new ArrayList<>()).add(dir.resolve(name))));
+
+        // 삭제된 이름을 가진 북마크
+        Map<Bookmark, Path> affected = new LinkedHashMap<>();
+        events.forEach((dir, e) -> {
+            for (Bookmark bookmark : byDir.getOrDefault(dir, Map.of()).values()) {
+                Path fileName = Paths.get(bookmark.getPath()).getFileName();
+                if (fileName != null && e.deleted.contains(fileName.toString())) affected.put(bookmark, dir);
+            }
+        });
+
+        // 1) 같은 이름이 다른 감시 폴더에 생김 → 이동  2) 이름 변경 이벤트 쌍  3) 폴더에 남은 삭제/생성이 하나씩
+        // 새 경로 하나는 북마크 하나에만 대응시킨다
+        Set<Path> claimed = new HashSet<>();
+        Map<Bookmark, Path> resolved = new HashMap<>();
+        affected.forEach((bookmark, dir) -> {
+            List<Path> sameName = createdByName.getOrDefault(Paths.get(bookmark.getPath()).getFileName().toString(), List.of());
+            if (sameName.size() == 1 && claimed.add(sameName.get(0))) resolved.put(bookmark, sameName.get(0));
+        });
+        affected.forEach((bookmark, dir) -> {
+            if (resolved.containsKey(bookmark)) return;
+            String renamedTo = events.get(dir).renamed.get(Paths.get(bookmark.getPath()).getFileName().toString());
+            if (renamedTo != null && events.get(dir).created.contains(renamedTo) && claimed.add(dir.resolve(renamedTo))) {
+                resolved.put(bookmark, dir.resolve(renamedTo));
+            }
+        });
+        affected.forEach((bookmark, dir) -> {
+            if (resolved.containsKey(bookmark)) return;
+            long unresolvedInDir = affected.entrySet().stream()
+                    .filter(en -> en.getValue().equals(dir) && !resolved.containsKey(en.getKey())).count();
+            List<Path> unclaimed = events.get(dir).created.stream().map(dir::resolve).filter(p -> !claimed.contains(p)).toList();
+            if (unresolvedInDir == 1 && unclaimed.size() == 1 && claimed.add(unclaimed.get(0))) {
+                resolved.put(bookmark, unclaimed.get(0));
+            }
+        });
+
+        BookmarkBatch batch = new BookmarkBatch();
+        for (Bookmark bookmark : affected.keySet()) {
+            Path oldPath = Paths.get(bookmark.getPath());
+            Path newPath = resolved.get(bookmark);
+            if (newPath != null && Files.exists(newPath)) {
+                String displayName = bookmark.getDisplayName().equals(oldPath.getFileName().toString())
+                        ? newPath.getFileName().toString() : bookmark.getDisplayName();
+                batch.update(bookmark.getId(), displayName, newPath.toString());
+            } else if (!Files.exists(oldPath)) {
+                healthScanner.record(new BookmarkHealth(bookmark.getId(), HealthStatus.MISSING, System.currentTimeMillis()));
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            BookmarkBatchResult result = bookmarkService.applyBatch(batch);
+            logger.info("flush() - 경로 추적 {}건 반영, 실패 {}건", result.applied(), result.failures().size());
+            // 바뀐 경로는 발행된 BOOKMARK_UPDATED 로 다음 바퀴에 반영된다
+        }
+    }
+
+    /** 시작 시 한 번 전체 목록을 읽는다. 불러오지 않은 그룹도 목록을 하나씩 읽어(읽은 뒤 다시 내림) 감시한다 */
+    private void scanAll() {
+        List<Bookmark> all = new ArrayList<>();
+        try {
+            for (BookmarkGroup group : bookmarkGroupService.getBookmarkGroups()) {
+                all.addAll(bookmarkGroupService.scanBookmarks(group.getId()));
+            }
+        } catch (RuntimeException e) {
+            logger.warn("scanAll() - 목록 변경 중, 다음 주기에 재시도: {}", e.toString());
+            return;
+        }
+        // 읽는 동안 쌓인 변경은 이후 applyChanges 가 현재 상태를 다시 읽어 덮으므로 그대로 둔다
+        for (Bookmark bookmark : all) track(bookmark);
+        scanned = true;
+    }
+
+    /** 쌓인 변경만 반영. 추가/수정/이동은 해당 그룹을 한 번 읽어 그 북마크만 다시 넣는다 */
+    private void applyChanges() {
+        Map<Long, Set<Long>> reread = new HashMap<>();
+        ChangeEvent event;
+        while ((event = changes.poll()) != null) {
+            switch (event.type()) {
+                case BOOKMARK_ADDED, BOOKMARK_UPDATED, BOOKMARK_MOVED ->
+                        reread.computeIfAbsent(event.groupId(), g -> new HashSet<>()).add(event.bookmarkId());
+                case BOOKMARK_REMOVED -> untrack(event.bookmarkId());
+                case GROUP_REMOVED -> {
+                    long groupId = event.groupId();
+                    tracked.values().stream().filter(t -> t.bookmark().getGroupId() == groupId)
+                            .map(t -> t.bookmark().getId()).toList().forEach(this::untrack);
+                }
+                default -> {
+                    // 순서 변경, 그룹 이름 변경은 경로와 무관
+                }
+            }
+        }
+        reread.forEach((groupId, ids) -> {
+            List<Bookmark> bookmarks;
+            try {
+                bookmarks = bookmarkGroupService.scanBookmarks(groupId);
+            } catch (RuntimeException e) {
+                bookmarks = List.of(); // 그 사이 그룹이 삭제됨
+            }
+            Set<Long> missing = new HashSet<>(ids);
+            for (Bookmark bookmark : bookmarks) {
+                if (missing.remove(bookmark.getId())) track(bookmark);
+            }
+            missing.forEach(this::untrack); // 그 사이 삭제되었거나 다른 그룹으로 옮겨짐(그 그룹 이벤트가 따로 온다)
+        });
+    }
+
+    private void track(Bookmark bookmark) {
+        untrack(bookmark.getId());
+        Path dir = parentOf(bookmark.getPath());
+        tracked.put(bookmark.getId(), new Tracked(bookmark, dir));
+        if (dir == null) return;
+        Map<Long, Bookmark> inDir = byDir.get(dir);
+        if (inDir == null) {
+            inDir = new LinkedHashMap<>();
+            byDir.put(dir, inDir);
+            dirsChanged = true;
+        }
+        inDir.put(bookmark.getId(), bookmark);
+    }
+
+    private void untrack(long bookmarkId) {
+        Tracked old = tracked.remove(bookmarkId);
+        if (old == null || old.dir() == null) return;
+        Map<Long, Bookmark> inDir = byDir.get(old.dir());
+        if (inDir == null) return;
+        inDir.remove(bookmarkId);
+        if (inDir.isEmpty()) {
+            byDir.remove(old.dir());
+            dirsChanged = true;
+        }
+    }
+
+    /** 북마크가 많은 폴더부터 maxKeys 개를 감시 대상으로 맞춤. 새 폴더 등록은 등록 풀로 보내고 결과는 다음 바퀴에 받는다 */
+    private void refreshRegistrations() {
+        if (!scanned) {
+            scanAll();
+            if (!scanned) return;
+        }
+        dirsChanged = false;
+
+        List<Path> top = byDir.keySet().stream()
+                .sorted(Comparator.comparingInt((Path d) -> byDir.get(d).size()).reversed())
+                .limit(maxKeys)
+                .toList();
+        wanted.clear();
+        wanted.addAll(top);
+
+        keys.entrySet().removeIf(entry -> {
+            if (wanted.contains(entry.getKey())) return false;
+            entry.getValue().cancel();
+            return true;
+        });
+        for (Path dir : top) {
+            if (keys.containsKey(dir) || !registering.add(dir)) continue;
+            registerPool.submit(dir.toString(), registerTimeoutMillis, () -> {
+                try {
+                    registrations.add(new Registration(dir, dir.register(watchService, ENTRY_CREATE, ENTRY_DELETE)));
+                    return null;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }).whenComplete((ignored, ex) -> {
+                // 없는 폴더, 권한 없음, 응답 없는 드라이브 등은 감시하지 않음 (다음 주기에 다시 시도)
+                if (ex != null) registrations.add(new Registration(dir, null));
+            });
+        }
+        if (byDir.size() > maxKeys) {
+            logger.info("refreshRegistrations() - 감시 폴더 {}개 중 {}개만 등록", byDir.size(), top.size());
+        }
+    }
+
+    /** 등록 풀에서 끝난 등록을 받아 둠. 그 사이 감시 대상에서 빠진 폴더는 바로 취소 */
+    private void applyRegistrations() {
+        Registration registration;
+        while ((registration = registrations.poll()) != null) {
+            registering.remove(registration.dir());
+            WatchKey key = registration.key();
+            if (key == null) continue;
+            if (wanted.contains(registration.dir())) {
+                keys.put(registration.dir(), key);
+            } else if (keys.get(registration.dir()) != key) {
+                key.cancel();
+            }
+        }
+    }
+
+    private static Path parentOf(String path) {
+        try {
+            return Paths.get(path).toAbsolutePath().getParent();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -12,8 +12,10 @@ import java.awt.*;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.StringSelection;
 import java.awt.datatransfer.Transferable;
+import java.awt.datatransfer.UnsupportedFlavorException;
 import java.awt.event.*;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.*;
@@ -604,7 +606,7 @@ public class MainFrameV2 extends JFrame {
             if (!s.isDrop()) return false;
             try {
                 if (s.isDataFlavorSupported(DataFlavor.javaFileListFlavor)) {
-                    List<File> files = (List<File>) s.getTransferable().getTransferData(DataFlavor.javaFileListFlavor);
+                    List<File> files = getFileListData(s);
                     if (files != null) {
                         for (File f : files) bookmarkService.createBookmark(groupId, f.getName(), f.getAbsolutePath());
                         setStatus(files.size()+"개 항목을 추가했습니다."); rebuildAccordion(); return true;
@@ -701,7 +703,7 @@ public class MainFrameV2 extends JFrame {
             if (!canImport(s)) return false;
             try {
                 if (s.isDataFlavorSupported(DataFlavor.javaFileListFlavor)) {
-                    List<File> files = (List<File>) s.getTransferable().getTransferData(DataFlavor.javaFileListFlavor);
+                    List<File> files = getFileListData(s);
                     if (files != null) {
                         for (File f : files) bookmarkService.createBookmark(groupId, f.getName(), f.getAbsolutePath());
                         setStatus(files.size()+"개 항목을 추가했습니다."); rebuildAccordion(); return true;
@@ -789,7 +791,7 @@ public class MainFrameV2 extends JFrame {
             if (!canImport(s)) return false;
             try {
                 if (s.isDataFlavorSupported(DataFlavor.javaFileListFlavor)) {
-                    List<File> files = (List<File>) s.getTransferable().getTransferData(DataFlavor.javaFileListFlavor);
+                    List<File> files = getFileListData(s);
                     if (files != null) {
                         for (File f : files) bookmarkService.createBookmark(groupId, f.getName(), f.getAbsolutePath());
                         setStatus(files.size()+"개 항목을 추가했습니다."); rebuildAccordion(); return true;
@@ -1027,6 +1029,17 @@ public class MainFrameV2 extends JFrame {
         return s.replace("&","&amp;").replace("<","&lt;").replace(">","&gt;");
     }
 
+    /** 끌어 놓은 파일 목록. 목록이 아니면 null, File 이 아닌 항목은 건너뛴다 */
+    private static List<File> getFileListData(TransferHandler.TransferSupport s) throws UnsupportedFlavorException, IOException {
+        Object data = s.getTransferable().getTransferData(DataFlavor.javaFileListFlavor);
+        if (!(data instanceof List<?> list)) return null;
+        List<File> files = new ArrayList<>(list.size());
+        for (Object item : list) {
+            if (item instanceof File file) files.add(file);
+        }
+        return files;
+    }
+
     private static String getStringData(TransferHandler.TransferSupport s) {
         try {
             if (s.isDataFlavorSupported(DataFlavor.stringFlavor)) {
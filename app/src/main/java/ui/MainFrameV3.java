@@ -1,10 +1,21 @@
 package ui;
 
+import config.AppConfig;
 import model.Bookmark;
 import model.BookmarkGroup;
 import model.BookmarkType;
+import model.HealthStatus;
+import service.ChangeEvent;
+import service.ChangeEventBus;
+import service.bookmark.BookmarkBatch;
+import service.bookmark.BookmarkBatchResult;
 import service.bookmark.BookmarkService;
 import service.bookmark_group.BookmarkGroupService;
+import service.bookmark_health.BookmarkHealth;
+import service.bookmark_health.BookmarkHealthScanner;
+import service.bookmark_search.BookmarkSearchIndex;
+import service.bookmark_search.SearchHit;
+import service.bookmark_usage.BookmarkUsageTracker;
 
 import javax.swing.*;
 import javax.swing.Timer;
@@ -12,8 +23,10 @@ import java.awt.*;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.datatransfer.StringSelection;
 import java.awt.datatransfer.Transferable;
+import java.awt.datatransfer.UnsupportedFlavorException;
 import java.awt.event.*;
 import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.*;
@@ -28,12 +41,23 @@ public class MainFrameV3 extends JFrame {
     private static final Color NOTION_BORDER = new Color(225, 228, 232);
     private static final Color NOTION_ACCENT = new Color(59, 130, 246);
     private static final Color NOTION_HINT = new Color(107, 114, 128);
+    private static final Color NOTION_STALE = new Color(185, 28, 28); // 깨진 경로
 
     /** 고정 행 높이(정적) */
     private static final int ROW_HEIGHT = 28;
 
+    /** 이 개수를 넘는 그룹은 행 패널 대신 가상 목록(JList)으로 그림 */
+    private static final int VIRTUAL_LIST_THRESHOLD = 200;
+
+    /** 검색 결과 최대 개수 */
+    private static final int SEARCH_LIMIT = 50;
+
     private final BookmarkService bookmarkService;
     private final BookmarkGroupService bookmarkGroupService;
+    private final BookmarkHealthScanner healthScanner;
+    private final ChangeEventBus eventBus;
+    private final BookmarkSearchIndex searchIndex;
+    private final BookmarkUsageTracker usageTracker;
 
     // 상단 툴바 (간소화)
     private final JButton toolbarMenuBtn = new JButton("⚙");
@@ -45,6 +69,18 @@ public class MainFrameV3 extends JFrame {
     private final ScrollablePanel accordion = new ScrollablePanel();
     private JScrollPane scroll; // 스크롤 위치 보존용
 
+    // 검색: 입력이 있으면 아코디언 대신 결과 목록을 보여줌
+    private final JTextField searchField = new JTextField();
+    private final DefaultListModel<SearchHit> searchModel = new DefaultListModel<>();
+    private final JList<SearchHit> searchResults = new JList<>(searchModel);
+    private final JPanel center = new JPanel(new CardLayout());
+
+    // 자주 쓰는 항목(frecency 상위) — 아코디언 위에 고정
+    private final DefaultListModel<SearchHit> frecentModel = new DefaultListModel<>();
+    private final JList<SearchHit> frecentList = new JList<>(frecentModel);
+    private final JPanel frecentPanel = new JPanel(new BorderLayout());
+    private final JLabel frecentTitle = new JLabel("자주 쓰는 항목");
+
     // 섹션 펼침/접힘 상태 보존
     private final Map<Long, Boolean> expandState = new HashMap<>();
 
@@ -70,10 +106,16 @@ public class MainFrameV3 extends JFrame {
     // 환경설정 저장
     private final Preferences prefs = Preferences.userNodeForPackage(MainFrameV3.class);
 
-    public MainFrameV3(BookmarkService bookmarkService, BookmarkGroupService bookmarkGroupService) {
+    public MainFrameV3(BookmarkService bookmarkService, BookmarkGroupService bookmarkGroupService,
+                       BookmarkHealthScanner healthScanner, ChangeEventBus eventBus, BookmarkSearchIndex searchIndex,
+                       BookmarkUsageTracker usageTracker) {
         super("북마크");
         this.bookmarkService = Objects.requireNonNull(bookmarkService);
         this.bookmarkGroupService = Objects.requireNonNull(bookmarkGroupService);
+        this.healthScanner = Objects.requireNonNull(healthScanner);
+        this.eventBus = Objects.requireNonNull(eventBus);
+        this.searchIndex = Objects.requireNonNull(searchIndex);
+        this.usageTracker = Objects.requireNonNull(usageTracker);
 
         // ====== UI 기본 ======
         setDefaultCloseOperation(WindowConstants.HIDE_ON_CLOSE);
@@ -97,7 +139,12 @@ public class MainFrameV3 extends JFrame {
         scroll.getVerticalScrollBar().setUnitIncrement(ROW_HEIGHT);
         // ✨ 가로 스크롤 금지 & 폭 고정
         scroll.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
-        add(scroll, BorderLayout.CENTER);
+        JPanel groupsCard = new JPanel(new BorderLayout());
+        groupsCard.add(buildFrecentSection(), BorderLayout.NORTH);
+        groupsCard.add(scroll, BorderLayout.CENTER);
+        center.add(groupsCard, "groups");
+        center.add(buildSearchResults(), "search");
+        add(center, BorderLayout.CENTER);
 
         // 그룹 DnD: 빈 공간(섹션 사이)에서도 작동하도록 아코디언에 Import 핸들러
         accordion.setTransferHandler(new GroupReorderImportHandler());
@@ -126,6 +173,12 @@ public class MainFrameV3 extends JFrame {
         // 액션 바인딩(단축키는 제거)
         wireActions();
 
+        // 서비스 변경 이벤트로 바뀐 섹션/행만 갱신 (전체 재구성 없음)
+        eventBus.addListener(events -> SwingUtilities.invokeLater(() -> applyChanges(events)));
+
+        // 경로 점검 결과가 바뀐 행만 다시 칠함
+        healthScanner.addListener(changed -> SwingUtilities.invokeLater(() -> applyHealth(changed)));
+
         // 종료시 환경 저장
         addWindowListener(new WindowAdapter(){ @Override public void windowClosing(WindowEvent e){ saveWindowPrefs(); } });
     }
@@ -136,12 +189,16 @@ public class MainFrameV3 extends JFrame {
         JPanel bar = new JPanel(new BorderLayout());
         bar.setBackground(NOTION_BG);
 
-        // 앱 타이틀(원하면 숨겨도 됨)
-        JLabel title = new JLabel("");
-        title.setForeground(NOTION_TEXT);
-        title.setBorder(BorderFactory.createEmptyBorder(10, 12, 10, 12));
-        title.setFont(title.getFont().deriveFont(Font.BOLD, 14f));
-        bar.add(title, BorderLayout.WEST);
+        // 검색창 (입력 즉시 필터)
+        JPanel searchWrap = new JPanel(new BorderLayout());
+        searchWrap.setOpaque(false);
+        searchWrap.setBorder(BorderFactory.createEmptyBorder(6, 12, 6, 0));
+        searchField.putClientProperty("JTextField.placeholderText", "북마크 검색");
+        searchField.putClientProperty("JTextField.showClearButton", true);
+        searchField.setFont(searchField.getFont().deriveFont(13f));
+        wireSearchField();
+        searchWrap.add(searchField, BorderLayout.CENTER);
+        bar.add(searchWrap, BorderLayout.CENTER);
 
         // ⚙ 버튼(팝업 메뉴를 띄우는 단일 엔트리)
         stylizeIconButton(toolbarMenuBtn);
@@ -206,7 +263,6 @@ public class MainFrameV3 extends JFrame {
         try {
             bookmarkGroupService.createBookmarkGroup(name);
             setStatus("그룹이 추가되었습니다.");
-            rebuildAccordion();
         } catch (RuntimeException ex) {
             showError("그룹 생성 실패: " + ex.getMessage());
         }
@@ -229,6 +285,228 @@ public class MainFrameV3 extends JFrame {
         collapseAllBtn.addActionListener(e -> handleCollapseAll());
     }
 
+    // =================== Search ===================
+
+    /** 창이 뜰 때 바로 입력할 수 있도록 검색창에 포커스 */
+    public void focusSearch() {
+        searchField.selectAll();
+        searchField.requestFocusInWindow();
+    }
+
+    private void wireSearchField() {
+        searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override public void insertUpdate(javax.swing.event.DocumentEvent e) { runSearch(); }
+            @Override public void removeUpdate(javax.swing.event.DocumentEvent e) { runSearch(); }
+            @Override public void changedUpdate(javax.swing.event.DocumentEvent e) { runSearch(); }
+        });
+        searchField.addKeyListener(new KeyAdapter() {
+            @Override public void keyPressed(KeyEvent e) {
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_ESCAPE -> searchField.setText("");
+                    case KeyEvent.VK_ENTER -> openSelectedHit();
+                    case KeyEvent.VK_DOWN -> moveHitSelection(1);
+                    case KeyEvent.VK_UP -> moveHitSelection(-1);
+                    default -> { return; }
+                }
+                e.consume();
+            }
+        });
+    }
+
+    private JComponent buildSearchResults() {
+        searchResults.setCellRenderer(new SearchHitRenderer());
+        searchResults.setFixedCellHeight(ROW_HEIGHT + 14);
+        searchResults.setBackground(NOTION_BG);
+        searchResults.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        searchResults.setFocusable(false); // 키 입력은 검색창이 계속 받음
+        installHitMouseHandler(searchResults);
+        JScrollPane sp = new JScrollPane(searchResults);
+        sp.setBorder(BorderFactory.createEmptyBorder());
+        sp.getViewport().setBackground(NOTION_BG);
+        sp.getVerticalScrollBar().setUI(new NotionScrollBarUI());
+        sp.setHorizontalScrollBarPolicy(ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+        return sp;
+    }
+
+    /** 검색 결과/자주 쓰는 항목 공통: 클릭 복사, 더블클릭 열기, 우클릭 메뉴 */
+    private void installHitMouseHandler(JList<SearchHit> list) {
+        list.addMouseListener(new MouseAdapter() {
+            @Override public void mouseClicked(MouseEvent e) {
+                int index = list.locationToIndex(e.getPoint());
+                if (index < 0) return;
+                Bookmark bm = list.getModel().getElementAt(index).bookmark();
+                if (SwingUtilities.isRightMouseButton(e)) {
+                    buildBookmarkPopupMenu(bm.getGroupId(), bm).show(list, e.getX(), e.getY());
+                } else if (e.getClickCount() == 1) {
+                    copyBookmarkPath(bm);
+                } else if (e.getClickCount() == 2) {
+                    openBookmark(bm);
+                }
+            }
+        });
+    }
+
+    private JComponent buildFrecentSection() {
+        frecentTitle.setFont(frecentTitle.getFont().deriveFont(Font.BOLD, 12f));
+        frecentTitle.setForeground(NOTION_HINT);
+        frecentTitle.setBorder(BorderFactory.createEmptyBorder(8, 18, 2, 12));
+        frecentList.setCellRenderer(new SearchHitRenderer());
+        frecentList.setFixedCellHeight(ROW_HEIGHT + 14);
+        frecentList.setBackground(NOTION_BG);
+        frecentList.setFocusable(false);
+        installHitMouseHandler(frecentList);
+        frecentPanel.setBackground(NOTION_BG);
+        frecentPanel.setBorder(BorderFactory.createMatteBorder(0, 0, 1, 0, getSeparatorColor()));
+        frecentPanel.add(frecentTitle, BorderLayout.NORTH);
+        frecentPanel.add(frecentList, BorderLayout.CENTER);
+        refreshFrecent();
+        return frecentPanel;
+    }
+
+    /** 네이티브 메시지로 사이트가 바뀐 직후 (창 표시 전) 호출 */
+    public void refreshSuggestions() {
+        refreshFrecent();
+    }
+
+    /**
+     * 상단 목록 갱신: 현재 사이트에서 쓴 북마크를 먼저, 남은 자리는 전체 frecency 상위로 채움.
+     * 삭제된 북마크는 건너뜀
+     */
+    private void refreshFrecent() {
+        frecentModel.clear();
+        Set<Long> shown = new HashSet<>();
+        List<BookmarkUsageTracker.Ranked> siteRanked = usageTracker.siteSuggestions(AppConfig.USAGE_TOP_N);
+        addFrecent(siteRanked, shown);
+        boolean fromSite = !frecentModel.isEmpty();
+        addFrecent(usageTracker.top(AppConfig.USAGE_TOP_N), shown);
+        frecentTitle.setText(fromSite ? usageTracker.activeSite() + " 에서 쓴 항목" : "자주 쓰는 항목");
+        frecentList.clearSelection();
+        frecentPanel.setVisible(!frecentModel.isEmpty());
+        frecentPanel.revalidate();
+    }
+
+    private void addFrecent(List<BookmarkUsageTracker.Ranked> ranked, Set<Long> shown) {
+        for (BookmarkUsageTracker.Ranked r : ranked) {
+            if (frecentModel.size() >= AppConfig.USAGE_TOP_N) return;
+            if (!shown.add(r.bookmarkId())) continue;
+            bookmarkService.findBookmark(r.bookmarkId())
+                    .ifPresent(bm -> frecentModel.addElement(new SearchHit(bm, (int) Math.round(r.score() * 100))));
+        }
+    }
+
+    private void runSearch() {
+        String query = searchField.getText();
+        CardLayout cards = (CardLayout) center.getLayout();
+        if (query.isBlank()) {
+            searchModel.clear();
+            cards.show(center, "groups");
+            return;
+        }
+        List<SearchHit> hits = searchIndex.search(query, SEARCH_LIMIT);
+        searchModel.clear();
+        searchModel.addAll(hits);
+        if (!hits.isEmpty()) searchResults.setSelectedIndex(0);
+        cards.show(center, "search");
+    }
+
+    private void moveHitSelection(int delta) {
+        if (searchModel.isEmpty()) return;
+        int index = Math.max(0, Math.min(searchModel.size() - 1, searchResults.getSelectedIndex() + delta));
+        searchResults.setSelectedIndex(index);
+        searchResults.ensureIndexIsVisible(index);
+    }
+
+    private void openSelectedHit() {
+        SearchHit hit = searchResults.getSelectedValue();
+        if (hit != null) openBookmark(hit.bookmark());
+    }
+
+    /** 검색 결과: 이름(아이콘) + 아래 줄에 경로 */
+    private final class SearchHitRenderer extends JPanel implements ListCellRenderer<SearchHit> {
+        private final JLabel nameLabel = new JLabel();
+        private final JLabel pathLabel = new JLabel();
+
+        SearchHitRenderer() {
+            super(new BorderLayout());
+            setBorder(BorderFactory.createEmptyBorder(3, 18, 3, 18));
+            nameLabel.setFont(nameLabel.getFont().deriveFont(Font.PLAIN, 14f));
+            pathLabel.setFont(pathLabel.getFont().deriveFont(11f));
+            pathLabel.setForeground(NOTION_HINT);
+            add(nameLabel, BorderLayout.CENTER);
+            add(pathLabel, BorderLayout.SOUTH);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends SearchHit> list, SearchHit hit, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            Bookmark bm = hit.bookmark();
+            BookmarkHealth health = healthScanner.healthOf(bm.getId());
+            nameLabel.setText(esc(bm.getDisplayName()));
+            nameLabel.setIcon(iconForBookmark(bm));
+            nameLabel.setForeground(health != null && health.isStale() ? NOTION_STALE : NOTION_TEXT);
+            pathLabel.setText(bm.getPath());
+            setBackground(isSelected ? NOTION_HOVER : NOTION_BG);
+            return this;
+        }
+    }
+
+    /** 변경 이벤트 반영: 그룹 목록이 바뀌면 섹션 순서만 맞추고, 나머지는 해당 섹션/행만 갱신 */
+    private void applyChanges(List<ChangeEvent> events) {
+        boolean groupsChanged = false;
+        Set<Long> dirtyGroups = new HashSet<>();
+        Set<Long> renamedGroups = new HashSet<>();
+        Set<Long> updatedBookmarks = new HashSet<>();
+        for (ChangeEvent e : events) {
+            switch (e.type()) {
+                case GROUP_ADDED, GROUP_REMOVED, GROUPS_REORDERED -> groupsChanged = true;
+                case GROUP_UPDATED -> renamedGroups.add(e.groupId());
+                case BOOKMARK_UPDATED -> updatedBookmarks.add(e.bookmarkId());
+                case BOOKMARK_ADDED, BOOKMARK_REMOVED, BOOKMARKS_REORDERED -> dirtyGroups.add(e.groupId());
+                case BOOKMARK_MOVED -> { dirtyGroups.add(e.fromGroupId()); dirtyGroups.add(e.groupId()); }
+            }
+        }
+
+        if (groupsChanged) syncSections();
+        if (!searchField.getText().isBlank()) runSearch();
+        refreshFrecent();
+        for (Component c : accordion.getComponents()) {
+            if (!(c instanceof GroupSection gs)) continue;
+            if (renamedGroups.contains(gs.group.getId())) gs.title.setText(gs.group.getName());
+            if (dirtyGroups.contains(gs.group.getId())) gs.markDirty();
+            if (updatedBookmarks.isEmpty()) continue;
+            if (gs.listView != null) gs.listView.repaintIfShowing(updatedBookmarks);
+            for (Component rc : gs.content.getComponents()) {
+                if (rc instanceof BookmarkRow br && updatedBookmarks.contains(br.bm.getId())) br.refresh();
+            }
+        }
+        hideDropHighlight();
+    }
+
+    /** 그룹 목록과 섹션 순서를 맞춤. 기존 섹션(과 그 안의 행)은 재사용 */
+    private void syncSections() {
+        Map<Long, GroupSection> existing = new HashMap<>();
+        for (Component c : accordion.getComponents()) {
+            if (c instanceof GroupSection gs) existing.put(gs.group.getId(), gs);
+        }
+        Point viewPos = scroll.getViewport().getViewPosition();
+
+        accordion.removeAll();
+        List<BookmarkGroup> groups = bookmarkGroupService.getBookmarkGroups();
+        if (groups.isEmpty()) {
+            accordion.add(emptyHint("그룹이 없습니다. [그룹 추가] 버튼을 눌러 시작하세요."));
+        } else {
+            for (BookmarkGroup g : groups) {
+                GroupSection section = existing.get(g.getId());
+                accordion.add(section != null && section.group == g ? section : new GroupSection(g));
+            }
+        }
+        accordion.add(Box.createVerticalGlue());
+        accordion.revalidate();
+        accordion.repaint();
+
+        SwingUtilities.invokeLater(() -> scroll.getViewport().setViewPosition(viewPos));
+    }
+
     /** 전체 아코디언 섹션 재구성 */
     private void rebuildAccordion() {
         // 펼침 상태/스크롤 위치 백업
@@ -263,6 +541,17 @@ public class MainFrameV3 extends JFrame {
         hideDropHighlight();
     }
 
+    /** 점검 상태가 바뀐 북마크 행에 표시 반영 */
+    private void applyHealth(Map<Long, BookmarkHealth> changed) {
+        for (Component c : accordion.getComponents()) {
+            if (!(c instanceof GroupSection gs)) continue;
+            if (gs.listView != null) gs.listView.repaintIfShowing(changed.keySet());
+            for (Component rc : gs.content.getComponents()) {
+                if (rc instanceof BookmarkRow br && changed.containsKey(br.bm.getId())) br.applyHealth(changed.get(br.bm.getId()));
+            }
+        }
+    }
+
     /** 모든 섹션 펼치기/접기 */
     private void setAllSectionsExpanded(boolean expanded) {
         for (Component c : accordion.getComponents()) if (c instanceof GroupSection) ((GroupSection) c).setExpanded(expanded);
@@ -276,6 +565,8 @@ public class MainFrameV3 extends JFrame {
         private final JButton moreBtn = new JButton("⋯");
         private final JPanel header = new JPanel(new GridBagLayout());
         private final JPanel content = new JPanel();
+        private BookmarkListView listView; // 큰 그룹일 때만
+        private boolean synced; // 행을 그룹 목록에 맞춘 적이 있고 그 뒤로 바뀌지 않음
 
         GroupSection(BookmarkGroup group) {
             super(new BorderLayout());
@@ -334,7 +625,7 @@ public class MainFrameV3 extends JFrame {
                     if (e.getClickCount()==2) {
                         String newName = JOptionPane.showInputDialog(MainFrameV3.this, "새 그룹명", group.getName());
                         if (newName == null || newName.isBlank() || newName.equals(group.getName())) return;
-                        try { bookmarkGroupService.renameBookmarkGroup(group.getId(), newName); setStatus("그룹 이름이 변경되었습니다."); rebuildAccordion(); }
+                        try { bookmarkGroupService.renameBookmarkGroup(group.getId(), newName); setStatus("그룹 이름이 변경되었습니다."); }
                         catch (RuntimeException ex) { showError("이름 변경 실패: " + ex.getMessage()); }
                     }
                 }
@@ -396,11 +687,11 @@ public class MainFrameV3 extends JFrame {
             // 북마크 리스트 패널에도 Import 핸들러(빈 공간 드롭 + 파일/텍스트 드롭 + 크로스 그룹 이동)
             content.setTransferHandler(new BookmarkListImportHandler(group.getId(), content));
 
-            // 최초 로드
-            reloadBookmarks();
+            // 최초 로드: 접힌 그룹은 처음 펼칠 때 목록을 불러온다
+            if (toggle.isSelected()) syncBookmarks();
 
             // 동작
-            toggle.addActionListener(e -> { updateToggleGlyph(); content.setVisible(toggle.isSelected()); expandState.put(group.getId(), toggle.isSelected()); revalidate(); });
+            toggle.addActionListener(e -> { syncIfStale(); updateToggleGlyph(); content.setVisible(toggle.isSelected()); expandState.put(group.getId(), toggle.isSelected()); revalidate(); });
 
             // 접힘/펼침 반영
             content.setVisible(toggle.isSelected());
@@ -416,7 +707,7 @@ public class MainFrameV3 extends JFrame {
             rename.addActionListener(e -> {
                 String newName = JOptionPane.showInputDialog(MainFrameV3.this, "새 그룹명", group.getName());
                 if (newName == null || newName.isBlank() || newName.equals(group.getName())) return;
-                try { bookmarkGroupService.renameBookmarkGroup(group.getId(), newName); setStatus("그룹 이름이 변경되었습니다."); rebuildAccordion(); }
+                try { bookmarkGroupService.renameBookmarkGroup(group.getId(), newName); setStatus("그룹 이름이 변경되었습니다."); }
                 catch (RuntimeException ex) { showError("이름 변경 실패: " + ex.getMessage()); }
             });
             menu.add(rename);
@@ -427,7 +718,7 @@ public class MainFrameV3 extends JFrame {
                         "그룹을 삭제하시겠습니까?\n" + group.getName(),
                         "확인", JOptionPane.OK_CANCEL_OPTION, JOptionPane.WARNING_MESSAGE);
                 if (r != JOptionPane.OK_OPTION) return;
-                try { bookmarkGroupService.deleteBookmarkGroup(group.getId()); setStatus("그룹이 삭제되었습니다."); rebuildAccordion(); }
+                try { bookmarkGroupService.deleteBookmarkGroup(group.getId()); setStatus("그룹이 삭제되었습니다."); }
                 catch (RuntimeException ex) { showError("삭제 실패: " + ex.getMessage()); }
             });
             menu.add(del);
@@ -435,7 +726,7 @@ public class MainFrameV3 extends JFrame {
             return menu;
         }
 
-        void setExpanded(boolean expanded) { toggle.setSelected(expanded); updateToggleGlyph(); content.setVisible(expanded); expandState.put(group.getId(), expanded); revalidate(); }
+        void setExpanded(boolean expanded) { toggle.setSelected(expanded); syncIfStale(); updateToggleGlyph(); content.setVisible(expanded); expandState.put(group.getId(), expanded); revalidate(); }
         private void updateToggleGlyph() { toggle.setText(toggle.isSelected() ? "▾" : "▸"); }
 
         void promptAddBookmark() {
@@ -446,23 +737,50 @@ public class MainFrameV3 extends JFrame {
             if (res != JFileChooser.APPROVE_OPTION) return;
             File f = fc.getSelectedFile(); String defaultName = f.getName();
             String displayName = JOptionPane.showInputDialog(MainFrameV3.this, "표시 이름(생략 가능)", defaultName); if (displayName == null) return;
-            try { bookmarkService.createBookmark(group.getId(), displayName, f.getAbsolutePath()); setStatus("북마크가 추가되었습니다."); reloadBookmarks(); }
-            catch (RuntimeException ex) { showError("북마크 생성 실패: " + ex.getMessage()); }
+            // 경로 확인은 검증 풀에서 (느린 네트워크 드라이브에서도 창이 멈추지 않도록)
+            completeOnEdt(bookmarkService.createBookmarkAsync(group.getId(), displayName, f.getAbsolutePath()),
+                    "북마크 생성 실패: ", () -> setStatus("북마크가 추가되었습니다."));
         }
 
-        /** 이 섹션의 북마크 목록을 다시 그림 */
-        private void reloadBookmarks() {
-            content.removeAll();
+        /** 그룹 목록이 바뀌었을 때: 펼쳐져 있으면 바로 맞추고, 접혀 있으면 다음에 펼칠 때 */
+        void markDirty() {
+            if (toggle.isSelected()) syncBookmarks(); else synced = false;
+        }
+
+        private void syncIfStale() {
+            if (toggle.isSelected() && !synced) syncBookmarks();
+        }
+
+        /** 이 섹션의 북마크 목록을 그룹 순서에 맞춤. 기존 행은 재사용하고 새 북마크만 행을 만든다 */
+        private void syncBookmarks() {
+            synced = true;
             List<Bookmark> bookmarks = group.getBookmarks();
-            if (bookmarks == null || bookmarks.isEmpty()) {
+            if (bookmarks.size() > VIRTUAL_LIST_THRESHOLD) {
+                // 큰 그룹: 가상 목록 하나로 교체 (이미 있으면 스냅샷만 갱신)
+                if (listView == null) {
+                    listView = new BookmarkListView(group);
+                    content.removeAll();
+                    content.add(listView);
+                } else {
+                    listView.sync();
+                }
+                content.revalidate(); content.repaint();
+                return;
+            }
+            if (listView != null) { content.remove(listView); listView = null; }
+
+            Map<Long, BookmarkRow> rows = new HashMap<>();
+            for (Component c : content.getComponents()) {
+                if (c instanceof BookmarkRow br) rows.put(br.bm.getId(), br);
+            }
+            content.removeAll();
+            if (bookmarks.isEmpty()) {
                 content.add(emptyHint("파일을 드래그하여 추가하세요."));
             } else {
-                int count = 0;
                 for (Bookmark b : bookmarks) {
-                    content.add(new BookmarkRow(group.getId(), b, content));
-                    count++;
+                    BookmarkRow row = rows.get(b.getId());
+                    content.add(row != null && row.bm == b ? row : new BookmarkRow(group.getId(), b, content));
                 }
-                if (count == 0) content.add(emptyHint("항목이 없습니다."));
             }
             content.revalidate(); content.repaint();
         }
@@ -489,6 +807,7 @@ public class MainFrameV3 extends JFrame {
             nameLabel.setToolTipText(bm.getPath());
             nameLabel.setFont(nameLabel.getFont().deriveFont(Font.PLAIN, 14f));
             nameLabel.setForeground(NOTION_TEXT);
+            applyHealth(healthScanner.healthOf(bm.getId()));
 
             // DnD: 행 전체에서 드래그 시작 가능 (자식 컴포넌트에서도 동일하게 동작)
             var rowDnD = new BookmarkRowTransferHandler(groupId, bm.getId(), listPanel);
@@ -509,7 +828,7 @@ public class MainFrameV3 extends JFrame {
                     moreBtn.setOpaque(false);
                 }
             });
-            var rowMenu = buildRowPopupMenu();
+            var rowMenu = buildBookmarkPopupMenu(groupId, bm);
             moreBtn.addActionListener(e -> rowMenu.show(moreBtn, 0, moreBtn.getHeight()));
 
             // 레이아웃
@@ -559,12 +878,10 @@ public class MainFrameV3 extends JFrame {
                     if (!SwingUtilities.isLeftMouseButton(e)) return;
                     if (e.getClickCount() == 1) {
                         // 싱글 클릭: 경로 복사
-                        Toolkit.getDefaultToolkit().getSystemClipboard()
-                                .setContents(new StringSelection(bm.getPath()), null);
-                        setStatus(bm.getDisplayName() + " 경로를 복사했습니다.");
+                        copyBookmarkPath(bm);
                     }
                     else if (e.getClickCount()==2 && SwingUtilities.isLeftMouseButton(e)) {
-                        openBookmarkPath(bm.getPath());
+                        openBookmark(bm);
                     }
                 }
             };
@@ -595,6 +912,20 @@ public class MainFrameV3 extends JFrame {
             setAlignmentX(1.0f);
         }
 
+        /** 이름/경로가 바뀐 뒤 라벨 다시 그림 */
+        void refresh() {
+            nameLabel.setText(esc(bm.getDisplayName()));
+            nameLabel.setIcon(iconForBookmark(bm));
+            applyHealth(healthScanner.healthOf(bm.getId()));
+        }
+
+        /** 깨진 경로는 색과 툴팁으로 구분 */
+        void applyHealth(BookmarkHealth health) {
+            boolean stale = health != null && health.isStale();
+            nameLabel.setForeground(stale ? NOTION_STALE : NOTION_TEXT);
+            nameLabel.setToolTipText(stale ? bm.getPath() + " (" + describeHealth(health.status()) + ")" : bm.getPath());
+        }
+
         // 고정 높이를 보장 (폭은 부모 폭을 따르도록)
         @Override public Dimension getPreferredSize() {
             Dimension d = super.getPreferredSize();
@@ -612,91 +943,276 @@ public class MainFrameV3 extends JFrame {
             d.width = Integer.MAX_VALUE; // BoxLayout 폭 채움
             return d;
         }
+    }
 
-        private JPopupMenu buildRowPopupMenu(){
-            JPopupMenu menu = new JPopupMenu();
-            JMenuItem open = new JMenuItem("열기");
-            open.addActionListener(e -> openBookmarkPath(bm.getPath()));
-            menu.add(open);
-
-            JMenuItem openFolder = new JMenuItem("포함 폴더 열기");
-            openFolder.addActionListener(e -> {
-                try {
-                    File f = new File(bm.getPath());
-                    File dir = f.isDirectory() ? f : f.getParentFile();
-                    if (dir != null) Desktop.getDesktop().open(dir);
-                } catch (Exception ex) { showError("폴더를 열 수 없습니다: "+ex.getMessage()); }
-            });
-            menu.add(openFolder);
+    /** 큰 그룹용 목록 모델: 그룹 목록의 스냅샷을 들고 있다가 sync 때만 교체 */
+    private static final class GroupListModel extends AbstractListModel<Bookmark> {
+        private final BookmarkGroup group;
+        private List<Bookmark> items = List.of();
 
-            JMenuItem copy = new JMenuItem("경로 복사");
-            copy.addActionListener(e -> {
-                Toolkit.getDefaultToolkit().getSystemClipboard().setContents(new StringSelection(bm.getPath()), null);
-                setStatus("경로를 복사했습니다.");
-            });
-            menu.add(copy);
+        GroupListModel(BookmarkGroup group) { this.group = group; sync(); }
 
-            JMenuItem rename = new JMenuItem("이름 변경…");
-            rename.addActionListener(e -> {
-                String newName = JOptionPane.showInputDialog(MainFrameV3.this, "표시 이름", bm.getDisplayName());
-                if (newName == null) return;
-                try { bookmarkService.updateBookmark(bm.getId(), newName, bm.getPath()); setStatus("이름이 변경되었습니다."); rebuildAccordion(); }
-                catch (RuntimeException ex) { showError("수정 실패: " + ex.getMessage()); }
-            });
-            menu.add(rename);
+        void sync() {
+            int oldSize = items.size();
+            items = List.copyOf(group.getBookmarks());
+            if (oldSize > items.size()) fireIntervalRemoved(this, items.size(), oldSize - 1);
+            if (oldSize < items.size()) fireIntervalAdded(this, oldSize, items.size() - 1);
+            if (!items.isEmpty()) fireContentsChanged(this, 0, items.size() - 1);
+        }
 
-            JMenuItem changePath = new JMenuItem("경로 변경…");
-            changePath.addActionListener(e -> {
-                JFileChooser fc = new JFileChooser();
-                fc.setDialogTitle("새 경로 선택");
-                fc.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
-                int res = fc.showOpenDialog(MainFrameV3.this);
-                if (res != JFileChooser.APPROVE_OPTION) return;
-                File f = fc.getSelectedFile();
-                try { bookmarkService.updateBookmark(bm.getId(), bm.getDisplayName(), f.getAbsolutePath()); setStatus("경로가 변경되었습니다."); rebuildAccordion(); }
-                catch (RuntimeException ex) { showError("수정 실패: " + ex.getMessage()); }
-            });
-            menu.add(changePath);
+        int indexOf(long bookmarkId) {
+            for (int i = 0; i < items.size(); i++) if (items.get(i).getId() == bookmarkId) return i;
+            return -1;
+        }
 
-            JMenuItem del = new JMenuItem("삭제…");
-            del.addActionListener(e -> deleteBookmark());
-            menu.add(del);
+        @Override public int getSize() { return items.size(); }
+        @Override public Bookmark getElementAt(int index) { return items.get(index); }
+    }
 
-            stylizePopupMenu(menu);
-            return menu;
+    /**
+     * 북마크가 많은 그룹은 행마다 패널을 만들지 않고 JList 하나로 그린다.
+     * 렌더러 하나를 돌려 쓰고 보이는 행만 칠하므로 수만 개여도 컴포넌트 수가 늘지 않는다.
+     * 호버/클릭/⋯ 메뉴/DnD 동작은 BookmarkRow 와 같게 맞춘다.
+     */
+    private final class BookmarkListView extends JList<Bookmark> {
+        private static final int MORE_WIDTH = 36; // 오른쪽 ⋯ 클릭 영역
+        private final long groupId;
+        private final GroupListModel model;
+        private int hoverIndex = -1;
+
+        BookmarkListView(BookmarkGroup group) {
+            this(group.getId(), new GroupListModel(group));
+        }
+
+        private BookmarkListView(long groupId, GroupListModel model) {
+            super(model);
+            this.groupId = groupId; this.model = model;
+
+            setFixedCellHeight(ROW_HEIGHT);
+            setCellRenderer(new BookmarkCellRenderer(this));
+            setBackground(NOTION_BG);
+            setOpaque(false);
+            setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+            setAlignmentX(1.0f);
+            ToolTipManager.sharedInstance().registerComponent(this);
+
+            // DnD: 선택된(=누른) 항목을 끌어 놓기, 사이 삽입 위치는 JList 가 계산
+            setDragEnabled(true);
+            setDropMode(DropMode.INSERT);
+            setTransferHandler(new BookmarkListViewTransferHandler(this));
+
+            MouseAdapter mouse = new MouseAdapter() {
+                @Override public void mouseMoved(MouseEvent e) { setHoverIndex(rowAt(e.getPoint())); }
+                @Override public void mouseExited(MouseEvent e) { setHoverIndex(-1); }
+                @Override public void mousePressed(MouseEvent e) { maybeShowMenu(e); }
+                @Override public void mouseReleased(MouseEvent e) { maybeShowMenu(e); }
+                @Override public void mouseClicked(MouseEvent e) {
+                    if (!SwingUtilities.isLeftMouseButton(e)) return;
+                    int index = rowAt(e.getPoint());
+                    if (index < 0) return;
+                    Bookmark bm = model.getElementAt(index);
+                    if (e.getX() >= getWidth() - MORE_WIDTH) {
+                        Rectangle cell = getCellBounds(index, index);
+                        buildBookmarkPopupMenu(groupId, bm).show(BookmarkListView.this, getWidth() - MORE_WIDTH, cell.y + cell.height);
+                    } else if (e.getClickCount() == 1) {
+                        // 싱글 클릭: 경로 복사
+                        copyBookmarkPath(bm);
+                    } else if (e.getClickCount() == 2) {
+                        openBookmark(bm);
+                    }
+                }
+                private void maybeShowMenu(MouseEvent e) {
+                    if (!e.isPopupTrigger()) return;
+                    int index = rowAt(e.getPoint());
+                    if (index >= 0) buildBookmarkPopupMenu(groupId, model.getElementAt(index)).show(BookmarkListView.this, e.getX(), e.getY());
+                }
+            };
+            addMouseListener(mouse);
+            addMouseMotionListener(mouse);
+        }
+
+        /** 점이 실제 행 위일 때만 인덱스 (마지막 행 아래 빈 곳은 -1) */
+        private int rowAt(Point p) {
+            int index = locationToIndex(p);
+            if (index < 0) return -1;
+            Rectangle cell = getCellBounds(index, index);
+            return cell != null && cell.contains(p) ? index : -1;
+        }
+
+        private void setHoverIndex(int index) {
+            if (index == hoverIndex) return;
+            repaintRow(hoverIndex);
+            hoverIndex = index;
+            repaintRow(hoverIndex);
+            setCursor(index >= 0 ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR) : Cursor.getDefaultCursor());
         }
 
-        private void deleteBookmark(){
-            int r = JOptionPane.showConfirmDialog(MainFrameV3.this,
-                    "삭제하시겠습니까?\n" + bm.getDisplayName(),
-                    "확인", JOptionPane.OK_CANCEL_OPTION, JOptionPane.WARNING_MESSAGE);
-            if (r != JOptionPane.OK_OPTION) return;
+        private void repaintRow(int index) {
+            if (index < 0 || index >= model.getSize()) return;
+            Rectangle cell = getCellBounds(index, index);
+            if (cell != null) repaint(cell);
+        }
+
+        /** 그룹 목록이 바뀐 뒤 스냅샷 교체 */
+        void sync() {
+            hoverIndex = -1;
+            model.sync();
+            revalidate(); repaint();
+        }
+
+        /** 화면에 보이는 행 중 해당 북마크만 다시 칠함 (보이지 않는 행은 스크롤 시 새로 그려짐) */
+        void repaintIfShowing(Set<Long> bookmarkIds) {
+            int first = getFirstVisibleIndex(), last = getLastVisibleIndex();
+            if (first < 0) return;
+            for (int i = first; i <= last && i < model.getSize(); i++) {
+                if (bookmarkIds.contains(model.getElementAt(i).getId())) repaintRow(i);
+            }
+        }
+
+        @Override public String getToolTipText(MouseEvent e) {
+            int index = rowAt(e.getPoint());
+            if (index < 0) return null;
+            Bookmark bm = model.getElementAt(index);
+            BookmarkHealth health = healthScanner.healthOf(bm.getId());
+            return health != null && health.isStale() ? bm.getPath() + " (" + describeHealth(health.status()) + ")" : bm.getPath();
+        }
+
+        // 폭은 부모를 따르고 높이는 행 수 × 고정 높이
+        @Override public Dimension getMaximumSize() {
+            Dimension d = getPreferredSize();
+            d.width = Integer.MAX_VALUE;
+            return d;
+        }
+    }
+
+    /** 가상 목록용 공유 렌더러: BookmarkRow 와 같은 모양(아이콘 + 이름, 호버 시 ⋯) */
+    private final class BookmarkCellRenderer extends JPanel implements ListCellRenderer<Bookmark> {
+        private final BookmarkListView view;
+        private final JLabel nameLabel = new JLabel();
+        private final JLabel moreLabel = new JLabel("⋯", SwingConstants.CENTER);
+
+        BookmarkCellRenderer(BookmarkListView view) {
+            super(new BorderLayout());
+            this.view = view;
+            setBorder(BorderFactory.createEmptyBorder(4, 18, 4, 18));
+            nameLabel.setFont(nameLabel.getFont().deriveFont(Font.PLAIN, 14f));
+            moreLabel.setForeground(NOTION_HINT);
+            moreLabel.setPreferredSize(new Dimension(24, 20));
+            add(nameLabel, BorderLayout.CENTER);
+            add(moreLabel, BorderLayout.EAST);
+        }
+
+        @Override
+        public Component getListCellRendererComponent(JList<? extends Bookmark> list, Bookmark bm, int index,
+                                                      boolean isSelected, boolean cellHasFocus) {
+            BookmarkHealth health = healthScanner.healthOf(bm.getId());
+            nameLabel.setText(esc(bm.getDisplayName()));
+            nameLabel.setIcon(iconForBookmark(bm));
+            nameLabel.setForeground(health != null && health.isStale() ? NOTION_STALE : NOTION_TEXT);
+            boolean hover = index == view.hoverIndex;
+            setBackground(hover ? NOTION_HOVER : NOTION_BG);
+            moreLabel.setVisible(hover);
+            return this;
+        }
+    }
+
+    /** 북마크 ⋯/우클릭 메뉴. 행 방식/가상 목록 방식이 함께 사용 */
+    private JPopupMenu buildBookmarkPopupMenu(long groupId, Bookmark bm){
+        JPopupMenu menu = new JPopupMenu();
+        JMenuItem open = new JMenuItem("열기");
+        open.addActionListener(e -> openBookmark(bm));
+        menu.add(open);
+
+        JMenuItem openFolder = new JMenuItem("포함 폴더 열기");
+        openFolder.addActionListener(e -> {
             try {
-                int idx = findBookmarkIndexById(listPanel, bm.getId());
-                lastDeleted = new DeletedBookmark(groupId, bm.getDisplayName(), bm.getPath(), Math.max(idx, 0));
+                File f = new File(bm.getPath());
+                File dir = f.isDirectory() ? f : f.getParentFile();
+                if (dir != null) Desktop.getDesktop().open(dir);
+            } catch (Exception ex) { showError("폴더를 열 수 없습니다: "+ex.getMessage()); }
+        });
+        menu.add(openFolder);
+
+        JMenuItem copy = new JMenuItem("경로 복사");
+        copy.addActionListener(e -> copyBookmarkPath(bm));
+        menu.add(copy);
+
+        JMenuItem rename = new JMenuItem("이름 변경…");
+        rename.addActionListener(e -> {
+            String newName = JOptionPane.showInputDialog(MainFrameV3.this, "표시 이름", bm.getDisplayName());
+            if (newName == null) return;
+            try {
+                completeOnEdt(bookmarkService.updateBookmarkAsync(bm.getId(), newName, bm.getPath()),
+                        "수정 실패: ", () -> setStatus("이름이 변경되었습니다."));
+            }
+            catch (RuntimeException ex) { showError("수정 실패: " + ex.getMessage()); }
+        });
+        menu.add(rename);
+
+        JMenuItem changePath = new JMenuItem("경로 변경…");
+        changePath.addActionListener(e -> {
+            JFileChooser fc = new JFileChooser();
+            fc.setDialogTitle("새 경로 선택");
+            fc.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
+            int res = fc.showOpenDialog(MainFrameV3.this);
+            if (res != JFileChooser.APPROVE_OPTION) return;
+            File f = fc.getSelectedFile();
+            try {
+                completeOnEdt(bookmarkService.updateBookmarkAsync(bm.getId(), bm.getDisplayName(), f.getAbsolutePath()),
+                        "수정 실패: ", () -> setStatus("경로가 변경되었습니다."));
+            }
+            catch (RuntimeException ex) { showError("수정 실패: " + ex.getMessage()); }
+        });
+        menu.add(changePath);
+
+        JMenuItem del = new JMenuItem("삭제…");
+        del.addActionListener(e -> deleteBookmark(groupId, bm));
+        menu.add(del);
+
+        stylizePopupMenu(menu);
+        return menu;
+    }
+
+    private void deleteBookmark(long groupId, Bookmark bm){
+        int r = JOptionPane.showConfirmDialog(MainFrameV3.this,
+                "삭제하시겠습니까?\n" + bm.getDisplayName(),
+                "확인", JOptionPane.OK_CANCEL_OPTION, JOptionPane.WARNING_MESSAGE);
+        if (r != JOptionPane.OK_OPTION) return;
+        // 위치 확인(목록 읽기)과 삭제는 백그라운드에서
+        new SwingWorker<Integer, Void>() {
+            @Override protected Integer doInBackground() {
+                int idx = indexInGroup(groupId, bm.getId());
                 bookmarkService.remove(bm.getId());
-                setStatusWithAction("북마크가 삭제되었습니다.", "되돌리기", () -> {
-                    try {
-                        if (lastDeleted == null) return;
-                        bookmarkService.createBookmark(lastDeleted.groupId, lastDeleted.name, lastDeleted.path);
-                        // 위치 복원: 새로 생성된 북마크를 target index로 이동
-                        List<BookmarkGroup> groups = bookmarkGroupService.getBookmarkGroups();
-                        for (BookmarkGroup g : groups) if (g.getId()==lastDeleted.groupId) {
-                            List<Bookmark> lb = g.getBookmarks(); if (lb!=null && !lb.isEmpty()) {
-                                Bookmark newest = lb.get(lb.size()-1);
-                                int to = Math.min(lastDeleted.index, lb.size()-1);
-                                bookmarkService.reorderBookmark(lastDeleted.groupId, newest.getId(), to);
-                            }
-                        }
-                        lastDeleted = null; rebuildAccordion(); setStatus("복구했습니다.");
-                    } catch(Exception ex){ showError("복구 실패: "+ex.getMessage()); }
-                });
-                Container parent = getParent();
-                parent.remove(BookmarkRow.this);
-                parent.revalidate();
-                parent.repaint();
-            } catch (RuntimeException ex) { showError("이미 삭제되었거나 존재하지 않습니다."); }
+                return idx;
+            }
+            @Override protected void done() {
+                int idx;
+                try { idx = get(); }
+                catch (Exception ex) { showError("이미 삭제되었거나 존재하지 않습니다."); return; }
+                lastDeleted = new DeletedBookmark(groupId, bm.getDisplayName(), bm.getPath(), Math.max(idx, 0));
+                setStatusWithAction("북마크가 삭제되었습니다.", "되돌리기", () -> restoreDeleted());
+            }
+        }.execute();
+    }
+
+    /** 삭제 되돌리기: 다시 만든 뒤 돌려받은 id 로 원래 위치에 옮긴다. 경로 확인과 저장은 EDT 밖에서 */
+    private void restoreDeleted() {
+        DeletedBookmark deleted = lastDeleted;
+        if (deleted == null) return;
+        lastDeleted = null;
+        completeOnEdt(bookmarkService.createBookmarkAsync(deleted.groupId, deleted.name, deleted.path)
+                        .thenAccept(created -> bookmarkService.reorderBookmark(deleted.groupId, created.getId(), deleted.index)),
+                "복구 실패: ", () -> setStatus("복구했습니다."));
+    }
+
+    /** 그룹 내 북마크 위치 (없으면 -1) */
+    private int indexInGroup(long groupId, long bookmarkId) {
+        for (BookmarkGroup g : bookmarkGroupService.getBookmarkGroups()) {
+            if (g.getId() != groupId) continue;
+            List<Bookmark> lb = g.getBookmarks();
+            for (int i = 0; i < lb.size(); i++) if (lb.get(i).getId() == bookmarkId) return i;
         }
+        return -1;
     }
 
     // =================== Group DnD ===================
@@ -726,11 +1242,8 @@ public class MainFrameV3 extends JFrame {
             if (!s.isDrop()) return false;
             try {
                 if (s.isDataFlavorSupported(DataFlavor.javaFileListFlavor)) {
-                    List<File> files = (List<File>) s.getTransferable().getTransferData(DataFlavor.javaFileListFlavor);
-                    if (files != null) {
-                        for (File f : files) bookmarkService.createBookmark(groupId, f.getName(), f.getAbsolutePath());
-                        setStatus(files.size()+"개 항목을 추가했습니다."); rebuildAccordion(); return true;
-                    }
+                    List<File> files = getFileListData(s);
+                    if (files != null) { importFiles(groupId, files); return true; }
                     return false;
                 }
                 String payload = getStringData(s);
@@ -742,23 +1255,18 @@ public class MainFrameV3 extends JFrame {
                     setUiBusy(true);
                     new SwingWorker<Void, Void>() {
                         @Override protected Void doInBackground() {
-                            // 서비스에 moveBookmark(id, toGroup, toIndex=0) 있다고 가정
-                            try { bookmarkService.moveBookmark(movedBookmarkId, groupId, 0); } catch (Throwable t) { /* 없으면 무시 */ }
+                            bookmarkService.moveBookmark(movedBookmarkId, groupId, 0);
                             return null;
                         }
                         @Override protected void done() {
-                            setUiBusy(false); setStatus("북마크를 다른 그룹으로 이동했습니다."); rebuildAccordion();
+                            setUiBusy(false);
+                            if (workerSucceeded(this, "이동 실패: ")) setStatus("북마크를 다른 그룹으로 이동했습니다.");
                         }
                     }.execute();
                     return true;
                 } else {
                     // 외부 텍스트 줄단위로 경로 처리
-                    for (String line : payload.split("\\R")) {
-                        if (line.isBlank()) continue;
-                        File f = new File(line.trim());
-                        if (f.exists()) bookmarkService.createBookmark(groupId, f.getName(), f.getAbsolutePath());
-                    }
-                    setStatus("텍스트 드롭으로 항목을 추가했습니다."); rebuildAccordion(); return true;
+                    importFiles(groupId, filesFromText(payload)); return true;
                 }
             } catch (Exception ex) {
                 setUiBusy(false); hideDropHighlight(); showError("작업 실패: " + ex.getMessage()); return false;
@@ -783,7 +1291,7 @@ public class MainFrameV3 extends JFrame {
                 int finalIndex = toIndex;
                 new SwingWorker<Void, Void>() {
                     @Override protected Void doInBackground() { bookmarkGroupService.reorderBookmarkGroups(movedId, finalIndex); return null; }
-                    @Override protected void done() { setUiBusy(false); hideDropHighlight(); setStatus("그룹 순서가 변경되었습니다."); rebuildAccordion(); }
+                    @Override protected void done() { setUiBusy(false); hideDropHighlight(); setStatus("그룹 순서가 변경되었습니다."); }
                 }.execute();
                 return true;
             } catch (Exception ex) {
@@ -823,11 +1331,8 @@ public class MainFrameV3 extends JFrame {
             if (!canImport(s)) return false;
             try {
                 if (s.isDataFlavorSupported(DataFlavor.javaFileListFlavor)) {
-                    List<File> files = (List<File>) s.getTransferable().getTransferData(DataFlavor.javaFileListFlavor);
-                    if (files != null) {
-                        for (File f : files) bookmarkService.createBookmark(groupId, f.getName(), f.getAbsolutePath());
-                        setStatus(files.size()+"개 항목을 추가했습니다."); rebuildAccordion(); return true;
-                    }
+                    List<File> files = getFileListData(s);
+                    if (files != null) { importFiles(groupId, files); return true; }
                     return false;
                 }
                 String payload = getStringData(s); if (payload == null) return false;
@@ -845,43 +1350,11 @@ public class MainFrameV3 extends JFrame {
                     if (toIndex == fromIndex && fromGroup == groupId) { hideDropHighlight(); return false; }
                     if (toIndex > fromIndex && fromGroup == groupId) toIndex--;
 
-                    setUiBusy(true);
-                    int finalIndex = toIndex;
-                    new SwingWorker<Void, Void>() {
-                        @Override protected Void doInBackground() {
-                            if (fromGroup == groupId) {
-                                bookmarkService.reorderBookmark(groupId, movedBookmarkId, finalIndex);
-                            } else {
-                                try { bookmarkService.moveBookmark(movedBookmarkId, groupId, finalIndex); } catch (Throwable t) {
-                                    // moveBookmark 미구현 환경을 위해 폴백: 대상 그룹 끝으로 넣고 reorder
-                                    Bookmark moved = null;
-                                    List<BookmarkGroup> groups = bookmarkGroupService.getBookmarkGroups();
-                                    outer: for (BookmarkGroup g : groups) {
-                                        List<Bookmark> lb = g.getBookmarks();
-                                        if (lb == null) continue;
-                                        for (Bookmark b : lb) if (b.getId() == movedBookmarkId) { moved = b; break outer; }
-                                    }
-                                    if (moved != null) {
-                                        bookmarkService.createBookmark(groupId, moved.getDisplayName(), moved.getPath());
-                                        // 원본 삭제는 서비스 정책에 따름
-                                    }
-                                }
-                            }
-                            return null;
-                        }
-                        @Override protected void done() {
-                            setUiBusy(false); hideDropHighlight(); setStatus("북마크 위치가 변경되었습니다."); rebuildAccordion();
-                        }
-                    }.execute();
+                    relocateBookmark(fromGroup, groupId, movedBookmarkId, toIndex);
                     return true;
                 } else {
                     // 외부 텍스트 줄단위로 경로 처리
-                    for (String line : payload.split("\\R")) {
-                        if (line.isBlank()) continue;
-                        File f = new File(line.trim());
-                        if (f.exists()) bookmarkService.createBookmark(groupId, f.getName(), f.getAbsolutePath());
-                    }
-                    setStatus("텍스트 드롭으로 항목을 추가했습니다."); rebuildAccordion(); return true;
+                    importFiles(groupId, filesFromText(payload)); return true;
                 }
             } catch (Exception ex) {
                 setUiBusy(false); hideDropHighlight(); showError("작업 실패: " + ex.getMessage()); return false;
@@ -911,11 +1384,8 @@ public class MainFrameV3 extends JFrame {
             if (!canImport(s)) return false;
             try {
                 if (s.isDataFlavorSupported(DataFlavor.javaFileListFlavor)) {
-                    List<File> files = (List<File>) s.getTransferable().getTransferData(DataFlavor.javaFileListFlavor);
-                    if (files != null) {
-                        for (File f : files) bookmarkService.createBookmark(groupId, f.getName(), f.getAbsolutePath());
-                        setStatus(files.size()+"개 항목을 추가했습니다."); rebuildAccordion(); return true;
-                    }
+                    List<File> files = getFileListData(s);
+                    if (files != null) { importFiles(groupId, files); return true; }
                     return false;
                 }
                 String payload = getStringData(s);
@@ -933,42 +1403,60 @@ public class MainFrameV3 extends JFrame {
                     if (toIndex == fromIndex && fromGroup == groupId) { hideDropHighlight(); return false; }
                     if (toIndex > fromIndex && fromGroup == groupId) toIndex--;
 
-                    int finalIndex = toIndex;
-                    setUiBusy(true);
-                    new SwingWorker<Void, Void>() {
-                        @Override protected Void doInBackground() {
-                            if (fromGroup == groupId) {
-                                bookmarkService.reorderBookmark(groupId, movedBookmarkId, finalIndex);
-                            } else {
-                                try { bookmarkService.moveBookmark(movedBookmarkId, groupId, finalIndex); } catch (Throwable t) {
-                                    // 폴백
-                                    Bookmark moved = null;
-                                    List<BookmarkGroup> groups = bookmarkGroupService.getBookmarkGroups();
-                                    outer: for (BookmarkGroup g : groups) {
-                                        List<Bookmark> lb = g.getBookmarks();
-                                        if (lb == null) continue;
-                                        for (Bookmark b : lb) if (b.getId() == movedBookmarkId) { moved = b; break outer; }
-                                    }
-                                    if (moved != null) {
-                                        bookmarkService.createBookmark(groupId, moved.getDisplayName(), moved.getPath());
-                                    }
-                                }
-                            }
-                            return null;
-                        }
-                        @Override protected void done() {
-                            setUiBusy(false); hideDropHighlight(); setStatus("북마크 위치가 변경되었습니다."); rebuildAccordion();
-                        }
-                    }.execute();
+                    relocateBookmark(fromGroup, groupId, movedBookmarkId, toIndex);
                     return true;
                 } else {
                     // 외부 텍스트 줄단위로 경로 처리
-                    for (String line : payload.split("\\R")) {
-                        if (line.isBlank()) continue;
-                        File f = new File(line.trim());
-                        if (f.exists()) bookmarkService.createBookmark(groupId, f.getName(), f.getAbsolutePath());
+                    importFiles(groupId, filesFromText(payload)); return true;
+                }
+            } catch (Exception ex) {
+                setUiBusy(false); hideDropHighlight(); showError("작업 실패: " + ex.getMessage()); return false;
+            }
+        }
+    }
+
+    /** 가상 목록: Export(선택 항목) + Import(삽입 위치는 JList.DropLocation) */
+    private final class BookmarkListViewTransferHandler extends TransferHandler {
+        private final BookmarkListView view;
+        BookmarkListViewTransferHandler(BookmarkListView view) { this.view = view; }
+        @Override protected Transferable createTransferable(JComponent c) {
+            Bookmark bm = view.getSelectedValue();
+            return bm == null ? null : new StringSelection("B:" + view.groupId + ":" + bm.getId());
+        }
+        @Override public int getSourceActions(JComponent c) { return MOVE; }
+        @Override protected void exportDone(JComponent source, Transferable data, int action) { view.clearSelection(); hideDropHighlight(); }
+        @Override public boolean canImport(TransferSupport s) {
+            hideDropHighlight(); // 삽입선은 JList 가 직접 그림
+            return s.isDrop() && (s.isDataFlavorSupported(DataFlavor.javaFileListFlavor) || s.isDataFlavorSupported(DataFlavor.stringFlavor));
+        }
+        @Override public boolean importData(TransferSupport s) {
+            if (!canImport(s)) return false;
+            try {
+                if (s.isDataFlavorSupported(DataFlavor.javaFileListFlavor)) {
+                    List<File> files = getFileListData(s);
+                    if (files != null) { importFiles(view.groupId, files); return true; }
+                    return false;
+                }
+                String payload = getStringData(s);
+                if (payload == null) return false;
+
+                if (payload.startsWith("B:")) {
+                    String[] parts = payload.split(":");
+                    long fromGroup = parseLongSafe(parts[1], -1);
+                    long movedBookmarkId = parseLongSafe(parts[2], -1);
+
+                    int toIndex = ((JList.DropLocation) s.getDropLocation()).getIndex();
+                    if (toIndex < 0) toIndex = view.model.getSize();
+                    int fromIndex = fromGroup == view.groupId ? view.model.indexOf(movedBookmarkId) : -1;
+                    if (fromIndex >= 0) {
+                        if (toIndex == fromIndex || toIndex == fromIndex + 1) return false;
+                        if (toIndex > fromIndex) toIndex--;
                     }
-                    setStatus("텍스트 드롭으로 항목을 추가했습니다."); rebuildAccordion(); return true;
+                    relocateBookmark(fromGroup, view.groupId, movedBookmarkId, toIndex);
+                    return true;
+                } else {
+                    // 외부 텍스트 줄단위로 경로 처리
+                    importFiles(view.groupId, filesFromText(payload)); return true;
                 }
             } catch (Exception ex) {
                 setUiBusy(false); hideDropHighlight(); showError("작업 실패: " + ex.getMessage()); return false;
@@ -976,6 +1464,51 @@ public class MainFrameV3 extends JFrame {
         }
     }
 
+    /** 같은 그룹이면 순서 변경, 다른 그룹이면 이동 (백그라운드) */
+    private void relocateBookmark(long fromGroupId, long toGroupId, long bookmarkId, int toIndex) {
+        setUiBusy(true);
+        new SwingWorker<Void, Void>() {
+            @Override protected Void doInBackground() {
+                if (fromGroupId == toGroupId) {
+                    bookmarkService.reorderBookmark(toGroupId, bookmarkId, toIndex);
+                } else {
+                    bookmarkService.moveBookmark(bookmarkId, toGroupId, toIndex);
+                }
+                return null;
+            }
+            @Override protected void done() {
+                setUiBusy(false); hideDropHighlight();
+                if (workerSucceeded(this, "이동 실패: ")) setStatus("북마크 위치가 변경되었습니다.");
+            }
+        }.execute();
+    }
+
+    /** 드롭된 파일/경로를 한 번의 배치(저장 커밋 1회)로 추가. 경로 확인은 백그라운드에서 */
+    private void importFiles(long groupId, List<File> files) {
+        BookmarkBatch batch = new BookmarkBatch();
+        for (File f : files) batch.create(groupId, f.getName(), f.getAbsolutePath());
+        setUiBusy(true);
+        new SwingWorker<BookmarkBatchResult, Void>() {
+            @Override protected BookmarkBatchResult doInBackground() { return bookmarkService.applyBatch(batch); }
+            @Override protected void done() {
+                setUiBusy(false);
+                BookmarkBatchResult result;
+                try { result = get(); }
+                catch (Exception ex) { showError("추가 실패: " + (ex.getCause() != null ? ex.getCause() : ex).getMessage()); return; }
+                if (result.hasFailures()) setStatus(result.created().size() + "개 추가, " + result.failures().size() + "개는 경로 확인 실패");
+                else setStatus(result.created().size() + "개 항목을 추가했습니다.");
+            }
+        }.execute();
+    }
+
+    private static List<File> filesFromText(String payload) {
+        List<File> files = new ArrayList<>();
+        for (String line : payload.split("\\R")) {
+            if (!line.isBlank()) files.add(new File(line.trim()));
+        }
+        return files;
+    }
+
     private int computeBookmarkBoundaryY(JPanel panel, Point dropPointInPanel) {
         Rectangle lastRect = null;
         for (Component c : panel.getComponents()) {
@@ -1080,6 +1613,15 @@ public class MainFrameV3 extends JFrame {
         return fileIcon != null ? fileIcon : UIManager.getIcon("Tree.leafIcon");
     }
 
+    private static String describeHealth(HealthStatus status) {
+        return switch (status) {
+            case OK -> "정상";
+            case MISSING -> "경로 없음";
+            case TYPE_CHANGED -> "파일/폴더 종류 변경됨";
+            case UNREACHABLE -> "접근 불가";
+        };
+    }
+
     private static JComponent emptyHint(String text) {
         JLabel l = new JLabel(text, SwingConstants.LEFT);
         l.setForeground(NOTION_HINT);
@@ -1150,6 +1692,17 @@ public class MainFrameV3 extends JFrame {
         return s.replace("&","&amp;").replace("<","&lt;").replace(">","&gt;");
     }
 
+    /** 끌어 놓은 파일 목록. 목록이 아니면 null, File 이 아닌 항목은 건너뛴다 */
+    private static List<File> getFileListData(TransferHandler.TransferSupport s) throws UnsupportedFlavorException, IOException {
+        Object data = s.getTransferable().getTransferData(DataFlavor.javaFileListFlavor);
+        if (!(data instanceof List<?> list)) return null;
+        List<File> files = new ArrayList<>(list.size());
+        for (Object item : list) {
+            if (item instanceof File file) files.add(file);
+        }
+        return files;
+    }
+
     private static String getStringData(TransferHandler.TransferSupport s) {
         try {
             if (s.isDataFlavorSupported(DataFlavor.stringFlavor)) {
@@ -1183,10 +1736,46 @@ public class MainFrameV3 extends JFrame {
         statusTimer.start();
     }
 
+    /** 비동기 작업 완료를 EDT 로 넘겨 성공/실패 처리 */
+    private void completeOnEdt(java.util.concurrent.CompletableFuture<?> future, String errorPrefix, Runnable onSuccess) {
+        future.whenComplete((result, ex) -> SwingUtilities.invokeLater(() -> {
+            if (ex == null) { onSuccess.run(); return; }
+            Throwable cause = ex instanceof java.util.concurrent.CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            showError(errorPrefix + cause.getMessage());
+        }));
+    }
+
+    /** SwingWorker 결과 확인: 실패했으면 오류를 띄우고 false 반환 */
+    private boolean workerSucceeded(SwingWorker<?, ?> worker, String prefix) {
+        try {
+            worker.get();
+            return true;
+        } catch (Exception ex) {
+            Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+            showError(prefix + cause.getMessage());
+            return false;
+        }
+    }
+
     private void showError(String msg){
         JOptionPane.showMessageDialog(this, msg, "오류", JOptionPane.ERROR_MESSAGE);
     }
 
+    /** 북마크 열기 + 사용 기록 */
+    private void openBookmark(Bookmark bm) {
+        usageTracker.record(bm.getId(), BookmarkUsageTracker.Kind.OPEN);
+        openBookmarkPath(bm.getPath());
+        refreshFrecent();
+    }
+
+    /** 경로 복사 + 사용 기록 */
+    private void copyBookmarkPath(Bookmark bm) {
+        Toolkit.getDefaultToolkit().getSystemClipboard().setContents(new StringSelection(bm.getPath()), null);
+        usageTracker.record(bm.getId(), BookmarkUsageTracker.Kind.COPY);
+        setStatus(bm.getDisplayName() + " 경로를 복사했습니다.");
+        refreshFrecent();
+    }
+
     private void openBookmarkPath(String pathStr){
         try {
             if (pathStr == null || pathStr.isBlank()) throw new IllegalArgumentException("경로가 비어있습니다.");
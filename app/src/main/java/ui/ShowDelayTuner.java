@@ -0,0 +1,101 @@
+package ui;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * 파일 대화상자가 뜰 때 창을 앞으로 올리기 전 기다리는 시간을 OS 별로 학습한다.
+ * 경합(포커스를 대화상자에 뺏김)이 관찰되면 두 배로 늘리고, 문제없이 표시되면 step 만큼 줄여
+ * 경합이 나지 않는 가장 짧은 지연 근처에 머문다. 값은 OS 이름을 키로 파일에 남겨 재시작 후에도 이어 쓴다.
+ */
+public class ShowDelayTuner {
+
+    private final Path file;
+    private final String key = "delayMs." + System.getProperty("os.name", "unknown").replace(' ', '_');
+    private final long minMillis;
+    private final long maxMillis;
+    private final long stepMillis;
+    private final boolean adaptive;
+    private long delayMillis;
+    private boolean changed;
+
+    private final Logger logger = LoggerFactory.getLogger(ShowDelayTuner.class);
+
+    /** adaptive 가 false 면 initialMillis 로 고정 */
+    public ShowDelayTuner(Path file, long initialMillis, long minMillis, long maxMillis, long stepMillis, boolean adaptive) {
+        this.file = file;
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+        this.stepMillis = stepMillis;
+        this.adaptive = adaptive;
+        this.delayMillis = initialMillis;
+    }
+
+    public synchronized long delayMillis() {
+        return delayMillis;
+    }
+
+    public synchronized void onShown() {
+        if (!adaptive || delayMillis <= minMillis) return;
+        delayMillis = Math.max(minMillis, delayMillis - stepMillis);
+        changed = true;
+    }
+
+    public synchronized void onRace() {
+        if (!adaptive || delayMillis >= maxMillis) return;
+        long before = delayMillis;
+        delayMillis = Math.min(maxMillis, Math.max(minMillis, delayMillis * 2));
+        changed = true;
+        logger.info("onRace() - 창 표시 경합, 지연 {}ms → {}ms", before, delayMillis);
+    }
+
+    /** 저장된 값이 있으면 이어 씀 */
+    public synchronized void load() {
+        if (!adaptive) return;
+        Properties properties = read();
+        String value = properties.getProperty(key);
+        if (value == null) return;
+        try {
+            delayMillis = Math.min(maxMillis, Math.max(minMillis, Long.parseLong(value.strip())));
+        } catch (NumberFormatException e) {
+            logger.warn("load() - 잘못된 값 무시: {}={}", key, value);
+        }
+    }
+
+    /** 바뀐 값이 있을 때만 저장 (다른 OS 키는 유지) */
+    public synchronized void save() {
+        if (!changed) return;
+        Properties properties = read();
+        properties.setProperty(key, Long.toString(delayMillis));
+        try {
+            Files.createDirectories(file.getParent());
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                properties.store(out, "show delay per OS");
+            }
+            changed = false;
+        } catch (IOException e) {
+            logger.error("save() - 창 표시 지연을 저장하지 못함", e);
+        }
+    }
+
+    private Properties read() {
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(in);
+        } catch (NoSuchFileException e) {
+            // 처음 실행
+        } catch (IOException e) {
+            logger.error("read() - 창 표시 지연을 읽지 못함", e);
+        }
+        return properties;
+    }
+}
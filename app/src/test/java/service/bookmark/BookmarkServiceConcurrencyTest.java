@@ -0,0 +1,311 @@
+package service.bookmark;
+
+import config.MicroStreamConfig;
+import infra.OperationMetrics;
+import infra.PathValidator;
+import model.Bookmark;
+import model.BookmarkGroup;
+import one.microstream.storage.embedded.types.EmbeddedStorageManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import persistence.BookmarkGroupMicroStreamRepository;
+import persistence.BookmarkMicroStreamRepository;
+import persistence.IdSequenceMicroStreamRepository;
+import persistence.PersistenceWriter;
+import persistence.RootData;
+import persistence.RootIndex;
+import persistence.StoreMetrics;
+import service.ChangeEventBus;
+import service.IdGenerator;
+import service.bookmark_group.BookmarkGroupService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 여러 스레드가 동시에 추가/이동/수정해도 북마크를 잃지 않고, id 가 겹치지 않고, 목록 순서가 메모리와 저장소에서 같은지 본다.
+ * 그룹 이름 변경과 순서 변경이 동시에 들어와도 어느 하나가 사라지지 않는지도 본다.
+ * 저장은 호출 스레드에서 바로(0) 하는 경우와 write-behind(200ms) 를 모두 돌린다.
+ */
+class BookmarkServiceConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 100;
+    private static final int GROUPS = 4;
+
+    @TempDir
+    Path dir;
+
+    private Services services;
+
+    @AfterEach
+    void close() {
+        if (services != null) services.close();
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 200})
+    void concurrentCreatesAreNotLostAndKeepOrder(long flushIntervalMs) throws Exception {
+        services = Services.open(dir.resolve("store"), flushIntervalMs, true);
+        String path = Files.createFile(dir.resolve("target.txt")).toString();
+        long[] groupIds = new long[GROUPS];
+        for (int g = 0; g < GROUPS; g++) {
+            groupIds[g] = services.groupService.createBookmarkGroup("group-" + g).getId();
+        }
+
+        // 스레드 t 는 그룹 t % GROUPS 에 t-0, t-1, ... 순서로 추가한다
+        Map<Long, String> created = new ConcurrentHashMap<>();
+        runConcurrently(THREADS, t -> {
+            for (int i = 0; i < PER_THREAD; i++) {
+                Bookmark bookmark = services.bookmarkService.createBookmark(groupIds[t % GROUPS], t + "-" + i, path);
+                assertTrue(created.put(bookmark.getId(), bookmark.getDisplayName()) == null, "중복 id " + bookmark.getId());
+            }
+        });
+
+        assertEquals(THREADS * PER_THREAD, created.size());
+        Map<Long, List<Long>> order = snapshotOrder(services);
+        Set<Long> listed = new HashSet<>();
+        for (long groupId : groupIds) {
+            BookmarkGroup group = services.groupService.getBookmarkGroup(groupId);
+            List<Bookmark> bookmarks = group.getBookmarks();
+            assertEquals(bookmarks.size(), group.getBookmarkCount());
+            assertIdsMatch(group, bookmarks);
+
+            // 같은 스레드가 넣은 북마크는 넣은 순서대로
+            Map<String, Integer> lastIndex = new HashMap<>();
+            for (Bookmark bookmark : bookmarks) {
+                assertTrue(listed.add(bookmark.getId()), "두 번 나온 id " + bookmark.getId());
+                String[] name = bookmark.getDisplayName().split("-");
+                int i = Integer.parseInt(name[1]);
+                assertTrue(lastIndex.getOrDefault(name[0], -1) < i, "스레드 " + name[0] + " 의 순서가 뒤바뀜");
+                lastIndex.put(name[0], i);
+            }
+        }
+        assertEquals(created.keySet(), listed);
+
+        services.close();
+        services = Services.open(dir.resolve("store"), flushIntervalMs, false);
+        assertEquals(order, snapshotOrder(services));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 200})
+    void concurrentMovesAndUpdatesKeepEachBookmarkInOneGroup(long flushIntervalMs) throws Exception {
+        services = Services.open(dir.resolve("store"), flushIntervalMs, true);
+        String path = Files.createFile(dir.resolve("target.txt")).toString();
+        String renamedPath = Files.createFile(dir.resolve("renamed.txt")).toString();
+        long[] groupIds = new long[GROUPS];
+        List<Long> ids = new ArrayList<>();
+        for (int g = 0; g < GROUPS; g++) {
+            groupIds[g] = services.groupService.createBookmarkGroup("group-" + g).getId();
+            for (int i = 0; i < PER_THREAD; i++) {
+                ids.add(services.bookmarkService.createBookmark(groupIds[g], g + "-" + i, path).getId());
+            }
+        }
+
+        // 쓰는 스레드가 도는 동안 읽는 스레드는 목록과 조회가 항상 온전한지 본다
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newSingleThreadExecutor();
+        Future<?> reader = readers.submit(() -> {
+            while (writing.get()) {
+                for (long groupId : groupIds) {
+                    for (Bookmark bookmark : services.groupService.getBookmarkGroup(groupId).getBookmarks()) {
+                        assertNotNull(bookmark.getDisplayName());
+                    }
+                }
+                for (long id : ids) assertTrue(services.bookmarkService.findBookmark(id).isPresent(), "조회 실패 " + id);
+            }
+        });
+        try {
+            runConcurrently(THREADS, t -> {
+                Random random = new Random(t);
+                for (int i = 0; i < PER_THREAD; i++) {
+                    long id = ids.get(random.nextInt(ids.size()));
+                    if (random.nextInt(4) == 0) {
+                        services.bookmarkService.updateBookmark(id, "renamed-" + t + "-" + i, renamedPath);
+                    } else {
+                        services.bookmarkService.moveBookmark(id, groupIds[random.nextInt(GROUPS)], random.nextInt(PER_THREAD));
+                    }
+                }
+            });
+        } finally {
+            writing.set(false);
+            readers.shutdown();
+        }
+        reader.get(30, TimeUnit.SECONDS);
+
+        Set<Long> listed = new HashSet<>();
+        for (long groupId : groupIds) {
+            BookmarkGroup group = services.groupService.getBookmarkGroup(groupId);
+            List<Bookmark> bookmarks = group.getBookmarks();
+            assertEquals(bookmarks.size(), group.getBookmarkCount());
+            assertIdsMatch(group, bookmarks);
+            for (Bookmark bookmark : bookmarks) {
+                assertTrue(listed.add(bookmark.getId()), "두 그룹에 있는 id " + bookmark.getId());
+                assertEquals(groupId, bookmark.getGroupId());
+                // 색인이 목록과 같은 인스턴스를 가리키는지 (수정/이동이 갈아 끼운 새 인스턴스)
+                assertTrue(services.bookmarkService.findBookmark(bookmark.getId()).orElseThrow() == bookmark);
+            }
+        }
+        assertEquals(new HashSet<>(ids), listed);
+
+        Map<Long, List<Long>> order = snapshotOrder(services);
+        services.close();
+        services = Services.open(dir.resolve("store"), flushIntervalMs, false);
+        assertEquals(order, snapshotOrder(services));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 200})
+    void concurrentGroupReordersAndRenamesAreNotLost(long flushIntervalMs) throws Exception {
+        services = Services.open(dir.resolve("store"), flushIntervalMs, true);
+        int perThread = 10;
+        long[][] owned = new long[THREADS][perThread];
+        for (int t = 0; t < THREADS; t++) {
+            for (int i = 0; i < perThread; i++) {
+                owned[t][i] = services.groupService.createBookmarkGroup(t + "-" + i).getId();
+            }
+        }
+        // 옮기지 않는 그룹은 뒤에 두어, 옮긴 그룹이 옛 순서로 되돌아가면 이 그룹들보다 앞에 보이게
+        List<Long> untouched = new ArrayList<>();
+        for (int u = 0; u < GROUPS; u++) {
+            untouched.add(services.groupService.createBookmarkGroup("untouched-" + u).getId());
+        }
+        int last = THREADS * perThread + GROUPS - 1;
+
+        // 스레드 t 는 자기 그룹의 이름을 바꾸고 차례로 맨 끝으로 옮긴다
+        runConcurrently(THREADS, t -> {
+            for (int i = 0; i < perThread; i++) {
+                services.groupService.renameBookmarkGroup(owned[t][i], "renamed-" + t + "-" + i);
+                services.groupService.reorderBookmarkGroups(owned[t][i], last);
+            }
+        });
+
+        assertGroupOrder(services, owned, untouched);
+        services.close();
+        services = Services.open(dir.resolve("store"), flushIntervalMs, false);
+        assertGroupOrder(services, owned, untouched);
+    }
+
+    // ===== 내부 =====
+
+    private interface Worker {
+        void run(int thread) throws Exception;
+    }
+
+    /** 모든 스레드를 한꺼번에 출발시키고, 하나라도 실패하면 그 예외로 실패 */
+    private static void runConcurrently(int threads, Worker worker) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                worker.run(thread);
+                return null;
+            }));
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS), "작업이 끝나지 않음");
+        for (Future<?> future : futures) future.get();
+    }
+
+    /** 그룹 id → 목록의 북마크 id 순서 */
+    private static Map<Long, List<Long>> snapshotOrder(Services services) {
+        Map<Long, List<Long>> order = new HashMap<>();
+        for (BookmarkGroup group : services.groupService.getBookmarkGroups()) {
+            order.put(group.getId(), group.getBookmarks().stream().map(Bookmark::getId).toList());
+        }
+        return order;
+    }
+
+    /** 옮기지 않은 그룹이 원래 순서로 앞에, 옮긴 그룹은 스레드마다 옮긴 순서로 뒤에 있고 이름이 모두 바뀌었는지 */
+    private static void assertGroupOrder(Services services, long[][] owned, List<Long> untouched) {
+        List<BookmarkGroup> groups = services.groupService.getBookmarkGroups();
+        List<Long> ids = groups.stream().map(BookmarkGroup::getId).toList();
+        assertEquals(owned.length * owned[0].length + untouched.size(), new HashSet<>(ids).size());
+        assertEquals(untouched, ids.subList(0, untouched.size()), "옮긴 그룹이 옛 위치로 되돌아감");
+        for (long[] mine : owned) {
+            int previous = -1;
+            for (long id : mine) {
+                int at = ids.indexOf(id);
+                assertTrue(at > previous, "그룹 " + id + " 의 순서가 뒤바뀜");
+                previous = at;
+            }
+        }
+        for (BookmarkGroup group : groups) {
+            if (!untouched.contains(group.getId())) {
+                assertTrue(group.getName().startsWith("renamed-"), "이름 변경이 사라짐: " + group.getName());
+            }
+        }
+    }
+
+    /** 목록 밖에 저장하는 id 가 목록과 같은 순서인지 */
+    private static void assertIdsMatch(BookmarkGroup group, List<Bookmark> bookmarks) {
+        List<Long> ids = new ArrayList<>();
+        group.forEachBookmarkId(ids::add);
+        assertEquals(bookmarks.stream().map(Bookmark::getId).toList(), ids);
+    }
+
+    /** AppServices 와 같은 구성 (AppConfig 의 사용자 폴더 대신 임시 폴더를 쓰도록 직접 조립) */
+    private static final class Services {
+        final EmbeddedStorageManager storage;
+        final PersistenceWriter writer;
+        final PathValidator pathValidator;
+        final BookmarkGroupService groupService;
+        final BookmarkService bookmarkService;
+
+        private Services(EmbeddedStorageManager storage, long flushIntervalMs) {
+            this.storage = storage;
+            RootData root = (RootData) storage.root();
+            OperationMetrics metrics = new OperationMetrics();
+            this.writer = new PersistenceWriter(storage, new StoreMetrics(metrics), false, flushIntervalMs);
+            MicroStreamConfig.migrateLegacyGroups(root, writer);
+            RootIndex index = RootIndex.build(root);
+            IdGenerator idGenerator = new IdGenerator(new IdSequenceMicroStreamRepository(root, writer), 16);
+            ChangeEventBus eventBus = new ChangeEventBus();
+            this.pathValidator = new PathValidator(2, 60_000L, 5_000L, metrics);
+            this.groupService = new BookmarkGroupService(new BookmarkGroupMicroStreamRepository(root, index, writer),
+                    idGenerator, eventBus, metrics);
+            this.bookmarkService = new BookmarkService(new BookmarkMicroStreamRepository(root, index, writer), groupService,
+                    idGenerator, pathValidator, eventBus, metrics);
+        }
+
+        static Services open(Path store, long flushIntervalMs, boolean reset) throws IOException {
+            Files.createDirectories(store);
+            return new Services(MicroStreamConfig.start(store, reset), flushIntervalMs);
+        }
+
+        void close() {
+            try {
+                writer.close();
+            } finally {
+                storage.shutdown();
+                pathValidator.shutdown();
+            }
+        }
+    }
+}
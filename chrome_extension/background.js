@@ -21,15 +21,70 @@ function ensurePort() {
       console.warn('[FPB][BG] native disconnected', chrome.runtime.lastError?.message);
       port = null;
     });
-    port.onMessage?.addListener?.((m) => console.log('[FPB][BG] from native:', m));
+    port.onDisconnect.addListener(() => failPending('native disconnected'));
+    port.onMessage.addListener(onNativeMessage);
   }
   return port;
 }
 
+// 질의(LIST_GROUPS / SEARCH / TOP_FOR_URL): 요청마다 id 를 붙여 보내고 응답은 같은 id 로 짝을 맞춘다.
+// 여러 질의를 동시에 보내도 되며, 앱은 끝나는 순서대로 답하므로 응답 순서는 보낸 순서와 다를 수 있다.
+const QUERY_TYPES = new Set(['LIST_GROUPS', 'SEARCH', 'TOP_FOR_URL']);
+const QUERY_TIMEOUT_MS = 5000;
+const pending = new Map(); // id → { resolve, reject, timer }
+let nextQueryId = 1;       // 0 은 앱에서 "id 없음"
+
+function query(type, params) {
+  return new Promise((resolve, reject) => {
+    const id = nextQueryId++;
+    const timer = setTimeout(() => {
+      pending.delete(id);
+      reject(new Error(`${type} #${id} timed out`));
+    }, QUERY_TIMEOUT_MS);
+    pending.set(id, { resolve, reject, timer });
+    try {
+      ensurePort().postMessage({ ...params, type, id });
+    } catch (e) {
+      clearTimeout(timer);
+      pending.delete(id);
+      reject(e);
+    }
+  });
+}
+
+function onNativeMessage(m) {
+  const entry = m?.id ? pending.get(m.id) : undefined;
+  if (!entry) {
+    console.log('[FPB][BG] from native:', m);
+    return;
+  }
+  pending.delete(m.id);
+  clearTimeout(entry.timer);
+  if (m.type === 'ERROR') entry.reject(new Error(m.message));
+  else entry.resolve(m);
+}
+
+function failPending(reason) {
+  for (const entry of pending.values()) {
+    clearTimeout(entry.timer);
+    entry.reject(new Error(reason));
+  }
+  pending.clear();
+}
+
 let lastOpen = 0;
 chrome.runtime.onMessage.addListener((msg, sender, sendResponse) => {
   console.log('[FPB][BG] got msg:', msg);
 
+  // 콘텐츠 스크립트/확장 페이지의 질의: chrome.runtime.sendMessage({ type: 'SEARCH', query, limit }, cb)
+  // 응답: { ok: true, groups | bookmarks } 또는 { ok: false, error }. TOP_FOR_URL 의 url 은 없으면 보낸 탭의 주소
+  if (QUERY_TYPES.has(msg?.type)) {
+    query(msg.type, { query: msg.query, url: msg.url ?? sender.tab?.url, limit: msg.limit })
+      .then((res) => sendResponse({ ok: true, ...res }))
+      .catch((e) => sendResponse({ ok: false, error: String(e?.message ?? e) }));
+    return true; // 비동기 응답 채널 유지
+  }
+
   if (msg?.type === 'FILE_DIALOG_OPENING') {
     const now = Date.now();
     if (now - lastOpen < 500) { sendResponse({ ok: true, dedup: true }); return; }
@@ -37,7 +92,7 @@ chrome.runtime.onMessage.addListener((msg, sender, sendResponse) => {
   }
 
   try {
-    ensurePort().postMessage({ type: msg.type, url: msg.url, ts: Date.now() });
+    ensurePort().postMessage({ type: msg.type, url: msg.url, clickTs: msg.clickTs, ts: Date.now() });
     sendResponse({ ok: true });
   } catch (e) {
     console.warn('[FPB][BG] postMessage failed:', String(e));
@@ -5,8 +5,9 @@ document.addEventListener('click', (e) => {
 
   console.log('[FPB][CS] file input clicked:', location.href);
 
+  // clickTs: 앱이 클릭부터 창 표시까지 구간별 시간을 재는 기준
   chrome.runtime.sendMessage(
-    { type: 'FILE_DIALOG_OPENING', url: location.href },
+    { type: 'FILE_DIALOG_OPENING', url: location.href, clickTs: Date.now() },
     (res) => {
       if (chrome.runtime.lastError) {
         console.log('[FPB][CS] sendMessage error:', chrome.runtime.lastError.message);